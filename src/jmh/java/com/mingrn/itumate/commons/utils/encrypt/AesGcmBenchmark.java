@@ -0,0 +1,67 @@
+package com.mingrn.itumate.commons.utils.encrypt;
+
+import com.mingrn.itumate.commons.utils.secure.SecurePasswordGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AesGcmCipher} 与 {@link TripleDesCipher} 加解密对比基准测试
+ * <p>
+ * 运行: <code>mvn -P benchmark test-compile exec:exec -Djmh.include=AesGcmBenchmark</code>
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AesGcmBenchmark {
+
+    /** 数据大小: 16B, 1KB, 64KB, 1MB, 16MB */
+    @Param({"16", "1024", "65536", "1048576", "16777216"})
+    private int size;
+
+    private byte[] data;
+
+    private AesGcmCipher aes;
+
+    private byte[] aesEncrypted;
+
+    private TripleDesCipher tripleDes;
+
+    private byte[] tripleDesEncrypted;
+
+    @Setup
+    public void setup() {
+        data = new byte[size];
+        ThreadLocalRandom.current().nextBytes(data);
+        aes = AesGcmCipher.of(AesGcmCipher.generateKey(256));
+        aesEncrypted = aes.encrypt(data);
+        tripleDes = TripleDesCipher.of(SecurePasswordGenerator.INSTANCE.generate(24));
+        tripleDesEncrypted = tripleDes.encrypt(data);
+    }
+
+    @Benchmark
+    public byte[] aesGcmEncrypt() {
+        return aes.encrypt(data);
+    }
+
+    @Benchmark
+    public byte[] aesGcmDecrypt() {
+        return aes.decrypt(aesEncrypted);
+    }
+
+    @Benchmark
+    public byte[] tripleDesEncrypt() {
+        return tripleDes.encrypt(data);
+    }
+
+    @Benchmark
+    public byte[] tripleDesDecrypt() {
+        return tripleDes.decrypt(tripleDesEncrypted);
+    }
+}
@@ -0,0 +1,69 @@
+package com.mingrn.itumate.commons.utils.encrypt;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Base64Util} 编解码基准测试
+ * <p>
+ * 运行: <code>mvn -P benchmark test-compile exec:exec -Djmh.include=Base64Benchmark</code>
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Base64Benchmark {
+
+    /** 数据大小: 16B, 1KB, 64KB, 1MB, 16MB */
+    @Param({"16", "1024", "65536", "1048576", "16777216"})
+    private int size;
+
+    private byte[] data;
+
+    private String encoded;
+
+    private ByteBuffer encodeTarget;
+
+    private byte[] encodedBytes;
+
+    private byte[] decodeTarget;
+
+    @Setup
+    public void setup() {
+        data = new byte[size];
+        ThreadLocalRandom.current().nextBytes(data);
+        encoded = Base64Util.encryption(data);
+        encodeTarget = ByteBuffer.allocateDirect(Base64Variant.BASIC.encodedLength(size));
+        encodedBytes = encoded.getBytes(StandardCharsets.US_ASCII);
+        decodeTarget = new byte[size];
+    }
+
+    @Benchmark
+    public String encryption() {
+        return Base64Util.encryption(data);
+    }
+
+    @Benchmark
+    public byte[] decrypt() {
+        return Base64Util.decryptByte(encoded);
+    }
+
+    @Benchmark
+    public int encodeToByteBuffer() {
+        encodeTarget.clear();
+        return Base64Util.encode(Base64Variant.BASIC, ByteBuffer.wrap(data), encodeTarget);
+    }
+
+    @Benchmark
+    public int decodeToByteArray() {
+        return Base64Util.decode(Base64Variant.BASIC, encodedBytes, decodeTarget);
+    }
+}
@@ -0,0 +1,56 @@
+package com.mingrn.itumate.commons.utils.encrypt;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MD5Util}、{@link EncryptUtil} 摘要基准测试
+ * <p>
+ * 运行: <code>mvn -P benchmark test-compile exec:exec -Djmh.include=DigestBenchmark</code>
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DigestBenchmark {
+
+    /** 数据大小: 16B, 1KB, 64KB, 1MB, 16MB */
+    @Param({"16", "1024", "65536", "1048576", "16777216"})
+    private int size;
+
+    private byte[] data;
+
+    private String txt;
+
+    @Setup
+    public void setup() {
+        data = new byte[size];
+        ThreadLocalRandom.current().nextBytes(data);
+        char[] chars = new char[size];
+        Arrays.fill(chars, 'a');
+        txt = new String(chars);
+    }
+
+    @Benchmark
+    public String md5DigestAsHex() {
+        return MD5Util.md5DigestAsHex(data);
+    }
+
+    @Benchmark
+    public String encryptWithSHA256() {
+        return EncryptUtil.encryptWithSHA256(txt);
+    }
+
+    @Benchmark
+    public byte[] md5DigestTxt() {
+        return MD5Util.md5Digest(txt.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,67 @@
+package com.mingrn.itumate.commons.utils.encrypt;
+
+import com.mingrn.itumate.commons.utils.secure.SecurePasswordGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TripleDesUtil} 加解密基准测试
+ * <p>
+ * 运行: <code>mvn -P benchmark test-compile exec:exec -Djmh.include=TripleDesBenchmark</code>
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TripleDesBenchmark {
+
+    /** 数据大小: 16B, 1KB, 64KB, 1MB, 16MB */
+    @Param({"16", "1024", "65536", "1048576", "16777216"})
+    private int size;
+
+    private String password;
+
+    private byte[] data;
+
+    private String encrypted;
+
+    private TripleDesCipher cipher;
+
+    private byte[] encryptedBytes;
+
+    @Setup
+    public void setup() {
+        password = SecurePasswordGenerator.INSTANCE.generate(24);
+        data = new byte[size];
+        ThreadLocalRandom.current().nextBytes(data);
+        encrypted = TripleDesUtil.encryptMode(password, data);
+        cipher = TripleDesCipher.of(password);
+        encryptedBytes = cipher.encrypt(data);
+    }
+
+    @Benchmark
+    public String encryptMode() {
+        return TripleDesUtil.encryptMode(password, data);
+    }
+
+    @Benchmark
+    public String decryptMode() {
+        return TripleDesUtil.decryptMode(password, encrypted);
+    }
+
+    @Benchmark
+    public byte[] cipherEncrypt() {
+        return cipher.encrypt(data);
+    }
+
+    @Benchmark
+    public byte[] cipherDecrypt() {
+        return cipher.decrypt(encryptedBytes);
+    }
+}
@@ -0,0 +1,107 @@
+package com.mingrn.itumate.commons.utils.secure;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link GeneratorIDFactory} ID 生成基准测试
+ * <p>
+ * 运行: <code>mvn -P benchmark test-compile exec:exec -Djmh.include=GeneratorBenchmark</code>
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GeneratorBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final SegmentGenerator segmentGenerator = new SegmentGenerator(new MemoryRangeAllocator(), "benchmark", 1000);
+
+    @Benchmark
+    public String generatorUUID() {
+        return GeneratorIDFactory.generatorUUID();
+    }
+
+    @Benchmark
+    public String generatorUserId() {
+        return GeneratorIDFactory.generatorUserId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generatorUUIDContended() {
+        return GeneratorIDFactory.generatorUUID();
+    }
+
+    @Benchmark
+    public String generatorUUIDv4() {
+        return GeneratorIDFactory.generatorUUIDv4();
+    }
+
+    @Benchmark
+    public String generatorUUIDv7() {
+        return GeneratorIDFactory.generatorUUIDv7();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generatorUUIDv4Contended() {
+        return GeneratorIDFactory.generatorUUIDv4();
+    }
+
+    @Benchmark
+    public long generatorLongId() {
+        return GeneratorIDFactory.generatorLongId();
+    }
+
+    @Benchmark
+    public String generatorSnowflakeId() {
+        return GeneratorIDFactory.generatorSnowflakeId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long generatorLongIdContended() {
+        return GeneratorIDFactory.generatorLongId();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public String[] generatorUserIdsBatch() {
+        return GeneratorIDFactory.generatorUserIds(BATCH_SIZE);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public long[] generatorLongIdsBatch() {
+        return GeneratorIDFactory.generatorLongIds(BATCH_SIZE);
+    }
+
+    @Benchmark
+    public long segmentNextId() {
+        return segmentGenerator.nextId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long segmentNextIdContended() {
+        return segmentGenerator.nextId();
+    }
+
+    @Benchmark
+    public String generatePassword() {
+        return SecurePasswordGenerator.INSTANCE.generate(16);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generatePasswordContended() {
+        return SecurePasswordGenerator.INSTANCE.generate(16);
+    }
+}
@@ -0,0 +1,60 @@
+package com.mingrn.itumate.commons.utils.zip;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Codec} 各编码块压缩解压基准测试, 压缩解压均写入预先分配的数组
+ * <p>
+ * 测试数据见 {@link JsonBenchmarkData}.
+ * <p>
+ * 运行: <code>mvn -P benchmark test-compile exec:exec -Djmh.include=CodecBenchmark</code>
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodecBenchmark {
+
+    @Param({GZipCodec.NAME, DeflateCodec.NAME, Lz4Codec.NAME, ZstdCodec.NAME, SnappyCodec.NAME})
+    private String codecName;
+
+    /** 数据大小: 16B, 1KB, 64KB, 1MB */
+    @Param({"16", "1024", "65536", "1048576"})
+    private int size;
+
+    private Codec codec;
+
+    private byte[] data;
+
+    private byte[] compressed;
+
+    private int compressedLength;
+
+    private byte[] decompressed;
+
+    @Setup
+    public void setup() throws IOException {
+        codec = CodecUtil.getCodec(codecName);
+        data = JsonBenchmarkData.generate(size);
+        compressed = new byte[codec.maxCompressedLength(size)];
+        compressedLength = codec.compress(data, 0, size, compressed, 0);
+        decompressed = new byte[size];
+    }
+
+    @Benchmark
+    public int compress() throws IOException {
+        return codec.compress(data, 0, size, compressed, 0);
+    }
+
+    @Benchmark
+    public int decompress() throws IOException {
+        return codec.decompress(compressed, 0, compressedLength, decompressed, 0, size);
+    }
+}
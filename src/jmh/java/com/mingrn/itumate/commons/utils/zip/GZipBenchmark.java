@@ -0,0 +1,78 @@
+package com.mingrn.itumate.commons.utils.zip;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+/**
+ * {@link GZipUtil} 压缩解压基准测试
+ * <p>
+ * 测试数据见 {@link JsonBenchmarkData}.
+ * <p>
+ * 运行: <code>mvn -P benchmark test-compile exec:exec -Djmh.include=GZipBenchmark</code>
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GZipBenchmark {
+
+    /** 数据大小: 16B, 1KB, 64KB, 1MB, 16MB */
+    @Param({"16", "1024", "65536", "1048576", "16777216"})
+    private int size;
+
+    private byte[] data;
+
+    private byte[] compressed;
+
+    private byte[] target;
+
+    private ExecutorService executor;
+
+    private final GZipOptions bestSpeed = GZipOptions.builder().level(Deflater.BEST_SPEED).build();
+
+    @Setup
+    public void setup() {
+        data = JsonBenchmarkData.generate(size);
+        compressed = GZipUtil.compress(data);
+        target = new byte[GZipUtil.maxCompressedLength(size)];
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public byte[] compress() {
+        return GZipUtil.compress(data);
+    }
+
+    @Benchmark
+    public byte[] decompress() throws Exception {
+        return GZipUtil.decompress(compressed);
+    }
+
+    @Benchmark
+    public int compressBestSpeedIntoArray() {
+        return GZipUtil.compress(data, 0, data.length, target, 0, bestSpeed);
+    }
+
+    @Benchmark
+    public int compressParallel() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(target.length);
+        GZipUtil.compressParallel(new ByteArrayInputStream(data), out, GZipOptions.DEFAULT, executor);
+        return out.size();
+    }
+}
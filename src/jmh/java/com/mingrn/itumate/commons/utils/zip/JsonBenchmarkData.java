@@ -0,0 +1,50 @@
+package com.mingrn.itumate.commons.utils.zip;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * 压缩基准测试数据: 由 JSON 对象组成的数组报文
+ * <p>
+ * 字段名与结构重复, 字段值(id、名称、金额、时间等)随机, 压缩率与接口返回的列表报文相近.
+ * 使用固定种子, 各次运行的数据一致.
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ */
+final class JsonBenchmarkData {
+
+    private static final String[] NAMES = {"张三", "李四", "王五", "itumate", "MinGRn", "Alice", "Bob", "Carol"};
+
+    private static final String[] STATUS = {"CREATED", "PAID", "SHIPPED", "FINISHED", "CANCELED"};
+
+    private JsonBenchmarkData() {
+    }
+
+    /**
+     * 生成指定长度的 JSON 数组报文, 超出部分截断
+     *
+     * @param size 字节数
+     */
+    static byte[] generate(int size) {
+        Random random = new Random(20191011L);
+        StringBuilder json = new StringBuilder(size + 256).append('[');
+        long id = 100000 + random.nextInt(100000);
+        while (json.length() < size) {
+            id += 1 + random.nextInt(3);
+            String name = NAMES[random.nextInt(NAMES.length)];
+            json.append("{\"id\":").append(id)
+                    .append(",\"userName\":\"").append(name).append(random.nextInt(1000))
+                    .append("\",\"email\":\"user").append(random.nextInt(100000)).append("@itumate.com")
+                    .append("\",\"amount\":").append(random.nextInt(100000) / 100.0)
+                    .append(",\"status\":\"").append(STATUS[random.nextInt(STATUS.length)])
+                    .append("\",\"paid\":").append(random.nextBoolean())
+                    .append(",\"createTime\":\"2019-10-").append(10 + random.nextInt(20))
+                    .append('T').append(10 + random.nextInt(14)).append(':').append(10 + random.nextInt(50))
+                    .append(':').append(10 + random.nextInt(50)).append("Z\"},");
+        }
+        byte[] bytes = json.toString().getBytes(StandardCharsets.UTF_8);
+        byte[] data = new byte[size];
+        System.arraycopy(bytes, 0, data, 0, size);
+        return data;
+    }
+}
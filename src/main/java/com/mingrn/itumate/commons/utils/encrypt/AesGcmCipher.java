@@ -0,0 +1,266 @@
+package com.mingrn.itumate.commons.utils.encrypt;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.BadPaddingException;
+import javax.crypto.Cipher;
+import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.NoSuchPaddingException;
+import javax.crypto.SecretKey;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+/**
+ * AES-GCM 密钥上下文
+ * <p>
+ * AES-GCM 为带认证的加密算法(AEAD), JVM 在支持 AES-NI/PCLMULQDQ 的 CPU 上会使用 AES 与 GHASH
+ * 内建指令, 吞吐量远高于 {@link TripleDesCipher}. 该类按密钥创建一次, 可在多线程间共享;
+ * {@link Cipher} 实例按线程缓存, 避免 Provider 查找.
+ * <p>
+ * 每次加密使用 12 字节随机 nonce (由线程缓存的 {@link SecureRandom} 生成), 密文格式为:
+ * <pre>
+ *   nonce(12 字节) || 密文 || 认证标签(16 字节)
+ * </pre>
+ * 同一密钥下随机 nonce 的安全加密次数约为 2^32 次, 超过后应更换密钥.
+ * 使用示例:
+ * <pre>{@code
+ *   // 16/24/32 字节密钥, 分别对应 AES-128/192/256
+ *   AesGcmCipher cipher = AesGcmCipher.of(AesGcmCipher.generateKey(256));
+ *
+ *   byte[] encrypt = cipher.encrypt(data);
+ *   byte[] decrypt = cipher.decrypt(encrypt);
+ * }</pre>
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @see AesGcmUtil
+ */
+public final class AesGcmCipher {
+
+    /** 加密算法 */
+    private static final String KEY_ALGORITHM = "AES";
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+
+    /** nonce 长度 */
+    public static final int NONCE_LENGTH = 12;
+
+    /** 认证标签长度 */
+    public static final int TAG_LENGTH = 16;
+
+    /** 流式加解密缓冲区大小 */
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    /** 线程缓存 {@link Cipher}, GCM 每次加解密都需要新的 nonce, 因此每次使用前都会重新 init */
+    private static final ThreadLocal<Cipher> CIPHER = ThreadLocal.withInitial(AesGcmCipher::newCipher);
+
+    /** 线程缓存随机数, 用于生成 nonce 和密钥 */
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(AesGcmCipher::newSecureRandom);
+
+    private final SecretKey key;
+
+    private AesGcmCipher(SecretKey key) {
+        this.key = key;
+    }
+
+    /**
+     * 创建密钥上下文
+     *
+     * @param key 16/24/32 字节密钥
+     * @return 密钥上下文
+     * @throws IllegalArgumentException 密钥长度不合法
+     */
+    public static AesGcmCipher of(byte[] key) {
+        if (key.length != 16 && key.length != 24 && key.length != 32) {
+            throw new IllegalArgumentException("Invalid AES key length: " + key.length + " bytes");
+        }
+        return new AesGcmCipher(new SecretKeySpec(key, KEY_ALGORITHM));
+    }
+
+    /**
+     * 创建密钥上下文
+     *
+     * @param password 密钥, UTF-8 编码后须为 16/24/32 字节
+     * @return 密钥上下文
+     * @throws IllegalArgumentException 密钥长度不合法
+     */
+    public static AesGcmCipher of(String password) {
+        return of(password.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 生成随机密钥
+     *
+     * @param bits 128、192 或 256
+     * @return 密钥
+     */
+    public static byte[] generateKey(int bits) {
+        if (bits != 128 && bits != 192 && bits != 256) {
+            throw new IllegalArgumentException("Invalid AES key size: " + bits);
+        }
+        byte[] key = new byte[bits >> 3];
+        RANDOM.get().nextBytes(key);
+        return key;
+    }
+
+    /**
+     * 加密
+     *
+     * @param data 明文
+     * @return nonce || 密文 || 认证标签
+     */
+    public byte[] encrypt(byte[] data) {
+        return encrypt(data, null);
+    }
+
+    /**
+     * 加密
+     *
+     * @param data 明文
+     * @param aad  附加认证数据, 不加密但参与认证, 解密时须传入相同数据, 可为 {@code null}
+     * @return nonce || 密文 || 认证标签
+     */
+    public byte[] encrypt(byte[] data, byte[] aad) {
+        byte[] nonce = new byte[NONCE_LENGTH];
+        RANDOM.get().nextBytes(nonce);
+        byte[] output = new byte[NONCE_LENGTH + data.length + TAG_LENGTH];
+        System.arraycopy(nonce, 0, output, 0, NONCE_LENGTH);
+        Cipher cipher = init(CIPHER.get(), Cipher.ENCRYPT_MODE, nonce);
+        try {
+            if (aad != null) {
+                cipher.updateAAD(aad);
+            }
+            cipher.doFinal(data, 0, data.length, output, NONCE_LENGTH);
+            return output;
+        } catch (ShortBufferException | IllegalBlockSizeException | BadPaddingException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 解密
+     *
+     * @param data nonce || 密文 || 认证标签
+     * @return 明文
+     * @throws IllegalArgumentException 数据被篡改、密钥错误或格式不正确
+     */
+    public byte[] decrypt(byte[] data) {
+        return decrypt(data, null);
+    }
+
+    /**
+     * 解密
+     *
+     * @param data nonce || 密文 || 认证标签
+     * @param aad  加密时使用的附加认证数据, 可为 {@code null}
+     * @return 明文
+     * @throws IllegalArgumentException 数据被篡改、密钥错误或格式不正确
+     */
+    public byte[] decrypt(byte[] data, byte[] aad) {
+        if (data.length < NONCE_LENGTH + TAG_LENGTH) {
+            throw new IllegalArgumentException("AES-GCM data too short: " + data.length + " bytes");
+        }
+        Cipher cipher = init(CIPHER.get(), Cipher.DECRYPT_MODE, data);
+        try {
+            if (aad != null) {
+                cipher.updateAAD(aad);
+            }
+            return cipher.doFinal(data, NONCE_LENGTH, data.length - NONCE_LENGTH);
+        } catch (IllegalBlockSizeException | BadPaddingException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 流式加密, 先写入 nonce, 再写入密文与认证标签, 流由调用方关闭
+     *
+     * @param in  明文输入流
+     * @param out 密文输出流
+     * @return 写入的字节数
+     */
+    public long encrypt(InputStream in, OutputStream out) throws IOException {
+        byte[] nonce = new byte[NONCE_LENGTH];
+        RANDOM.get().nextBytes(nonce);
+        out.write(nonce);
+        return NONCE_LENGTH + transform(init(newCipher(), Cipher.ENCRYPT_MODE, nonce), in, out);
+    }
+
+    /**
+     * 流式解密, 流由调用方关闭
+     * <p>
+     * 注意: JDK 的 GCM 实现在校验认证标签前不会输出明文, 解密时会在内存中缓存全部密文,
+     * 超大文件请分段加密.
+     *
+     * @param in  密文输入流
+     * @param out 明文输出流
+     * @return 写入的字节数
+     * @throws IOException 读写失败, 或数据被篡改、密钥错误
+     */
+    public long decrypt(InputStream in, OutputStream out) throws IOException {
+        byte[] nonce = new byte[NONCE_LENGTH];
+        int off = 0;
+        while (off < NONCE_LENGTH) {
+            int n = in.read(nonce, off, NONCE_LENGTH - off);
+            if (n == -1) {
+                throw new IOException("AES-GCM stream too short, missing nonce");
+            }
+            off += n;
+        }
+        return transform(init(newCipher(), Cipher.DECRYPT_MODE, nonce), in, out);
+    }
+
+    private Cipher init(Cipher cipher, int mode, byte[] nonce) {
+        try {
+            cipher.init(mode, key, new GCMParameterSpec(TAG_LENGTH << 3, nonce, 0, NONCE_LENGTH));
+            return cipher;
+        } catch (InvalidKeyException | InvalidAlgorithmParameterException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    private static long transform(Cipher cipher, InputStream in, OutputStream out) throws IOException {
+        byte[] input = new byte[STREAM_BUFFER_SIZE];
+        long total = 0;
+        int n;
+        try {
+            while ((n = in.read(input)) != -1) {
+                byte[] output = cipher.update(input, 0, n);
+                if (output != null) {
+                    out.write(output);
+                    total += output.length;
+                }
+            }
+            byte[] output = cipher.doFinal();
+            out.write(output);
+            return total + output.length;
+        } catch (AEADBadTagException e) {
+            throw new IOException("AES-GCM tag mismatch", e);
+        } catch (GeneralSecurityException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    private static Cipher newCipher() {
+        try {
+            return Cipher.getInstance(TRANSFORMATION);
+        } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private static SecureRandom newSecureRandom() {
+        try {
+            return SecureRandom.getInstance("SHA1PRNG");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+}
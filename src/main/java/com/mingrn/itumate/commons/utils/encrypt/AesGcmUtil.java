@@ -0,0 +1,149 @@
+package com.mingrn.itumate.commons.utils.encrypt;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * AES-GCM 加密
+ * <p>
+ * 与 {@link TripleDesUtil} 用法相同, 但使用带认证的 AES-GCM 算法, 可利用 CPU 的 AES-NI 指令,
+ * 速度与安全性均优于 DESede. 密钥为 16/24/32 位字符串(对应 AES-128/192/256).
+ * 字符串加密结果为 Base64 (URL 安全, 无填充) 编码的 {@code nonce || 密文 || 认证标签}.
+ * 示例如下:
+ * <pre>{@code
+ *   // 32 位密码, 即 AES-256
+ *   String pwd = SecurePasswordGenerator.INSTANCE.generate(32);
+ *
+ *   String encrypt = AesGcmUtil.encryptMode(pwd, "...");
+ *   String decrypt = AesGcmUtil.decryptMode(pwd, encrypt);
+ * }</pre>
+ * 相同密钥多次加解密时, 请使用 {@link AesGcmCipher} 复用密钥上下文.
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @see AesGcmCipher
+ */
+public final class AesGcmUtil {
+
+    private AesGcmUtil() {
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AesGcmUtil.class);
+
+    /**
+     * 加密
+     *
+     * @param password 密钥, 16/24/32 位
+     * @param data     明文文本
+     * @return Base64 密文
+     * @throws IllegalArgumentException 密钥长度不合法
+     */
+    public static String encryptMode(String password, String data) {
+        return encryptMode(AesGcmCipher.of(password), data);
+    }
+
+    /**
+     * 加密
+     *
+     * @param cipher 密钥上下文
+     * @param data   明文文本
+     * @return Base64 密文
+     */
+    public static String encryptMode(AesGcmCipher cipher, String data) {
+        byte[] encrypt = cipher.encrypt(data.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(encrypt);
+    }
+
+    /**
+     * 解密
+     *
+     * @param password 密钥, 16/24/32 位
+     * @param data     {@link #encryptMode(String, String)} 加密的 Base64 密文
+     * @return 明文文本, 数据被篡改、密钥错误或密钥长度不合法时返回 {@code null}
+     */
+    public static String decryptMode(String password, String data) {
+        AesGcmCipher cipher;
+        try {
+            cipher = AesGcmCipher.of(password);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("AES-GCM decrypt failed: {}", e.getMessage());
+            return null;
+        }
+        return decryptMode(cipher, data);
+    }
+
+    /**
+     * 解密
+     *
+     * @param cipher 密钥上下文
+     * @param data   Base64 密文
+     * @return 明文文本, 数据被篡改或密钥错误时返回 {@code null}
+     */
+    public static String decryptMode(AesGcmCipher cipher, String data) {
+        if (StringUtils.isBlank(data)) {
+            return null;
+        }
+        try {
+            byte[] decrypt = cipher.decrypt(Base64.getUrlDecoder().decode(data));
+            return new String(decrypt, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("AES-GCM decrypt failed: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * 加密
+     *
+     * @param password 密钥, 16/24/32 位
+     * @param data     明文
+     * @return nonce || 密文 || 认证标签
+     */
+    public static byte[] encrypt(String password, byte[] data) {
+        return AesGcmCipher.of(password).encrypt(data);
+    }
+
+    /**
+     * 解密
+     *
+     * @param password 密钥, 16/24/32 位
+     * @param data     nonce || 密文 || 认证标签
+     * @return 明文
+     * @throws IllegalArgumentException 数据被篡改、密钥错误或格式不正确
+     */
+    public static byte[] decrypt(String password, byte[] data) {
+        return AesGcmCipher.of(password).decrypt(data);
+    }
+
+    /**
+     * 流式加密, 流由调用方关闭
+     *
+     * @param password 密钥, 16/24/32 位
+     * @param in       明文输入流
+     * @param out      密文输出流
+     * @return 写入的字节数
+     * @see AesGcmCipher#encrypt(InputStream, OutputStream)
+     */
+    public static long encrypt(String password, InputStream in, OutputStream out) throws IOException {
+        return AesGcmCipher.of(password).encrypt(in, out);
+    }
+
+    /**
+     * 流式解密, 流由调用方关闭
+     *
+     * @param password 密钥, 16/24/32 位
+     * @param in       密文输入流
+     * @param out      明文输出流
+     * @return 写入的字节数
+     * @see AesGcmCipher#decrypt(InputStream, OutputStream)
+     */
+    public static long decrypt(String password, InputStream in, OutputStream out) throws IOException {
+        return AesGcmCipher.of(password).decrypt(in, out);
+    }
+}
@@ -2,11 +2,27 @@ package com.mingrn.itumate.commons.utils.encrypt;
 
 import org.apache.commons.codec.binary.Base64;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
 /**
  * base64加解密工具类
+ * <p>
+ * 除 {@code String} 加解密外, 提供基于 {@link java.util.Base64} 的编解码方法, 直接写入调用方提供的
+ * {@code byte[]}/{@link ByteBuffer}, 并支持 {@link Base64Variant#URL_SAFE URL 安全} 与
+ * {@link Base64Variant#MIME MIME} 格式, 以及 {@link #wrap(OutputStream)}/{@link #wrap(InputStream)}
+ * 流式编解码. 大图片、附件等编码时无需中间拷贝:
+ * <pre>{@code
+ *   try (InputStream in = new FileInputStream(file);
+ *        OutputStream out = Base64Util.wrap(response.getOutputStream())) {
+ *       StreamUtils.copy(in, out);
+ *   }
+ * }</pre>
  *
  * @author MinGR
  */
@@ -21,6 +37,9 @@ public final class Base64Util {
     /** UTF-8 */
     private static final Charset UTF8_CHARSET = StandardCharsets.UTF_8;
 
+    /** 直接缓冲区编解码时的复制缓冲区大小 */
+    private static final int BUFFER_SIZE = 3 * 1024;
+
     /**
      * base64加密
      *
@@ -28,8 +47,7 @@ public final class Base64Util {
      * @return String 密文文本
      */
     public static String encryption(String txt) {
-        byte[] encByte = BASE_64.encode(txt.getBytes(UTF8_CHARSET));
-        return new String(encByte, UTF8_CHARSET);
+        return encryption(txt.getBytes(UTF8_CHARSET));
     }
 
     /**
@@ -39,8 +57,7 @@ public final class Base64Util {
      * @return String 密文文本
      */
     public static String encryption(byte[] data) {
-        byte[] encByte = BASE_64.encode(data);
-        return new String(encByte, UTF8_CHARSET);
+        return Base64Variant.BASIC.getEncoder().encodeToString(data);
     }
 
     /**
@@ -63,4 +80,212 @@ public final class Base64Util {
         byte[] srcByte = BASE_64.decode(enc);
         return new String(srcByte, UTF8_CHARSET);
     }
-}
\ No newline at end of file
+
+    /**
+     * 编码到调用方提供的字节数组
+     *
+     * @param variant 编码类型
+     * @param src     数据
+     * @param dst     目标, 长度不得小于 {@link Base64Variant#encodedLength(int)}
+     * @return 写入的字节数
+     */
+    public static int encode(Base64Variant variant, byte[] src, byte[] dst) {
+        return variant.getEncoder().encode(src, dst);
+    }
+
+    /**
+     * 将 {@code src} 剩余数据编码写入 {@code dst}
+     *
+     * @param variant 编码类型
+     * @param src     数据
+     * @param dst     目标, 剩余空间不得小于 {@link Base64Variant#encodedLength(int)}
+     * @return 写入的字节数
+     * @throws java.nio.BufferOverflowException 目标空间不足
+     */
+    public static int encode(Base64Variant variant, ByteBuffer src, ByteBuffer dst) {
+        int start = dst.position();
+        try (OutputStream out = variant.getEncoder().wrap(new ByteBufferOutputStream(dst))) {
+            if (src.hasArray()) {
+                out.write(src.array(), src.arrayOffset() + src.position(), src.remaining());
+                src.position(src.limit());
+            } else {
+                byte[] buffer = new byte[Math.min(BUFFER_SIZE, src.remaining())];
+                while (src.hasRemaining()) {
+                    int n = Math.min(buffer.length, src.remaining());
+                    src.get(buffer, 0, n);
+                    out.write(buffer, 0, n);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return dst.position() - start;
+    }
+
+    /**
+     * 编码为字符串
+     *
+     * @param variant 编码类型
+     * @param src     数据
+     * @return Base64 字符串
+     */
+    public static String encodeToString(Base64Variant variant, byte[] src) {
+        return variant.getEncoder().encodeToString(src);
+    }
+
+    /**
+     * 解码到调用方提供的字节数组
+     *
+     * @param variant 编码类型
+     * @param src     Base64 数据
+     * @param dst     目标, 长度不得小于解码后长度(不超过 {@code src.length * 3 / 4})
+     * @return 写入的字节数
+     * @throws IllegalArgumentException 数据不是合法的 Base64 或目标空间不足
+     */
+    public static int decode(Base64Variant variant, byte[] src, byte[] dst) {
+        return variant.getDecoder().decode(src, dst);
+    }
+
+    /**
+     * 将 {@code src} 剩余的 Base64 数据解码写入 {@code dst}
+     *
+     * @param variant 编码类型
+     * @param src     Base64 数据
+     * @param dst     目标, 剩余空间不得小于解码后长度
+     * @return 写入的字节数
+     * @throws IllegalArgumentException 数据不是合法的 Base64 或目标空间不足
+     */
+    public static int decode(Base64Variant variant, ByteBuffer src, ByteBuffer dst) {
+        int start = dst.position();
+        try (InputStream in = variant.getDecoder().wrap(new ByteBufferInputStream(src))) {
+            int n;
+            if (dst.hasArray()) {
+                while (dst.hasRemaining()) {
+                    n = in.read(dst.array(), dst.arrayOffset() + dst.position(), dst.remaining());
+                    if (n == -1) {
+                        return dst.position() - start;
+                    }
+                    dst.position(dst.position() + n);
+                }
+                if (in.read() != -1) {
+                    throw new IllegalArgumentException("Destination buffer too small");
+                }
+            } else {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                while ((n = in.read(buffer)) != -1) {
+                    if (n > dst.remaining()) {
+                        throw new IllegalArgumentException("Destination buffer too small");
+                    }
+                    dst.put(buffer, 0, n);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+        return dst.position() - start;
+    }
+
+    /**
+     * 解码字符串
+     *
+     * @param variant 编码类型
+     * @param src     Base64 字符串
+     * @return 数据
+     */
+    public static byte[] decode(Base64Variant variant, String src) {
+        return variant.getDecoder().decode(src);
+    }
+
+    /**
+     * 包装为编码输出流, 写入的数据编码后写入 {@code out}, 关闭时写入填充并关闭 {@code out}
+     *
+     * @param out 输出流
+     * @return 编码输出流
+     */
+    public static OutputStream wrap(OutputStream out) {
+        return wrap(Base64Variant.BASIC, out);
+    }
+
+    /**
+     * @param variant 编码类型
+     * @see #wrap(OutputStream)
+     */
+    public static OutputStream wrap(Base64Variant variant, OutputStream out) {
+        return variant.getEncoder().wrap(out);
+    }
+
+    /**
+     * 包装为解码输入流, 读取时从 {@code in} 读取 Base64 数据并解码
+     *
+     * @param in 输入流
+     * @return 解码输入流
+     */
+    public static InputStream wrap(InputStream in) {
+        return wrap(Base64Variant.BASIC, in);
+    }
+
+    /**
+     * @param variant 编码类型
+     * @see #wrap(InputStream)
+     */
+    public static InputStream wrap(Base64Variant variant, InputStream in) {
+        return variant.getDecoder().wrap(in);
+    }
+
+    /**
+     * {@link ByteBuffer} 输出流, 不复制数据
+     */
+    private static final class ByteBufferOutputStream extends OutputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferOutputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void write(int b) {
+            buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            buffer.put(b, off, len);
+        }
+    }
+
+    /**
+     * {@link ByteBuffer} 输入流, 不复制数据
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.mingrn.itumate.commons.utils.encrypt;
+
+import java.util.Base64;
+
+/**
+ * Base64 编码类型
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @see Base64Util
+ */
+public enum Base64Variant {
+
+    /** 标准 Base64, RFC 4648 */
+    BASIC(Base64.getEncoder(), Base64.getDecoder()),
+
+    /** URL 安全 Base64, 使用 '-' 与 '_' 替换 '+' 与 '/' */
+    URL_SAFE(Base64.getUrlEncoder(), Base64.getUrlDecoder()),
+
+    /** MIME Base64, 每 76 个字符以 \r\n 换行, 解码时忽略非 Base64 字符 */
+    MIME(Base64.getMimeEncoder(), Base64.getMimeDecoder());
+
+    private final Base64.Encoder encoder;
+
+    private final Base64.Decoder decoder;
+
+    Base64Variant(Base64.Encoder encoder, Base64.Decoder decoder) {
+        this.encoder = encoder;
+        this.decoder = decoder;
+    }
+
+    public Base64.Encoder getEncoder() {
+        return encoder;
+    }
+
+    public Base64.Decoder getDecoder() {
+        return decoder;
+    }
+
+    /**
+     * 编码后长度(含填充)
+     *
+     * @param len 原始数据长度
+     * @return 编码后长度
+     */
+    public int encodedLength(int len) {
+        long n = 4L * ((len + 2) / 3);
+        if (this == MIME && n > 0) {
+            n += (n - 1) / 76 * 2;
+        }
+        if (n > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Input is too big for base64 encoding: " + len);
+        }
+        return (int) n;
+    }
+}
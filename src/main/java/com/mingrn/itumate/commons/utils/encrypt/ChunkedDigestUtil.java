@@ -0,0 +1,212 @@
+package com.mingrn.itumate.commons.utils.encrypt;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 分块并行摘要
+ * <p>
+ * 单线程计算 10GB 以上文件的摘要耗时较长, 该类将文件按固定大小切分为块, 在 {@link ForkJoinPool}
+ * 上并行计算每块摘要(内存映射读取, 见 {@link MD5Util#digestMapped(DigestAlgorithm, FileChannel, long, long, long)}),
+ * 再对所有块摘要按顺序拼接后计算一次摘要得到根摘要. 结果只与块大小和算法有关, 与并行度无关.
+ * <p>
+ * {@link #multipartETag(Path, long)} 按阿里云 OSS 分片上传规则计算 ETag:
+ * 各分片 MD5 拼接后再做 MD5, 转大写十六进制并追加 {@code -分片数},
+ * 可用于校验分片上传完成后 OSS 返回的 ETag.
+ * 使用示例:
+ * <pre>{@code
+ *   Path path = Paths.get("/data/video.mp4");
+ *
+ *   // 根摘要
+ *   String hash = ChunkedDigestUtil.treeDigestAsHex(DigestAlgorithm.SHA256, path, ChunkedDigestUtil.DEFAULT_CHUNK_SIZE);
+ *
+ *   // 校验分片上传 ETag, 分片大小需与上传时一致
+ *   boolean ok = ChunkedDigestUtil.verifyMultipartETag(path, partSize, eTag);
+ * }</pre>
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ */
+public final class ChunkedDigestUtil {
+
+    private ChunkedDigestUtil() {
+    }
+
+    /** 默认块大小, 8MB */
+    public static final long DEFAULT_CHUNK_SIZE = 8L * 1024 * 1024;
+
+    /** 单个任务最少处理的块数, 低于该值不再拆分 */
+    private static final int SEQUENTIAL_THRESHOLD = 1;
+
+    /**
+     * 并行计算每块摘要
+     *
+     * @param algorithm 摘要算法
+     * @param path      文件
+     * @param chunkSize 块大小
+     * @return 按顺序排列的块摘要, 空文件返回长度为 0 的数组
+     */
+    public static byte[][] chunkDigests(DigestAlgorithm algorithm, Path path, long chunkSize) throws IOException {
+        return chunkDigests(algorithm, path, chunkSize, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 并行计算每块摘要
+     *
+     * @param pool 执行并行计算的线程池
+     * @see #chunkDigests(DigestAlgorithm, Path, long)
+     */
+    public static byte[][] chunkDigests(DigestAlgorithm algorithm, Path path, long chunkSize, ForkJoinPool pool)
+            throws IOException {
+        if (chunkSize <= 0 || chunkSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("chunk size must be in (0, Integer.MAX_VALUE]: " + chunkSize);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long count = (size + chunkSize - 1) / chunkSize;
+            if (count > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("too many chunks, use a larger chunk size: " + count);
+            }
+            byte[][] digests = new byte[(int) count][];
+            try {
+                pool.invoke(new ChunkTask(algorithm, channel, size, chunkSize, digests, 0, digests.length));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return digests;
+        }
+    }
+
+    /**
+     * 根摘要, 即所有块摘要按顺序拼接后的摘要
+     *
+     * @param algorithm 摘要算法
+     * @param path      文件
+     * @param chunkSize 块大小
+     * @return 根摘要
+     */
+    public static byte[] treeDigest(DigestAlgorithm algorithm, Path path, long chunkSize) throws IOException {
+        return treeDigest(algorithm, path, chunkSize, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool 执行并行计算的线程池
+     * @see #treeDigest(DigestAlgorithm, Path, long)
+     */
+    public static byte[] treeDigest(DigestAlgorithm algorithm, Path path, long chunkSize, ForkJoinPool pool)
+            throws IOException {
+        return combine(algorithm, chunkDigests(algorithm, path, chunkSize, pool));
+    }
+
+    /**
+     * 根摘要十六进制字符串
+     *
+     * @see #treeDigest(DigestAlgorithm, Path, long)
+     */
+    public static String treeDigestAsHex(DigestAlgorithm algorithm, Path path, long chunkSize) throws IOException {
+        return HexCodec.encodeHexString(treeDigest(algorithm, path, chunkSize));
+    }
+
+    /**
+     * 按 OSS 分片上传规则计算 ETag, 格式为 {@code 大写MD5-分片数}
+     *
+     * @param path     文件
+     * @param partSize 分片大小, 需与上传时一致
+     * @return ETag
+     */
+    public static String multipartETag(Path path, long partSize) throws IOException {
+        return multipartETag(path, partSize, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool 执行并行计算的线程池
+     * @see #multipartETag(Path, long)
+     */
+    public static String multipartETag(Path path, long partSize, ForkJoinPool pool) throws IOException {
+        byte[][] parts = chunkDigests(DigestAlgorithm.MD5, path, partSize, pool);
+        return HexCodec.encodeHexString(combine(DigestAlgorithm.MD5, parts), true) + "-" + parts.length;
+    }
+
+    /**
+     * 校验分片上传 ETag
+     *
+     * @param path     本地文件
+     * @param partSize 分片大小, 需与上传时一致
+     * @param eTag     OSS 返回的 ETag, 允许带双引号, 不区分大小写
+     * @return ETag 是否一致
+     */
+    public static boolean verifyMultipartETag(Path path, long partSize, String eTag) throws IOException {
+        if (eTag == null) {
+            return false;
+        }
+        String expected = eTag.replace("\"", "").trim().toUpperCase(Locale.ROOT);
+        return expected.equals(multipartETag(path, partSize));
+    }
+
+    /**
+     * 合并块摘要
+     *
+     * @param algorithm 摘要算法
+     * @param digests   块摘要
+     * @return 根摘要
+     */
+    public static byte[] combine(DigestAlgorithm algorithm, byte[][] digests) {
+        MessageDigest messageDigest = DigestEngine.getDigest(algorithm);
+        for (byte[] digest : digests) {
+            messageDigest.update(digest);
+        }
+        return messageDigest.digest();
+    }
+
+    /**
+     * 块摘要任务, 按块下标区间二分拆分
+     */
+    private static final class ChunkTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final DigestAlgorithm algorithm;
+        private final transient FileChannel channel;
+        private final long size;
+        private final long chunkSize;
+        private final byte[][] digests;
+        private final int from;
+        private final int to;
+
+        ChunkTask(DigestAlgorithm algorithm, FileChannel channel, long size, long chunkSize,
+                  byte[][] digests, int from, int to) {
+            this.algorithm = algorithm;
+            this.channel = channel;
+            this.size = size;
+            this.chunkSize = chunkSize;
+            this.digests = digests;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    long position = i * chunkSize;
+                    long length = Math.min(chunkSize, size - position);
+                    try {
+                        digests[i] = MD5Util.digestMapped(algorithm, channel, position, length, chunkSize);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkTask(algorithm, channel, size, chunkSize, digests, from, mid),
+                    new ChunkTask(algorithm, channel, size, chunkSize, digests, mid, to));
+        }
+    }
+}
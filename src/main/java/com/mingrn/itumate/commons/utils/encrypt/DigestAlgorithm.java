@@ -0,0 +1,50 @@
+package com.mingrn.itumate.commons.utils.encrypt;
+
+/**
+ * 摘要算法
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @see DigestEngine
+ */
+public enum DigestAlgorithm {
+
+    /** MD5 */
+    MD5("MD5"),
+
+    /** SHA-1 */
+    SHA1("SHA-1"),
+
+    /** SHA-256 */
+    SHA256("SHA-256"),
+
+    /** SHA-512 */
+    SHA512("SHA-512");
+
+    private final String name;
+
+    DigestAlgorithm(String name) {
+        this.name = name;
+    }
+
+    /**
+     * {@link java.security.MessageDigest} 算法名称
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 根据算法名称获取摘要算法
+     *
+     * @param name 算法名称, 如 SHA-256
+     * @return 摘要算法, 不支持时返回 {@code null}
+     */
+    public static DigestAlgorithm of(String name) {
+        for (DigestAlgorithm algorithm : values()) {
+            if (algorithm.name.equalsIgnoreCase(name)) {
+                return algorithm;
+            }
+        }
+        return null;
+    }
+}
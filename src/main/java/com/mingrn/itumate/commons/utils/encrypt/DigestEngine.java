@@ -0,0 +1,82 @@
+package com.mingrn.itumate.commons.utils.encrypt;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 摘要引擎
+ * <p>
+ * {@link MessageDigest#getInstance(String)} 每次调用都会进行 Provider 查找并创建新实例,
+ * 在签名校验等高频场景下开销明显. 该类为每个线程缓存 {@link DigestAlgorithm} 对应的
+ * {@link MessageDigest} 实例, 每次获取时会先 {@link MessageDigest#reset() reset}.
+ * 使用示例:
+ * <pre>{@code
+ *   MessageDigest md = DigestEngine.getDigest(DigestAlgorithm.SHA256);
+ *   md.update(header);
+ *   md.update(body);
+ *   byte[] digest = md.digest();
+ * }</pre>
+ * 注意: 获取的实例为当前线程共享实例, 不能跨线程传递, 也不能在使用期间再次获取同一算法的实例
+ * (再次获取会将其重置).
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ */
+public final class DigestEngine {
+
+    private DigestEngine() {
+    }
+
+    /** 线程缓存, 下标为 {@link DigestAlgorithm#ordinal()} */
+    private static final ThreadLocal<MessageDigest[]> DIGESTS =
+            ThreadLocal.withInitial(() -> new MessageDigest[DigestAlgorithm.values().length]);
+
+    /**
+     * 获取当前线程缓存的摘要实例
+     *
+     * @param algorithm 摘要算法
+     * @return 已重置的 {@link MessageDigest}
+     */
+    public static MessageDigest getDigest(DigestAlgorithm algorithm) {
+        MessageDigest[] digests = DIGESTS.get();
+        MessageDigest digest = digests[algorithm.ordinal()];
+        if (digest == null) {
+            digest = newDigest(algorithm.getName());
+            digests[algorithm.ordinal()] = digest;
+        } else {
+            digest.reset();
+        }
+        return digest;
+    }
+
+    /**
+     * 获取摘要实例
+     * <p>
+     * {@link DigestAlgorithm} 支持的算法返回线程缓存实例, 其余算法每次创建新实例.
+     *
+     * @param algorithm 算法名称, 如 SHA-256
+     * @return 已重置的 {@link MessageDigest}
+     */
+    public static MessageDigest getDigest(String algorithm) {
+        DigestAlgorithm digestAlgorithm = DigestAlgorithm.of(algorithm);
+        return digestAlgorithm != null ? getDigest(digestAlgorithm) : newDigest(algorithm);
+    }
+
+    /**
+     * 计算摘要
+     *
+     * @param algorithm 摘要算法
+     * @param bytes     数据
+     * @return 摘要
+     */
+    public static byte[] digest(DigestAlgorithm algorithm, byte[] bytes) {
+        return getDigest(algorithm).digest(bytes);
+    }
+
+    private static MessageDigest newDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Could not find MessageDigest with algorithm \"" + algorithm + "\"", ex);
+        }
+    }
+}
@@ -85,14 +85,9 @@ public class EncryptUtil {
      */
     private static String encrypt(String strSrc, EncryptTypeEnum encryptTypeEnum) {
         try {
-            java.security.MessageDigest md = java.security.MessageDigest.getInstance(encryptTypeEnum.type);
-            byte[] array = md.digest(strSrc.getBytes());
-            StringBuilder sb = new StringBuilder();
-            for (byte anArray : array) {
-                sb.append(Integer.toHexString((anArray & 0xFF) | 0x100), 1, 3);
-            }
-            return sb.toString();
-        } catch (java.security.NoSuchAlgorithmException e) {
+            byte[] array = DigestEngine.digest(encryptTypeEnum.algorithm, strSrc.getBytes());
+            return HexCodec.encodeHexString(array);
+        } catch (IllegalStateException e) {
             LOGGER.error(e.getMessage(), e);
         }
         return null;
@@ -102,18 +97,18 @@ public class EncryptUtil {
     private enum EncryptTypeEnum {
 
         /** MD5 加密 */
-        MD5("MD5"),
+        MD5(DigestAlgorithm.MD5),
 
         /** SHA-1 加密 */
-        SHA1("SHA-1"),
+        SHA1(DigestAlgorithm.SHA1),
 
         /** SHA-256 加密 */
-        SHA256("SHA-256");
+        SHA256(DigestAlgorithm.SHA256);
 
-        private String type;
+        private DigestAlgorithm algorithm;
 
-        EncryptTypeEnum(String type) {
-            this.type = type;
+        EncryptTypeEnum(DigestAlgorithm algorithm) {
+            this.algorithm = algorithm;
         }
     }
 }
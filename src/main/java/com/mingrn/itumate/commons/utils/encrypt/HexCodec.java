@@ -0,0 +1,234 @@
+package com.mingrn.itumate.commons.utils.encrypt;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * 十六进制编解码
+ * <p>
+ * 基于查表实现, 支持任意长度数据(如 MD5、SHA-1、SHA-256 摘要)以及大小写输出.
+ * 除返回 {@code String}/{@code char[]} 的便捷方法外, 还提供写入调用方提供的
+ * {@code char[]}、{@code byte[]}、{@link ByteBuffer} 的方法, 编解码过程不产生额外对象.
+ * 使用示例:
+ * <pre>{@code
+ *   byte[] digest = DigestEngine.digest(DigestAlgorithm.SHA256, data);
+ *
+ *   // 返回小写十六进制字符串
+ *   String hex = HexCodec.encodeHexString(digest);
+ *
+ *   // 写入已有缓冲区
+ *   char[] buffer = new char[64];
+ *   HexCodec.encode(digest, 0, digest.length, buffer, 0, false);
+ *
+ *   // 解码
+ *   byte[] bytes = HexCodec.decodeHex(hex);
+ * }</pre>
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ */
+public final class HexCodec {
+
+    private HexCodec() {
+    }
+
+    private static final char[] DIGITS_LOWER = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
+
+    private static final char[] DIGITS_UPPER = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'};
+
+    /** 字符 -> 数值, 非十六进制字符为 -1 */
+    private static final byte[] DECODE_TABLE = new byte[128];
+
+    static {
+        Arrays.fill(DECODE_TABLE, (byte) -1);
+        for (int i = 0; i < 16; i++) {
+            DECODE_TABLE[DIGITS_LOWER[i]] = (byte) i;
+            DECODE_TABLE[DIGITS_UPPER[i]] = (byte) i;
+        }
+    }
+
+    /**
+     * 编码为小写十六进制字符数组
+     *
+     * @param bytes 数据
+     * @return 十六进制字符数组, 长度为 {@code bytes.length * 2}
+     */
+    public static char[] encodeHex(byte[] bytes) {
+        return encodeHex(bytes, false);
+    }
+
+    /**
+     * 编码为十六进制字符数组
+     *
+     * @param bytes     数据
+     * @param upperCase 是否大写
+     * @return 十六进制字符数组, 长度为 {@code bytes.length * 2}
+     */
+    public static char[] encodeHex(byte[] bytes, boolean upperCase) {
+        char[] chars = new char[bytes.length << 1];
+        encode(bytes, 0, bytes.length, chars, 0, upperCase);
+        return chars;
+    }
+
+    /**
+     * 编码为小写十六进制字符串
+     */
+    public static String encodeHexString(byte[] bytes) {
+        return new String(encodeHex(bytes, false));
+    }
+
+    /**
+     * 编码为十六进制字符串
+     *
+     * @param upperCase 是否大写
+     */
+    public static String encodeHexString(byte[] bytes, boolean upperCase) {
+        return new String(encodeHex(bytes, upperCase));
+    }
+
+    /**
+     * 将小写十六进制追加到 {@link StringBuilder}
+     *
+     * @param bytes   数据
+     * @param builder 目标
+     * @return 传入的 builder
+     */
+    public static StringBuilder appendHex(byte[] bytes, StringBuilder builder) {
+        builder.ensureCapacity(builder.length() + (bytes.length << 1));
+        for (byte b : bytes) {
+            builder.append(DIGITS_LOWER[(b >>> 4) & 0xF]).append(DIGITS_LOWER[b & 0xF]);
+        }
+        return builder;
+    }
+
+    /**
+     * 编码到调用方提供的字符数组
+     *
+     * @param src       数据
+     * @param srcOff    数据起始下标
+     * @param len       编码字节数
+     * @param dst       目标字符数组, 剩余空间不得小于 {@code len * 2}
+     * @param dstOff    目标起始下标
+     * @param upperCase 是否大写
+     * @return 写入的字符数
+     */
+    public static int encode(byte[] src, int srcOff, int len, char[] dst, int dstOff, boolean upperCase) {
+        char[] digits = upperCase ? DIGITS_UPPER : DIGITS_LOWER;
+        for (int i = srcOff, j = dstOff, end = srcOff + len; i < end; i++) {
+            byte b = src[i];
+            dst[j++] = digits[(b >>> 4) & 0xF];
+            dst[j++] = digits[b & 0xF];
+        }
+        return len << 1;
+    }
+
+    /**
+     * 编码到调用方提供的字节数组, 输出为 ASCII 字符
+     *
+     * @return 写入的字节数
+     * @see #encode(byte[], int, int, char[], int, boolean)
+     */
+    public static int encode(byte[] src, int srcOff, int len, byte[] dst, int dstOff, boolean upperCase) {
+        char[] digits = upperCase ? DIGITS_UPPER : DIGITS_LOWER;
+        for (int i = srcOff, j = dstOff, end = srcOff + len; i < end; i++) {
+            byte b = src[i];
+            dst[j++] = (byte) digits[(b >>> 4) & 0xF];
+            dst[j++] = (byte) digits[b & 0xF];
+        }
+        return len << 1;
+    }
+
+    /**
+     * 将 {@code src} 剩余数据编码为 ASCII 十六进制写入 {@code dst}
+     *
+     * @param src       数据
+     * @param dst       目标, 剩余空间不得小于 {@code src.remaining() * 2}
+     * @param upperCase 是否大写
+     * @return 写入的字节数
+     */
+    public static int encode(ByteBuffer src, ByteBuffer dst, boolean upperCase) {
+        char[] digits = upperCase ? DIGITS_UPPER : DIGITS_LOWER;
+        int len = src.remaining();
+        while (src.hasRemaining()) {
+            byte b = src.get();
+            dst.put((byte) digits[(b >>> 4) & 0xF]);
+            dst.put((byte) digits[b & 0xF]);
+        }
+        return len << 1;
+    }
+
+    /**
+     * 十六进制解码, 不区分大小写
+     *
+     * @param hex 十六进制字符串, 长度必须为偶数
+     * @return 数据
+     * @throws IllegalArgumentException 长度为奇数或包含非十六进制字符
+     */
+    public static byte[] decodeHex(CharSequence hex) {
+        byte[] bytes = new byte[checkLength(hex.length()) >> 1];
+        decode(hex, 0, hex.length(), bytes, 0);
+        return bytes;
+    }
+
+    /**
+     * 解码到调用方提供的字节数组
+     *
+     * @param hex    十六进制字符
+     * @param off    起始下标
+     * @param len    字符数, 必须为偶数
+     * @param dst    目标, 剩余空间不得小于 {@code len / 2}
+     * @param dstOff 目标起始下标
+     * @return 写入的字节数
+     * @throws IllegalArgumentException 长度为奇数或包含非十六进制字符
+     */
+    public static int decode(CharSequence hex, int off, int len, byte[] dst, int dstOff) {
+        checkLength(len);
+        for (int i = off, j = dstOff, end = off + len; i < end; i += 2) {
+            dst[j++] = (byte) (toDigit(hex.charAt(i), i) << 4 | toDigit(hex.charAt(i + 1), i + 1));
+        }
+        return len >> 1;
+    }
+
+    /**
+     * 解码到调用方提供的字节数组
+     *
+     * @see #decode(CharSequence, int, int, byte[], int)
+     */
+    public static int decode(char[] hex, int off, int len, byte[] dst, int dstOff) {
+        checkLength(len);
+        for (int i = off, j = dstOff, end = off + len; i < end; i += 2) {
+            dst[j++] = (byte) (toDigit(hex[i], i) << 4 | toDigit(hex[i + 1], i + 1));
+        }
+        return len >> 1;
+    }
+
+    /**
+     * 将 {@code src} 剩余的 ASCII 十六进制字节解码写入 {@code dst}
+     *
+     * @return 写入的字节数
+     * @throws IllegalArgumentException 长度为奇数或包含非十六进制字符
+     */
+    public static int decode(ByteBuffer src, ByteBuffer dst) {
+        int len = checkLength(src.remaining());
+        for (int i = 0; i < len; i += 2) {
+            int hi = toDigit((char) (src.get() & 0xFF), i);
+            int lo = toDigit((char) (src.get() & 0xFF), i + 1);
+            dst.put((byte) (hi << 4 | lo));
+        }
+        return len >> 1;
+    }
+
+    private static int checkLength(int len) {
+        if ((len & 1) != 0) {
+            throw new IllegalArgumentException("Odd number of hex characters: " + len);
+        }
+        return len;
+    }
+
+    private static int toDigit(char c, int index) {
+        int digit = c < 128 ? DECODE_TABLE[c] : -1;
+        if (digit < 0) {
+            throw new IllegalArgumentException("Illegal hex character '" + c + "' at index " + index);
+        }
+        return digit;
+    }
+}
@@ -4,9 +4,13 @@ import org.springframework.util.StreamUtils;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 
 /**
  * MD5 加密 - utils
@@ -21,7 +25,15 @@ public class MD5Util {
 
     private static final String MD5_ALGORITHM_NAME = "MD5";
 
-    private static final char[] HEX_CHARS = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
+    /** 文件摘要默认缓冲区大小, 64KB */
+    public static final int DEFAULT_FILE_BUFFER_SIZE = 64 * 1024;
+
+    /** 内存映射摘要默认窗口大小, 64MB */
+    public static final long DEFAULT_MAPPED_WINDOW_SIZE = 64L * 1024 * 1024;
+
+    /** 默认大小的直接缓冲区, 按线程复用 */
+    private static final ThreadLocal<ByteBuffer> DIRECT_BUFFER =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(DEFAULT_FILE_BUFFER_SIZE));
 
     /**
      * Calculate the MD5 digest of the given bytes.
@@ -104,17 +116,165 @@ public class MD5Util {
 
 
     /**
-     * Create a new {@link MessageDigest} with the given algorithm.
-     * Necessary because {@code MessageDigest} is not thread-safe.
+     * Calculate the MD5 digest of the given file.
+     *
+     * @param path the file to calculate the digest over
+     * @return the digest
+     * @see #digest(DigestAlgorithm, Path, int)
      */
-    private static MessageDigest getDigest(String algorithm) {
-        try {
-            return MessageDigest.getInstance(algorithm);
-        } catch (NoSuchAlgorithmException ex) {
-            throw new IllegalStateException("Could not find MessageDigest with algorithm \"" + algorithm + "\"", ex);
+    public static byte[] md5Digest(Path path) throws IOException {
+        return digest(DigestAlgorithm.MD5, path, DEFAULT_FILE_BUFFER_SIZE);
+    }
+
+    /**
+     * Return a hexadecimal string representation of the MD5 digest of the given file.
+     *
+     * @param path the file to calculate the digest over
+     * @return a hexadecimal digest string
+     */
+    public static String md5DigestAsHex(Path path) throws IOException {
+        return HexCodec.encodeHexString(md5Digest(path));
+    }
+
+    /**
+     * 文件摘要
+     * <p>
+     * 通过 {@link FileChannel} 读取到直接缓冲区计算摘要, 适用于上传后的大文件校验.
+     * 例如:
+     * <pre>{@code
+     *   FileWrapper file = FileUpDownUtils.getUploadFile(request);
+     *   String sha256 = MD5Util.digestAsHex(DigestAlgorithm.SHA256, file.getFile().toPath());
+     * }</pre>
+     *
+     * @param algorithm 摘要算法, 如 MD5、SHA-1、SHA-256
+     * @param path      文件
+     * @return 摘要
+     */
+    public static byte[] digest(DigestAlgorithm algorithm, Path path) throws IOException {
+        return digest(algorithm, path, DEFAULT_FILE_BUFFER_SIZE);
+    }
+
+    /**
+     * 文件摘要
+     *
+     * @param algorithm  摘要算法
+     * @param path       文件
+     * @param bufferSize 直接缓冲区大小
+     * @return 摘要
+     * @see #digest(DigestAlgorithm, Path)
+     */
+    public static byte[] digest(DigestAlgorithm algorithm, Path path, int bufferSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return digest(algorithm, channel, bufferSize);
+        }
+    }
+
+    /**
+     * 文件通道摘要, 从通道当前位置读取到末尾, 通道由调用方关闭
+     *
+     * @param algorithm  摘要算法
+     * @param channel    文件通道
+     * @param bufferSize 直接缓冲区大小
+     * @return 摘要
+     */
+    public static byte[] digest(DigestAlgorithm algorithm, FileChannel channel, int bufferSize) throws IOException {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("buffer size must be positive: " + bufferSize);
+        }
+        ByteBuffer buffer = bufferSize == DEFAULT_FILE_BUFFER_SIZE
+                ? DIRECT_BUFFER.get() : ByteBuffer.allocateDirect(bufferSize);
+        buffer.clear();
+        MessageDigest messageDigest = DigestEngine.getDigest(algorithm);
+        while (channel.read(buffer) != -1) {
+            buffer.flip();
+            messageDigest.update(buffer);
+            buffer.clear();
+        }
+        return messageDigest.digest();
+    }
+
+    /**
+     * 文件摘要(内存映射)
+     * <p>
+     * 以 {@link MappedByteBuffer} 窗口逐段映射文件计算摘要, 避免数据从内核缓冲区复制到
+     * 用户缓冲区, 适用于 GB 级文件.
+     *
+     * @param algorithm 摘要算法
+     * @param path      文件
+     * @return 摘要
+     */
+    public static byte[] digestMapped(DigestAlgorithm algorithm, Path path) throws IOException {
+        return digestMapped(algorithm, path, DEFAULT_MAPPED_WINDOW_SIZE);
+    }
+
+    /**
+     * 文件摘要(内存映射)
+     *
+     * @param algorithm  摘要算法
+     * @param path       文件
+     * @param windowSize 单次映射窗口大小, 不能超过 {@link Integer#MAX_VALUE}
+     * @return 摘要
+     * @see #digestMapped(DigestAlgorithm, Path)
+     */
+    public static byte[] digestMapped(DigestAlgorithm algorithm, Path path, long windowSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return digestMapped(algorithm, channel, 0, channel.size(), windowSize);
         }
     }
 
+    /**
+     * 文件通道指定区间摘要(内存映射), 通道由调用方关闭
+     *
+     * @param algorithm  摘要算法
+     * @param channel    文件通道
+     * @param position   起始位置
+     * @param length     长度
+     * @param windowSize 单次映射窗口大小, 不能超过 {@link Integer#MAX_VALUE}
+     * @return 摘要
+     */
+    public static byte[] digestMapped(DigestAlgorithm algorithm, FileChannel channel, long position, long length,
+                                      long windowSize) throws IOException {
+        if (windowSize <= 0 || windowSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("mapped window size must be in (0, Integer.MAX_VALUE]: " + windowSize);
+        }
+        MessageDigest messageDigest = DigestEngine.getDigest(algorithm);
+        long end = position + length;
+        while (position < end) {
+            long size = Math.min(windowSize, end - position);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+            messageDigest.update(window);
+            position += size;
+        }
+        return messageDigest.digest();
+    }
+
+    /**
+     * 文件摘要十六进制字符串
+     *
+     * @see #digest(DigestAlgorithm, Path)
+     */
+    public static String digestAsHex(DigestAlgorithm algorithm, Path path) throws IOException {
+        return HexCodec.encodeHexString(digest(algorithm, path));
+    }
+
+    /**
+     * 文件摘要十六进制字符串(内存映射)
+     *
+     * @see #digestMapped(DigestAlgorithm, Path)
+     */
+    public static String digestMappedAsHex(DigestAlgorithm algorithm, Path path) throws IOException {
+        return HexCodec.encodeHexString(digestMapped(algorithm, path));
+    }
+
+    /**
+     * Obtain a reset {@link MessageDigest} with the given algorithm.
+     * The instance is cached per thread by {@link DigestEngine},
+     * because {@code MessageDigest} is not thread-safe.
+     */
+    private static MessageDigest getDigest(String algorithm) {
+        return DigestEngine.getDigest(algorithm);
+    }
+
     private static byte[] digest(String algorithm, byte[] bytes) {
         return getDigest(algorithm).digest(bytes);
     }
@@ -140,15 +300,13 @@ public class MD5Util {
     }
 
     private static StringBuilder appendDigestAsHex(String algorithm, byte[] bytes, StringBuilder builder) {
-        char[] hexDigest = digestAsHexChars(algorithm, bytes);
-        return builder.append(hexDigest);
+        return HexCodec.appendHex(digest(algorithm, bytes), builder);
     }
 
     private static StringBuilder appendDigestAsHex(String algorithm, InputStream inputStream, StringBuilder builder)
             throws IOException {
 
-        char[] hexDigest = digestAsHexChars(algorithm, inputStream);
-        return builder.append(hexDigest);
+        return HexCodec.appendHex(digest(algorithm, inputStream), builder);
     }
 
     private static char[] digestAsHexChars(String algorithm, byte[] bytes) {
@@ -162,12 +320,6 @@ public class MD5Util {
     }
 
     private static char[] encodeHex(byte[] bytes) {
-        char[] chars = new char[32];
-        for (int i = 0; i < chars.length; i = i + 2) {
-            byte b = bytes[i / 2];
-            chars[i] = HEX_CHARS[(b >>> 0x4) & 0xf];
-            chars[i + 1] = HEX_CHARS[b & 0xf];
-        }
-        return chars;
+        return HexCodec.encodeHex(bytes);
     }
 }
\ No newline at end of file
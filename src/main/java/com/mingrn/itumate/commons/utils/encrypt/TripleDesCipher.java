@@ -0,0 +1,310 @@
+package com.mingrn.itumate.commons.utils.encrypt;
+
+import javax.crypto.BadPaddingException;
+import javax.crypto.Cipher;
+import javax.crypto.CipherInputStream;
+import javax.crypto.CipherOutputStream;
+import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.NoSuchPaddingException;
+import javax.crypto.SecretKey;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * DESede 密钥上下文
+ * <p>
+ * {@link TripleDesUtil#encryptMode(String, byte[])} 每次调用都会创建密钥并初始化 {@link Cipher},
+ * 对短数据(如 token)而言这部分开销占比最大. 该类按密码创建一次, 为每个线程缓存已初始化的加解密
+ * {@link Cipher}, 相同密钥的重复加解密无需再次查找 Provider 与初始化密钥.
+ * 使用示例:
+ * <pre>{@code
+ *   // 按密码创建一次, 可在多线程间共享
+ *   TripleDesCipher cipher = TripleDesCipher.of(pwd);
+ *
+ *   byte[] encrypt = cipher.encrypt(data);
+ *   byte[] decrypt = cipher.decrypt(encrypt);
+ *
+ *   // 兼容 TripleDesUtil 十六进制格式
+ *   String hex = TripleDesUtil.encryptMode(cipher, data);
+ *
+ *   // 流式加密, 输出为二进制密文, 内存占用与数据大小无关
+ *   try (InputStream in = new FileInputStream(source); OutputStream out = new FileOutputStream(target)) {
+ *       cipher.encrypt(in, out);
+ *   }
+ * }</pre>
+ * 加密结果与 {@link TripleDesUtil} 相同算法({@code DESede}, 即 ECB/PKCS5Padding), 二者可互相解密.
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @see TripleDesUtil
+ */
+public final class TripleDesCipher {
+
+    /** 加密算法 */
+    static final String ENCRYPT_ALGORITHM = "DESede";
+
+    /** 流式加解密缓冲区大小 */
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    private final SecretKey key;
+
+    private final ThreadLocal<Cipher> encryptCipher;
+
+    private final ThreadLocal<Cipher> decryptCipher;
+
+    private TripleDesCipher(SecretKey key) {
+        this.key = key;
+        this.encryptCipher = ThreadLocal.withInitial(() -> newCipher(Cipher.ENCRYPT_MODE));
+        this.decryptCipher = ThreadLocal.withInitial(() -> newCipher(Cipher.DECRYPT_MODE));
+        // 提前校验密钥
+        encryptCipher.get();
+    }
+
+    /**
+     * 创建密钥上下文
+     *
+     * @param password 加密密钥, 密码为8的倍数,请使用 24 位.
+     * @return 密钥上下文
+     * @throws IllegalArgumentException 密钥长度不合法
+     */
+    public static TripleDesCipher of(String password) {
+        return of(password.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 创建密钥上下文
+     *
+     * @param key 24 字节密钥
+     * @return 密钥上下文
+     * @throws IllegalArgumentException 密钥长度不合法
+     */
+    public static TripleDesCipher of(byte[] key) {
+        return new TripleDesCipher(new SecretKeySpec(key, ENCRYPT_ALGORITHM));
+    }
+
+    /**
+     * 加密
+     *
+     * @param data 明文
+     * @return 密文
+     */
+    public byte[] encrypt(byte[] data) {
+        return doFinal(encryptCipher, Cipher.ENCRYPT_MODE, data);
+    }
+
+    /**
+     * 解密
+     *
+     * @param data 密文
+     * @return 明文
+     * @throws IllegalArgumentException 密文长度或填充不正确(如密钥错误)
+     */
+    public byte[] decrypt(byte[] data) {
+        return doFinal(decryptCipher, Cipher.DECRYPT_MODE, data);
+    }
+
+    /**
+     * 加密 {@code input} 剩余数据并写入 {@code output}
+     *
+     * @param input  明文
+     * @param output 密文, 剩余空间不得小于 {@link #getEncryptOutputSize(int)}
+     * @return 写入的字节数
+     */
+    public int encrypt(ByteBuffer input, ByteBuffer output) {
+        return doFinal(encryptCipher, Cipher.ENCRYPT_MODE, input, output);
+    }
+
+    /**
+     * 解密 {@code input} 剩余数据并写入 {@code output}
+     *
+     * @param input  密文
+     * @param output 明文, 剩余空间不得小于 {@code input.remaining()}
+     * @return 写入的字节数
+     * @throws IllegalArgumentException 密文长度或填充不正确(如密钥错误)
+     */
+    public int decrypt(ByteBuffer input, ByteBuffer output) {
+        return doFinal(decryptCipher, Cipher.DECRYPT_MODE, input, output);
+    }
+
+    /**
+     * 流式加密, 读取 {@code in} 至末尾并将二进制密文写入 {@code out}, 流由调用方关闭
+     *
+     * @param in  明文输入流
+     * @param out 密文输出流
+     * @return 写入的字节数
+     */
+    public long encrypt(InputStream in, OutputStream out) throws IOException {
+        return transform(newCipher(Cipher.ENCRYPT_MODE), in, out);
+    }
+
+    /**
+     * 流式解密, 读取 {@code in} 至末尾并将明文写入 {@code out}, 流由调用方关闭
+     *
+     * @param in  密文输入流
+     * @param out 明文输出流
+     * @return 写入的字节数
+     * @throws IOException 读写失败或密文长度、填充不正确
+     */
+    public long decrypt(InputStream in, OutputStream out) throws IOException {
+        return transform(newCipher(Cipher.DECRYPT_MODE), in, out);
+    }
+
+    /**
+     * 通道加密, 使用直接缓冲区, 通道由调用方关闭
+     *
+     * @param in  明文通道
+     * @param out 密文通道
+     * @return 写入的字节数
+     */
+    public long encrypt(ReadableByteChannel in, WritableByteChannel out) throws IOException {
+        return transform(newCipher(Cipher.ENCRYPT_MODE), in, out);
+    }
+
+    /**
+     * 通道解密, 使用直接缓冲区, 通道由调用方关闭
+     *
+     * @param in  密文通道
+     * @param out 明文通道
+     * @return 写入的字节数
+     * @throws IOException 读写失败或密文长度、填充不正确
+     */
+    public long decrypt(ReadableByteChannel in, WritableByteChannel out) throws IOException {
+        return transform(newCipher(Cipher.DECRYPT_MODE), in, out);
+    }
+
+    /**
+     * 包装为加密输出流, 写入的明文加密后写入 {@code out}, 关闭时写入最后一个填充块
+     *
+     * @param out 密文输出流
+     * @return {@link CipherOutputStream}
+     */
+    public OutputStream encrypting(OutputStream out) {
+        return new CipherOutputStream(out, newCipher(Cipher.ENCRYPT_MODE));
+    }
+
+    /**
+     * 包装为解密输入流, 读取时从 {@code in} 读取密文并解密
+     *
+     * @param in 密文输入流
+     * @return {@link CipherInputStream}
+     */
+    public InputStream decrypting(InputStream in) {
+        return new CipherInputStream(in, newCipher(Cipher.DECRYPT_MODE));
+    }
+
+    /**
+     * 加密后数据长度
+     *
+     * @param inputLen 明文长度
+     * @return 密文长度
+     */
+    public int getEncryptOutputSize(int inputLen) {
+        return encryptCipher.get().getOutputSize(inputLen);
+    }
+
+    /**
+     * 创建已初始化的 {@link Cipher}, 用于流式加解密等需要独占实例的场景
+     *
+     * @param mode {@link Cipher#ENCRYPT_MODE} 或 {@link Cipher#DECRYPT_MODE}
+     */
+    Cipher newCipher(int mode) {
+        try {
+            Cipher cipher = Cipher.getInstance(ENCRYPT_ALGORITHM);
+            cipher.init(mode, key);
+            return cipher;
+        } catch (InvalidKeyException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 使用已初始化的 {@link Cipher} 完成流式加解密, 调用期间独占该实例
+     */
+    static long transform(Cipher cipher, InputStream in, OutputStream out) throws IOException {
+        byte[] input = new byte[STREAM_BUFFER_SIZE];
+        byte[] output = new byte[cipher.getOutputSize(STREAM_BUFFER_SIZE) + cipher.getBlockSize()];
+        long total = 0;
+        int n;
+        try {
+            while ((n = in.read(input)) != -1) {
+                int len = cipher.update(input, 0, n, output);
+                out.write(output, 0, len);
+                total += len;
+            }
+            int len = cipher.doFinal(output, 0);
+            out.write(output, 0, len);
+            return total + len;
+        } catch (IllegalBlockSizeException | BadPaddingException | ShortBufferException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 使用已初始化的 {@link Cipher} 完成通道加解密, 调用期间独占该实例
+     */
+    static long transform(Cipher cipher, ReadableByteChannel in, WritableByteChannel out) throws IOException {
+        ByteBuffer input = ByteBuffer.allocateDirect(STREAM_BUFFER_SIZE);
+        ByteBuffer output = ByteBuffer.allocateDirect(cipher.getOutputSize(STREAM_BUFFER_SIZE) + cipher.getBlockSize());
+        long total = 0;
+        try {
+            while (in.read(input) != -1) {
+                input.flip();
+                cipher.update(input, output);
+                input.clear();
+                total += drain(output, out);
+            }
+            input.flip();
+            cipher.doFinal(input, output);
+            return total + drain(output, out);
+        } catch (IllegalBlockSizeException | BadPaddingException | ShortBufferException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    private static int drain(ByteBuffer buffer, WritableByteChannel out) throws IOException {
+        buffer.flip();
+        int len = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+        return len;
+    }
+
+    private byte[] doFinal(ThreadLocal<Cipher> local, int mode, byte[] data) {
+        Cipher cipher = local.get();
+        try {
+            return cipher.doFinal(data);
+        } catch (IllegalBlockSizeException | BadPaddingException e) {
+            throw failed(local, mode, e);
+        }
+    }
+
+    private int doFinal(ThreadLocal<Cipher> local, int mode, ByteBuffer input, ByteBuffer output) {
+        Cipher cipher = local.get();
+        try {
+            return cipher.doFinal(input, output);
+        } catch (IllegalBlockSizeException | BadPaddingException | ShortBufferException e) {
+            throw failed(local, mode, e);
+        }
+    }
+
+    /**
+     * 加解密失败后 {@link Cipher} 状态不确定, 重新创建当前线程实例
+     */
+    private RuntimeException failed(ThreadLocal<Cipher> local, int mode, GeneralSecurityException e) {
+        local.set(newCipher(mode));
+        return new IllegalArgumentException(e.getMessage(), e);
+    }
+}
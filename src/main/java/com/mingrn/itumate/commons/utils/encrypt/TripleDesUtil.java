@@ -6,7 +6,15 @@ import org.slf4j.LoggerFactory;
 
 import javax.crypto.*;
 import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.util.Objects;
@@ -79,10 +87,15 @@ public final class TripleDesUtil {
      */
     private static final String ENCRYPT_ALGORITHM = "DESede";
 
-    private static final String HEX_CHARS = "0123456789ABCDEF";
-
     private static final Logger LOGGER = LoggerFactory.getLogger(TripleDesUtil.class);
 
+    /**
+     * 线程缓存 {@link Cipher}, 避免每次调用都进行 Provider 查找.
+     * 每次使用前都会重新 init, 流式方法也在调用线程内同步使用该实例.
+     * 需要复用密钥时请使用 {@link TripleDesCipher}
+     */
+    private static final ThreadLocal<Cipher> CIPHER = new ThreadLocal<>();
+
     /**
      * 加密算法
      * <p>
@@ -103,7 +116,7 @@ public final class TripleDesUtil {
         SecretKey desKey = new SecretKeySpec(password.getBytes(StandardCharsets.UTF_8), ENCRYPT_ALGORITHM);
         //加密
         try {
-            Cipher cipher = Cipher.getInstance(ENCRYPT_ALGORITHM);
+            Cipher cipher = getCipher();
             cipher.init(Cipher.ENCRYPT_MODE, desKey);
             // 这里使用特定转16进制算法,不能在外部使用, 解码需要使用 hex2byte 方法
             return byte2hex(cipher.doFinal(data));
@@ -137,38 +150,163 @@ public final class TripleDesUtil {
             //生成密钥
             SecretKey desKey = new SecretKeySpec(password.getBytes(StandardCharsets.UTF_8), ENCRYPT_ALGORITHM);
             //解密
-            Cipher cipher = Cipher.getInstance(ENCRYPT_ALGORITHM);
+            Cipher cipher = getCipher();
             cipher.init(Cipher.DECRYPT_MODE, desKey);
             // 替换 :
             return new String(cipher.doFinal(Objects.requireNonNull(hex2byte(data.replace(":", "")))));
-        } catch (NoSuchAlgorithmException | NoSuchPaddingException | BadPaddingException | IllegalBlockSizeException | InvalidKeyException e) {
+        } catch (NoSuchAlgorithmException | NoSuchPaddingException | BadPaddingException | IllegalBlockSizeException
+                | InvalidKeyException | IllegalArgumentException e) {
             LOGGER.error(e.getMessage(), e);
         }
         return null;
     }
 
     /**
-     * 二进制转换成十六进制字符串
+     * 加密算法, 使用已创建的密钥上下文
+     * <p>
+     * 结果格式与 {@link #encryptMode(String, byte[])} 相同, 相同密钥多次加密时推荐使用该方法.
+     * <pre>{@code
+     *   TripleDesCipher cipher = TripleDesCipher.of(pwd);
+     *
+     *   String encrypt = TripleDesUtil.encryptMode(cipher, data.getByte(StandardCharsets.UTF_8);
+     * }</pre>
+     *
+     * @param cipher 密钥上下文
+     * @param data   被加密的数据
+     */
+    public static String encryptMode(TripleDesCipher cipher, byte[] data) {
+        return byte2hex(cipher.encrypt(data));
+    }
+
+    /**
+     * 解密算法, 使用已创建的密钥上下文
+     *
+     * @param cipher 密钥上下文
+     * @param data   被加密的数据
+     * @see #decryptMode(String, String)
+     */
+    public static String decryptMode(TripleDesCipher cipher, String data) {
+        if (StringUtils.isBlank(data)) {
+            return null;
+        }
+        try {
+            return new String(cipher.decrypt(hex2byte(data.replace(":", ""))));
+        } catch (IllegalArgumentException e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+        return null;
+    }
+
+    /**
+     * 文件加密, 流式处理, 输出为二进制密文(非十六进制), 内存占用与文件大小无关
+     * <p>
+     * 使用示例:
+     * <pre>{@code
+     *   TripleDesUtil.encrypt(pwd, Paths.get("export.xlsx"), Paths.get("export.xlsx.enc"));
+     *   TripleDesUtil.decrypt(pwd, Paths.get("export.xlsx.enc"), Paths.get("export.xlsx"));
+     * }</pre>
+     *
+     * @param password 加密密钥, 密码为8的倍数,请使用 24 位.
+     * @param source   明文文件
+     * @param target   密文文件, 存在时覆盖
+     * @return 写入的字节数
+     * @see TripleDesCipher#encrypt(ReadableByteChannel, WritableByteChannel)
+     */
+    public static long encrypt(String password, Path source, Path target) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            return TripleDesCipher.transform(initCipher(password, Cipher.ENCRYPT_MODE), in, out);
+        }
+    }
+
+    /**
+     * 文件解密, 只能解 {@link #encrypt(String, Path, Path)} 生成的密文
+     *
+     * @param password 加密密钥, 密码为8的倍数,请使用 24 位.
+     * @param source   密文文件
+     * @param target   明文文件, 存在时覆盖
+     * @return 写入的字节数
+     */
+    public static long decrypt(String password, Path source, Path target) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            return TripleDesCipher.transform(initCipher(password, Cipher.DECRYPT_MODE), in, out);
+        }
+    }
+
+    /**
+     * 流式加密, 输出为二进制密文, 流由调用方关闭
+     *
+     * @param password 加密密钥, 密码为8的倍数,请使用 24 位.
+     * @param in       明文输入流
+     * @param out      密文输出流
+     * @return 写入的字节数
+     * @see TripleDesCipher#encrypt(InputStream, OutputStream)
+     */
+    public static long encrypt(String password, InputStream in, OutputStream out) throws IOException {
+        return TripleDesCipher.transform(initCipher(password, Cipher.ENCRYPT_MODE), in, out);
+    }
+
+    /**
+     * 流式解密, 流由调用方关闭
+     *
+     * @param password 加密密钥, 密码为8的倍数,请使用 24 位.
+     * @param in       密文输入流
+     * @param out      明文输出流
+     * @return 写入的字节数
+     * @see TripleDesCipher#decrypt(InputStream, OutputStream)
+     */
+    public static long decrypt(String password, InputStream in, OutputStream out) throws IOException {
+        return TripleDesCipher.transform(initCipher(password, Cipher.DECRYPT_MODE), in, out);
+    }
+
+    /**
+     * 按密码初始化当前线程缓存的 {@link Cipher}
+     *
+     * @throws IllegalArgumentException 密钥长度不合法
+     */
+    private static Cipher initCipher(String password, int mode) {
+        try {
+            Cipher cipher = getCipher();
+            cipher.init(mode, new SecretKeySpec(password.getBytes(StandardCharsets.UTF_8), ENCRYPT_ALGORITHM));
+            return cipher;
+        } catch (InvalidKeyException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private static Cipher getCipher() throws NoSuchAlgorithmException, NoSuchPaddingException {
+        Cipher cipher = CIPHER.get();
+        if (cipher == null) {
+            cipher = Cipher.getInstance(ENCRYPT_ALGORITHM);
+            CIPHER.set(cipher);
+        }
+        return cipher;
+    }
+
+    /**
+     * 二进制转换成十六进制字符串, 每个字节以 <span>:</span> 分隔
      *
      * @param b 数据
      * @return 十六进制数据
      */
     private static String byte2hex(byte[] b) {
-        String tmp;
-        StringBuilder builder = new StringBuilder();
+        if (b.length == 0) {
+            return "";
+        }
+        char[] chars = new char[b.length * 3 - 1];
         for (int n = 0; n < b.length; n++) {
-            tmp = (Integer.toHexString(b[n] & 0XFF));
-            if (tmp.length() == 1) {
-                builder.append("0").append(tmp);
-            } else {
-                builder.append(tmp);
-            }
+            HexCodec.encode(b, n, 1, chars, n * 3, true);
             // 补 :
             if (n < b.length - 1) {
-                builder.append(":");
+                chars[n * 3 + 2] = ':';
             }
         }
-        return builder.toString().toUpperCase();
+        return new String(chars);
     }
 
     /**
@@ -181,18 +319,6 @@ public final class TripleDesUtil {
         if (StringUtils.isBlank(hexStr)) {
             return null;
         }
-        hexStr = hexStr.toUpperCase();
-        int length = hexStr.length() / 2;
-        char[] hexChars = hexStr.toCharArray();
-        byte[] d = new byte[length];
-        for (int i = 0; i < length; i++) {
-            int pos = i * 2;
-            d[i] = (byte) (charToByte(hexChars[pos]) << 4 | charToByte(hexChars[pos + 1]));
-        }
-        return d;
-    }
-
-    private static byte charToByte(char c) {
-        return (byte) HEX_CHARS.indexOf(c);
+        return HexCodec.decodeHex(hexStr);
     }
 }
\ No newline at end of file
@@ -1,11 +1,13 @@
 package com.mingrn.itumate.commons.utils.file;
 
+import com.aliyun.oss.ClientBuilderConfiguration;
 import com.aliyun.oss.OSS;
 import com.aliyun.oss.OSSClientBuilder;
-import com.aliyun.oss.common.comm.ResponseMessage;
+import com.aliyun.oss.OSSException;
 import com.aliyun.oss.model.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.EnvironmentAware;
 import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
@@ -13,11 +15,27 @@ import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
 import javax.validation.constraints.NotNull;
+import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 阿里云 OSS 工具类
@@ -29,11 +47,15 @@ import java.util.Objects;
  * 注意: 在使用时应将该工具类注册为 bean, 如使用 <code>@ComponentScan</code> 组件
  * 进行扫描该包.
  *
+ * <br>所有方法共用同一个 {@link OSS} 客户端({@link #getClient()}), 首次使用时按
+ * {@code aliyun.oss.*} 配置的连接池大小、超时与空闲连接回收时间创建, 随 bean 销毁而关闭,
+ * 避免每次调用都重新建立连接池与 TLS 握手.
+ *
  * @author MinGRn <br > MinGRn97@gmail.com
  * @date 2019/10/11 13:06
  */
 @Component
-public class AliyunOSSUtil implements EnvironmentAware {
+public class AliyunOSSUtil implements EnvironmentAware, DisposableBean {
 
     private AliyunOSSUtil() {
     }
@@ -49,6 +71,35 @@ public class AliyunOSSUtil implements EnvironmentAware {
     /** 防盗链, 即访问白名单, 如 https://*.example.com */
     private static List<String> bucketRefererList = null;
 
+    /** 连接池最大连接数 */
+    private static int maxConnections = 128;
+    /** 建立连接超时时间(毫秒) */
+    private static int connectionTimeout = 5000;
+    /** 读取数据超时时间(毫秒) */
+    private static int socketTimeout = 30000;
+    /** 从连接池获取连接的超时时间(毫秒) */
+    private static int connectionRequestTimeout = 5000;
+    /** 空闲连接超过该时间(毫秒)后被回收 */
+    private static long idleConnectionTime = 60000L;
+    /** 请求失败最大重试次数 */
+    private static int maxErrorRetry = 3;
+
+    /** 共享的 OSS 客户端, 延迟创建 */
+    private static volatile OSS client = null;
+
+    /** bucket 存在性检查结果的缓存时间(毫秒) */
+    private static long bucketCheckTtl = 300000L;
+    /** 是否输出 bucket 信息、上传响应等诊断日志, 会产生额外请求 */
+    private static boolean verbose = false;
+    /** 已确认存在的 bucket 及其缓存过期时间(System.nanoTime) */
+    private static final Map<String, Long> CHECKED_BUCKETS = new ConcurrentHashMap<>();
+
+    /** OSS 错误码: bucket 不存在 */
+    private static final String NO_SUCH_BUCKET = "NoSuchBucket";
+
+    /** 流式下载缓冲区大小 */
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(AliyunOSSUtil.class);
 
     @SuppressWarnings("unchecked")
@@ -59,6 +110,69 @@ public class AliyunOSSUtil implements EnvironmentAware {
         accessKeyId = environment.getProperty("aliyun.oss.accessKeyId");
         accessKeySecret = environment.getProperty("aliyun.oss.accessKeySecret");
         bucketRefererList = environment.getProperty("aliyun.oss.bucketReferer", List.class);
+        maxConnections = environment.getProperty("aliyun.oss.maxConnections", Integer.class, maxConnections);
+        connectionTimeout = environment.getProperty("aliyun.oss.connectionTimeout", Integer.class, connectionTimeout);
+        socketTimeout = environment.getProperty("aliyun.oss.socketTimeout", Integer.class, socketTimeout);
+        connectionRequestTimeout = environment.getProperty("aliyun.oss.connectionRequestTimeout", Integer.class, connectionRequestTimeout);
+        idleConnectionTime = environment.getProperty("aliyun.oss.idleConnectionTime", Long.class, idleConnectionTime);
+        maxErrorRetry = environment.getProperty("aliyun.oss.maxErrorRetry", Integer.class, maxErrorRetry);
+        bucketCheckTtl = environment.getProperty("aliyun.oss.bucketCheckTtl", Long.class, bucketCheckTtl);
+        verbose = environment.getProperty("aliyun.oss.verbose", Boolean.class, verbose);
+        // 配置变更后下次调用按新配置重建客户端
+        shutdownClient();
+    }
+
+    /**
+     * bean 销毁时关闭共享客户端
+     */
+    @Override
+    public void destroy() {
+        shutdownClient();
+    }
+
+    /**
+     * 获取共享的 OSS 客户端
+     *
+     * <br>客户端线程安全, 调用方不应调用 {@link OSS#shutdown()}, 其生命周期由本类管理.
+     *
+     * @return {@link OSS}
+     */
+    public static OSS getClient() {
+        OSS oss = client;
+        if (oss == null) {
+            synchronized (AliyunOSSUtil.class) {
+                oss = client;
+                if (oss == null) {
+                    checkedOssEnvironment();
+                    ClientBuilderConfiguration configuration = new ClientBuilderConfiguration();
+                    configuration.setMaxConnections(maxConnections);
+                    configuration.setConnectionTimeout(connectionTimeout);
+                    configuration.setSocketTimeout(socketTimeout);
+                    configuration.setConnectionRequestTimeout(connectionRequestTimeout);
+                    configuration.setIdleConnectionTime(idleConnectionTime);
+                    configuration.setMaxErrorRetry(maxErrorRetry);
+                    client = oss = new OSSClientBuilder().build(endpoint, accessKeyId, accessKeySecret, configuration);
+                    LOGGER.info(">>>>>>>>>> 阿里云OSS客户端已创建, Endpoint[{}], 最大连接数[{}] <<<<<<<<<<", endpoint, maxConnections);
+                }
+            }
+        }
+        return oss;
+    }
+
+    /**
+     * 关闭共享客户端, 下次调用 {@link #getClient()} 时重新创建
+     */
+    public static void shutdownClient() {
+        OSS oss;
+        synchronized (AliyunOSSUtil.class) {
+            oss = client;
+            client = null;
+            CHECKED_BUCKETS.clear();
+        }
+        if (oss != null) {
+            oss.shutdown();
+            LOGGER.info(">>>>>>>>>> 阿里云OSS客户端已关闭 <<<<<<<<<<");
+        }
     }
 
     /**
@@ -86,15 +200,7 @@ public class AliyunOSSUtil implements EnvironmentAware {
      */
     public static boolean createBucket(@NotNull String bucketName) {
         LOGGER.info(">>>>>>>>>> 请求创建阿里云OSS Bucket[{}] <<<<<<<<<<", bucketName);
-        LOGGER.info(">>>>>>>>>> 正在请求登录阿里云OSS <<<<<<<<<<");
-        OSS oss = new OSSClientBuilder().build(endpoint, accessKeyId, accessKeySecret);
-        try {
-            checkedOssEnvironment();
-            return createBucket(oss, new CreateBucketRequest(bucketName));
-        } finally {
-            oss.shutdown();
-            LOGGER.info(">>>>>>>>>> 阿里云OSS Bucket[{}] 创建完成, 关闭连接 <<<<<<<<<<", bucketName);
-        }
+        return createBucket(getClient(), new CreateBucketRequest(bucketName));
     }
 
     public static boolean createBucket(OSS oss, CreateBucketRequest request) {
@@ -107,7 +213,8 @@ public class AliyunOSSUtil implements EnvironmentAware {
             throw new IllegalArgumentException("阿里云 bucketName 不能为空");
         }
 
-        if (!oss.doesBucketExist(request.getBucketName())) {
+        boolean exists = oss.doesBucketExist(request.getBucketName());
+        if (!exists) {
             LOGGER.info("阿里云OSS Bucket[{}] 不存在, 进行创建 Bucket: {}", request.getBucketName(), request.getBucketName());
             // 创建 bucket
             oss.createBucket(request);
@@ -115,10 +222,38 @@ public class AliyunOSSUtil implements EnvironmentAware {
             setBucketReferer(oss, request.getBucketName());
             // 设置访问权限
             setBucketAcl(oss, request.getBucketName(), controlList);
+            exists = oss.doesBucketExist(request.getBucketName());
         } else {
             LOGGER.info("阿里云OSS Bucket[{}] 已存在, 无需进行创建", request.getBucketName());
         }
-        return oss.doesBucketExist(bucketName);
+        return exists;
+    }
+
+    /**
+     * 确认 bucket 存在, 不存在时创建
+     *
+     * <br>检查结果缓存 {@code aliyun.oss.bucketCheckTtl} 毫秒, 缓存期内不再发起请求.
+     *
+     * @param oss        {@link OSS}
+     * @param bucketName 文件存储容器, 三级域名
+     */
+    public static void ensureBucket(OSS oss, String bucketName) {
+        Long expireAt = CHECKED_BUCKETS.get(bucketName);
+        if (expireAt != null && expireAt - System.nanoTime() > 0) {
+            return;
+        }
+        if (createBucket(oss, new CreateBucketRequest(bucketName))) {
+            CHECKED_BUCKETS.put(bucketName, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(bucketCheckTtl));
+        }
+    }
+
+    /**
+     * 使 bucket 存在性缓存失效, 例如 bucket 被外部删除后
+     *
+     * @param bucketName 文件存储容器, 三级域名
+     */
+    public static void evictBucket(String bucketName) {
+        CHECKED_BUCKETS.remove(bucketName);
     }
 
     /**
@@ -138,15 +273,7 @@ public class AliyunOSSUtil implements EnvironmentAware {
 
     public static boolean setBucketReferer(String bucketName) {
         LOGGER.info(">>>>>>>>>> 请求设置阿里云OSS Bucket[{}] 防盗链 <<<<<<<<<<", bucketName);
-        LOGGER.info(">>>>>>>>>> 正在请求登录阿里云OSS <<<<<<<<<<");
-        OSS oss = new OSSClientBuilder().build(endpoint, accessKeyId, accessKeySecret);
-        try {
-            checkedOssEnvironment();
-            return setBucketReferer(oss, bucketName);
-        } finally {
-            oss.shutdown();
-            LOGGER.info(">>>>>>>>>> 阿里云OSS文件上传完成, 关闭连接 <<<<<<<<<<");
-        }
+        return setBucketReferer(getClient(), bucketName);
     }
 
     public static boolean setBucketReferer(OSS oss, String bucketName) {
@@ -177,15 +304,8 @@ public class AliyunOSSUtil implements EnvironmentAware {
      */
     public static void setBucketAcl(){
         LOGGER.info(">>>>>>>>>> 请求设置阿里云OSS Bucket[{}] 访问权限 <<<<<<<<<<", bucketName);
-        LOGGER.info(">>>>>>>>>> 正在请求登录阿里云OSS <<<<<<<<<<");
-        OSS oss = new OSSClientBuilder().build(endpoint, accessKeyId, accessKeySecret);
-        try {
-            checkedOssEnvironment();
-            setBucketAcl(oss, bucketName);
-        } finally {
-            oss.shutdown();
-            LOGGER.info(">>>>>>>>>> 阿里云OSS bucket[{}] 权限设置完成, 关闭连接 <<<<<<<<<<", bucketName);
-        }
+        setBucketAcl(getClient(), bucketName);
+        LOGGER.info(">>>>>>>>>> 阿里云OSS bucket[{}] 权限设置完成 <<<<<<<<<<", bucketName);
     }
 
     public static void setBucketAcl(OSS oss, String bucketName){
@@ -217,14 +337,7 @@ public class AliyunOSSUtil implements EnvironmentAware {
     @Deprecated
     public static boolean deleteBucket(@NotNull String bucketName) {
         LOGGER.info(">>>>>>>>>> 请求删除阿里云OSS Bucket[{}] <<<<<<<<<<", bucketName);
-        LOGGER.info(">>>>>>>>>> 正在请求登录阿里云OSS <<<<<<<<<<");
-        OSS oss = new OSSClientBuilder().build(endpoint, accessKeyId, accessKeySecret);
-        try {
-            checkedOssEnvironment();
-            return deleteBucket(oss, bucketName);
-        } finally {
-            oss.shutdown();
-        }
+        return deleteBucket(getClient(), bucketName);
     }
 
     private static boolean deleteBucket(OSS oss, @NotNull String bucketName) {
@@ -279,40 +392,420 @@ public class AliyunOSSUtil implements EnvironmentAware {
      * @see #putObject(String, InputStream)
      */
     public static String putObject(@NotNull String bucketName, @NotNull String objectName, ObjectMetadata metadata, InputStream file) {
+        return uploadObject(bucketName, objectName, metadata, file).getUrl();
+    }
+
+    /**
+     * 阿里云文件上传, 返回文件地址与 ETag
+     *
+     * @param objectName 文件名
+     * @param file       文件流
+     * @return {@link OSSUploadResult}
+     * @see #uploadObject(String, String, ObjectMetadata, InputStream)
+     */
+    public static OSSUploadResult uploadObject(@NotNull String objectName, InputStream file) {
+        return uploadObject(bucketName, objectName, null, file);
+    }
+
+    /**
+     * 阿里云文件上传, 返回文件地址与 ETag
+     *
+     * <br>bucket 存在性检查结果会被缓存(见 {@link #ensureBucket(OSS, String)}), 上传结果直接取自
+     * {@link PutObjectResult}, 正常情况下一次上传只有一次 HTTP 请求.
+     * 配置 {@code aliyun.oss.verbose=true} 时会额外查询并输出 bucket 信息与文件元数据, 便于排查问题.
+     *
+     * @param bucketName 文件存储容器, 三级域名
+     * @param objectName 文件名
+     * @param metadata   自定义原数据信息, 可为空
+     * @param file       文件流
+     * @return {@link OSSUploadResult}
+     */
+    public static OSSUploadResult uploadObject(@NotNull String bucketName, @NotNull String objectName, ObjectMetadata metadata, InputStream file) {
+        return uploadObject(getClient(), bucketName, objectName, metadata, file);
+    }
+
+    public static OSSUploadResult uploadObject(OSS oss, @NotNull String bucketName, @NotNull String objectName, ObjectMetadata metadata, InputStream file) {
 
         if (StringUtils.isEmpty(objectName)) {
             throw new IllegalArgumentException("阿里云OSS文件名 [" + objectName + "] 不能为空");
         }
 
-        LOGGER.info(">>>>>>>>>> 请求阿里云OSS文件上传 <<<<<<<<<<");
-        checkedOssEnvironment();
-        LOGGER.info(">>>>>>>>>> 正在请求登录阿里云OSS <<<<<<<<<<");
-        OSS oss = new OSSClientBuilder().build(endpoint, accessKeyId, accessKeySecret);
+        ensureBucket(oss, bucketName);
+        if (verbose) {
+            logBucketInfo(oss, bucketName);
+        }
+
+        PutObjectResult result;
         try {
-            LOGGER.info(">>>>>>>>>> 正在检查 Bucket[ {} ] <<<<<<<<<<", bucketName);
-            createBucket(oss, new CreateBucketRequest(bucketName));
-            BucketInfo info = oss.getBucketInfo(bucketName);
-            LOGGER.info(">>>>>>>>>> 阿里云 Bucket[ {} ] 信息如下：<<<<<<<<<<", bucketName);
-            LOGGER.info(">>>>>>>>>> 数据中心: {}", info.getBucket().getLocation());
-            LOGGER.info(">>>>>>>>>> 创建时间: {}", info.getBucket().getCreationDate());
-            LOGGER.info(">>>>>>>>>> 用户标志: {}", info.getBucket().getOwner());
-
-            oss.putObject(bucketName, objectName, file, metadata);
+            result = oss.putObject(bucketName, objectName, file, metadata);
+        } catch (OSSException e) {
+            if (NO_SUCH_BUCKET.equals(e.getErrorCode())) {
+                evictBucket(bucketName);
+            }
+            throw e;
+        }
+
+        OSSUploadResult upload = new OSSUploadResult(bucketName, objectName, getObjectUrl(bucketName, objectName),
+                result.getETag(), result.getRequestId());
+        if (verbose) {
+            ObjectMetadata uploaded = oss.getObjectMetadata(bucketName, objectName);
             LOGGER.info(">>>>>>>>>> 阿里云OSS Bucket[{}] 上传文件[{}] 执行完成, 响应信息如下: <<<<<<<<<<", bucketName, objectName);
+            LOGGER.info(">>>>>>>>>> 请求标识  : {} ", result.getRequestId());
+            LOGGER.info(">>>>>>>>>> 文件ETag : {} ", result.getETag());
+            LOGGER.info(">>>>>>>>>> 文件流长度: {} ", uploaded.getContentLength());
+            LOGGER.info(">>>>>>>>>> 文件Url  : {} ", upload.getUrl());
+        } else {
+            LOGGER.debug("阿里云OSS Bucket[{}] 上传文件[{}] 完成, ETag[{}]", bucketName, objectName, result.getETag());
+        }
+        return upload;
+    }
 
-            OSSObject ossObject = oss.getObject(bucketName, objectName);
-            ResponseMessage msg = ossObject.getResponse();
+    /**
+     * 阿里云本地文件上传, 使用默认传输参数 {@link OSSTransferOptions#DEFAULT}
+     *
+     * @param file       本地文件
+     * @param objectName 文件名
+     * @return {@link OSSUploadResult}
+     * @see #uploadFile(String, String, Path, ObjectMetadata, OSSTransferOptions)
+     */
+    public static OSSUploadResult uploadFile(@NotNull File file, @NotNull String objectName) throws IOException {
+        return uploadFile(file.toPath(), objectName);
+    }
 
-            LOGGER.info(">>>>>>>>>> 上传状态  : {} ", msg.isSuccessful() ? "成功" : "失败");
-            LOGGER.info(">>>>>>>>>> 响应状态码: {} ", msg.getStatusCode());
-            LOGGER.info(">>>>>>>>>> 文件流长度: {} ", msg.getContentLength());
-            LOGGER.info(">>>>>>>>>> 文件Url  : {} ", msg.getUri());
+    /**
+     * 阿里云本地文件上传, 使用默认传输参数 {@link OSSTransferOptions#DEFAULT}
+     *
+     * @param file       本地文件
+     * @param objectName 文件名
+     * @return {@link OSSUploadResult}
+     * @see #uploadFile(String, String, Path, ObjectMetadata, OSSTransferOptions)
+     */
+    public static OSSUploadResult uploadFile(@NotNull Path file, @NotNull String objectName) throws IOException {
+        return uploadFile(bucketName, objectName, file, null, OSSTransferOptions.DEFAULT);
+    }
 
-            return msg.getUri();
-        } finally {
-            oss.shutdown();
-            LOGGER.info(">>>>>>>>>> 阿里云OSS文件上传完成, 关闭连接 <<<<<<<<<<");
+    /**
+     * 阿里云本地文件分片上传
+     *
+     * <br>文件不超过一个分片时直接上传; 否则按 {@link OSSTransferOptions#getPartSize()} 切分,
+     * 最多 {@link OSSTransferOptions#getParallelism()} 个分片同时上传, 每个分片直接从文件对应位置读取,
+     * 不会将整个文件载入内存.
+     * <p>
+     * 开启断点续传(默认)时每完成一个分片即写入断点文件, 上传中断(网络异常、进程退出)后以相同参数再次调用,
+     * 只会上传未完成的分片; 本地文件被修改或分片上传任务已在 OSS 上过期时自动重新上传.
+     * 关闭断点续传时上传失败会取消分片上传任务, 释放 OSS 上已上传的分片.
+     *
+     * @param bucketName 文件存储容器, 三级域名
+     * @param objectName 文件名
+     * @param file       本地文件
+     * @param metadata   自定义原数据信息, 可为空
+     * @param options    传输参数, 为空时使用 {@link OSSTransferOptions#DEFAULT}
+     * @return {@link OSSUploadResult}
+     * @throws IOException 读取本地文件或写入断点文件失败, 以及分片上传线程被中断
+     */
+    public static OSSUploadResult uploadFile(@NotNull String bucketName, @NotNull String objectName, @NotNull Path file,
+                                             ObjectMetadata metadata, OSSTransferOptions options) throws IOException {
+        return uploadFile(getClient(), bucketName, objectName, file, metadata, options);
+    }
+
+    public static OSSUploadResult uploadFile(OSS oss, @NotNull String bucketName, @NotNull String objectName, @NotNull Path file,
+                                             ObjectMetadata metadata, OSSTransferOptions options) throws IOException {
+
+        if (StringUtils.isEmpty(objectName)) {
+            throw new IllegalArgumentException("阿里云OSS文件名 [" + objectName + "] 不能为空");
+        }
+        if (options == null) {
+            options = OSSTransferOptions.DEFAULT;
         }
+
+        long length = Files.size(file);
+        if (length <= options.getPartSize()) {
+            try (InputStream in = Files.newInputStream(file)) {
+                return uploadObject(oss, bucketName, objectName, metadata, in);
+            }
+        }
+
+        ensureBucket(oss, bucketName);
+        try {
+            return new OSSMultipartUpload(oss, bucketName, objectName, file, metadata, options).upload();
+        } catch (OSSException e) {
+            if (NO_SUCH_BUCKET.equals(e.getErrorCode())) {
+                evictBucket(bucketName);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 阿里云批量上传本地文件, 使用默认传输参数 {@link OSSTransferOptions#DEFAULT}
+     *
+     * @param files 文件名 -> 本地文件
+     * @return 每个文件的上传结果, 顺序与 files 的迭代顺序一致
+     * @see #putObjects(String, Map, OSSTransferOptions)
+     */
+    public static List<OSSBatchUploadResult> putObjects(@NotNull Map<String, Path> files) throws IOException {
+        return putObjects(bucketName, files, OSSTransferOptions.DEFAULT);
+    }
+
+    /**
+     * 阿里云批量上传本地文件
+     *
+     * <br>每个文件按 {@link #uploadFile(String, String, Path, ObjectMetadata, OSSTransferOptions)} 上传(大文件仍分片上传).
+     * {@link OSSTransferOptions#getParallelism()} 是整批上传的连接数上限: 同时上传 min(parallelism, 文件数) 个文件,
+     * 每个文件的分片并发为 parallelism / 同时上传的文件数(至少为 1), 因此总并发请求数不超过 parallelism,
+     * 而不是 parallelism 的平方.
+     * 单个文件失败不影响其他文件, 失败原因记录在对应的 {@link OSSBatchUploadResult} 中.
+     * {@link OSSTransferOptions#getListener()} 按文件汇报整体进度, 进度中的分片数即文件数.
+     *
+     * @param bucketName 文件存储容器, 三级域名
+     * @param files      文件名 -> 本地文件
+     * @param options    传输参数, 为空时使用 {@link OSSTransferOptions#DEFAULT}
+     * @return 每个文件的上传结果, 顺序与 files 的迭代顺序一致
+     * @throws IOException 上传线程被中断
+     */
+    public static List<OSSBatchUploadResult> putObjects(@NotNull String bucketName, @NotNull Map<String, Path> files,
+                                                        OSSTransferOptions options) throws IOException {
+        return putObjects(getClient(), bucketName, files, options);
+    }
+
+    public static List<OSSBatchUploadResult> putObjects(OSS oss, @NotNull String bucketName, @NotNull Map<String, Path> files,
+                                                        OSSTransferOptions options) throws IOException {
+
+        OSSTransferOptions batch = options == null ? OSSTransferOptions.DEFAULT : options;
+        List<Map.Entry<String, Path>> entries = new ArrayList<>(files.entrySet());
+        // 连接数在文件之间分配, 总数不超过 parallelism
+        int concurrentFiles = Math.max(1, Math.min(batch.getParallelism(), entries.size()));
+        // 单个文件的分片上传使用各自的临时线程池, 避免占满调用方线程池后相互等待
+        OSSTransferOptions item = batch.toBuilder().executor(null).listener(null)
+                .parallelism(Math.max(1, batch.getParallelism() / concurrentFiles)).build();
+        ensureBucket(oss, bucketName);
+
+        OSSBatchUploadResult[] results = new OSSBatchUploadResult[entries.size()];
+        long totalBytes = 0;
+        for (Map.Entry<String, Path> entry : entries) {
+            File file = entry.getValue().toFile();
+            totalBytes += file.length();
+        }
+        long total = totalBytes;
+        long start = System.nanoTime();
+        AtomicLong transferred = new AtomicLong();
+        AtomicInteger completed = new AtomicInteger();
+        OSSTransferListener listener = batch.getListener();
+
+        ParallelTasks.execute(results.length, concurrentFiles, batch.getExecutor(), index -> {
+            String objectName = entries.get(index).getKey();
+            Path file = entries.get(index).getValue();
+            try {
+                OSSUploadResult result = uploadFile(oss, bucketName, objectName, file, null, item);
+                results[index] = new OSSBatchUploadResult(objectName, file, result, null);
+                transferred.addAndGet(file.toFile().length());
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warn("阿里云OSS批量上传 Bucket[{}] 文件[{}] 失败: {}", bucketName, objectName, e.toString());
+                results[index] = new OSSBatchUploadResult(objectName, file, null, e);
+            }
+            int done = completed.incrementAndGet();
+            if (listener != null) {
+                listener.onProgress(new OSSTransferProgress(bucketName, total, transferred.get(), transferred.get(),
+                        results.length, done, System.nanoTime() - start));
+            }
+        });
+
+        List<OSSBatchUploadResult> list = Arrays.asList(results);
+        LOGGER.info("阿里云OSS批量上传 Bucket[{}] 完成: {} 个文件, 失败 {} 个, 耗时 {} ms", bucketName, results.length,
+                list.stream().filter(result -> !result.isSuccess()).count(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return list;
+    }
+
+
+    /**
+     * 阿里云文件下载, 将文件内容写入输出流
+     *
+     * @param objectName 文件名
+     * @param out        输出流, 由调用方关闭
+     * @return 文件元数据
+     * @see #getObject(String, String, long, long, OutputStream)
+     */
+    public static ObjectMetadata getObject(@NotNull String objectName, OutputStream out) throws IOException {
+        return getObject(bucketName, objectName, 0, -1, out);
+    }
+
+    /**
+     * 阿里云文件下载, 将文件内容写入输出流
+     *
+     * @param bucketName 文件存储容器, 三级域名
+     * @param objectName 文件名
+     * @param out        输出流, 由调用方关闭
+     * @return 文件元数据
+     * @see #getObject(String, String, long, long, OutputStream)
+     */
+    public static ObjectMetadata getObject(@NotNull String bucketName, @NotNull String objectName, OutputStream out) throws IOException {
+        return getObject(bucketName, objectName, 0, -1, out);
+    }
+
+    /**
+     * 阿里云文件下载, 以 HTTP Range 读取文件的一部分并写入输出流
+     *
+     * <br>文件内容边读边写, 不会整体载入内存. 区间为闭区间 [start, end], end 为 -1 时读取到文件末尾.
+     * 注意: 按 OSS 规则, 区间不合法(如 start 超出文件大小)时返回整个文件.
+     *
+     * @param bucketName 文件存储容器, 三级域名
+     * @param objectName 文件名
+     * @param start      起始位置
+     * @param end        结束位置(包含), -1 表示文件末尾
+     * @param out        输出流, 由调用方关闭
+     * @return 本次响应的元数据, 其 ContentLength 为实际返回的字节数
+     */
+    public static ObjectMetadata getObject(@NotNull String bucketName, @NotNull String objectName, long start, long end,
+                                           OutputStream out) throws IOException {
+        return getObject(getClient(), bucketName, objectName, start, end, out);
+    }
+
+    public static ObjectMetadata getObject(OSS oss, @NotNull String bucketName, @NotNull String objectName, long start, long end,
+                                           OutputStream out) throws IOException {
+        try (OSSObject object = oss.getObject(rangeRequest(bucketName, objectName, start, end))) {
+            InputStream in = object.getObjectContent();
+            byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return object.getObjectMetadata();
+        }
+    }
+
+    /**
+     * 阿里云文件下载, 以 HTTP Range 读取文件的一部分并写入文件通道的指定位置
+     *
+     * <br>使用按位置写入, 不改变 channel 的当前位置, 多个线程可以向同一 channel 的不同位置写入.
+     *
+     * @param bucketName 文件存储容器, 三级域名
+     * @param objectName 文件名
+     * @param start      起始位置
+     * @param end        结束位置(包含), -1 表示文件末尾
+     * @param channel    文件通道, 由调用方关闭
+     * @param position   写入位置
+     * @return 写入的字节数
+     * @see #getObject(String, String, long, long, OutputStream)
+     */
+    public static long getObject(@NotNull String bucketName, @NotNull String objectName, long start, long end,
+                                 FileChannel channel, long position) throws IOException {
+        return getObject(getClient(), bucketName, objectName, start, end, channel, position);
+    }
+
+    public static long getObject(OSS oss, @NotNull String bucketName, @NotNull String objectName, long start, long end,
+                                 FileChannel channel, long position) throws IOException {
+        try (OSSObject object = oss.getObject(rangeRequest(bucketName, objectName, start, end))) {
+            return OSSRangedDownload.transfer(object.getObjectContent(), channel, position);
+        }
+    }
+
+    private static GetObjectRequest rangeRequest(String bucketName, String objectName, long start, long end) {
+        if (StringUtils.isEmpty(objectName)) {
+            throw new IllegalArgumentException("阿里云OSS文件名 [" + objectName + "] 不能为空");
+        }
+        if (start < 0 || (end != -1 && end < start)) {
+            throw new IllegalArgumentException("Invalid range [" + start + ", " + end + "]");
+        }
+        GetObjectRequest request = new GetObjectRequest(bucketName, objectName);
+        if (start > 0 || end != -1) {
+            request.setRange(start, end);
+        }
+        return request;
+    }
+
+    /**
+     * 阿里云文件下载到本地, 使用默认传输参数 {@link OSSTransferOptions#DEFAULT}
+     *
+     * @param objectName 文件名
+     * @param file       本地文件, 已存在时覆盖
+     * @return 文件元数据
+     * @see #downloadFile(String, String, Path, OSSTransferOptions)
+     */
+    public static ObjectMetadata downloadFile(@NotNull String objectName, @NotNull Path file) throws IOException {
+        return downloadFile(bucketName, objectName, file, OSSTransferOptions.DEFAULT);
+    }
+
+    /**
+     * 阿里云文件分片并发下载到本地
+     *
+     * <br>按 {@link OSSTransferOptions#getPartSize()} 将文件划分为若干区间, 最多
+     * {@link OSSTransferOptions#getParallelism()} 个区间同时下载, 直接写入预分配的临时文件对应位置,
+     * 全部完成后替换目标文件; 下载失败时删除临时文件, 目标文件保持不变.
+     * 临时文件按 umask 创建, 目标文件已存在时沿用其 POSIX 权限.
+     * 断点相关参数仅用于上传, 下载时忽略.
+     *
+     * @param bucketName 文件存储容器, 三级域名
+     * @param objectName 文件名
+     * @param file       本地文件, 已存在时覆盖
+     * @param options    传输参数, 为空时使用 {@link OSSTransferOptions#DEFAULT}
+     * @return 文件元数据
+     * @throws IOException 写入本地文件失败、响应内容不完整或下载线程被中断
+     */
+    public static ObjectMetadata downloadFile(@NotNull String bucketName, @NotNull String objectName, @NotNull Path file,
+                                              OSSTransferOptions options) throws IOException {
+        return downloadFile(getClient(), bucketName, objectName, file, options);
+    }
+
+    public static ObjectMetadata downloadFile(OSS oss, @NotNull String bucketName, @NotNull String objectName, @NotNull Path file,
+                                              OSSTransferOptions options) throws IOException {
+
+        if (StringUtils.isEmpty(objectName)) {
+            throw new IllegalArgumentException("阿里云OSS文件名 [" + objectName + "] 不能为空");
+        }
+        return new OSSRangedDownload(oss, bucketName, objectName, file,
+                options == null ? OSSTransferOptions.DEFAULT : options).download();
+    }
+
+    /**
+     * 获取文件访问地址, 形如 {@code http(s)://bucketName.endpoint/objectName}
+     *
+     * <br>协议取自 {@code aliyun.oss.endpoint}, 未指定时与 SDK 默认协议一致使用 http.
+     * <br>按虚拟主机方式拼接, 要求 endpoint 为 OSS 地域域名(如 {@code oss-cn-hangzhou.aliyuncs.com});
+     * CNAME 自定义域名、IP 或 path-style 的 endpoint 拼接出的地址无法访问, 需自行生成.
+     *
+     * @param bucketName 文件存储容器, 三级域名
+     * @param objectName 文件名
+     * @return 文件地址, 未配置 {@code aliyun.oss.endpoint} 时(如只使用 {@code (OSS oss, ...)} 重载)返回 {@code null}
+     */
+    public static String getObjectUrl(String bucketName, String objectName) {
+        String host = endpoint;
+        if (StringUtils.isEmpty(host)) {
+            return null;
+        }
+        String scheme = "http";
+        int index = host.indexOf("://");
+        if (index > 0) {
+            scheme = host.substring(0, index);
+            host = host.substring(index + 3);
+        }
+        if (host.endsWith("/")) {
+            host = host.substring(0, host.length() - 1);
+        }
+        return scheme + "://" + bucketName + "." + host + "/" + encodeObjectName(objectName);
+    }
+
+    /**
+     * 按 OSS 规则编码文件名, 保留路径分隔符
+     */
+    private static String encodeObjectName(String objectName) {
+        try {
+            return URLEncoder.encode(objectName, StandardCharsets.UTF_8.name())
+                    .replace("+", "%20").replace("*", "%2A").replace("%7E", "~").replace("%2F", "/");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 输出 bucket 信息, 仅在 {@code aliyun.oss.verbose=true} 时调用
+     */
+    private static void logBucketInfo(OSS oss, String bucketName) {
+        BucketInfo info = oss.getBucketInfo(bucketName);
+        LOGGER.info(">>>>>>>>>> 阿里云 Bucket[ {} ] 信息如下：<<<<<<<<<<", bucketName);
+        LOGGER.info(">>>>>>>>>> 数据中心: {}", info.getBucket().getLocation());
+        LOGGER.info(">>>>>>>>>> 创建时间: {}", info.getBucket().getCreationDate());
+        LOGGER.info(">>>>>>>>>> 用户标志: {}", info.getBucket().getOwner());
     }
 
     /**
@@ -330,31 +823,82 @@ public class AliyunOSSUtil implements EnvironmentAware {
         }
 
         LOGGER.info(">>>>>>>>>> 请求删除阿里云OSS文件 <<<<<<<<<<");
-        checkedOssEnvironment();
-        LOGGER.info(">>>>>>>>>> 正在请求登录阿里云OSS <<<<<<<<<<");
-        OSS oss = new OSSClientBuilder().build(endpoint, accessKeyId, accessKeySecret);
-        try {
-            if (!oss.doesObjectExist(bucketName, objectName)) {
-                LOGGER.info(">>>>>>>>>> 阿里云OSS Bucket[{}] 文件[{}] 不存在, 无需进行删除 <<<<<<<<<<", bucketName, objectName);
-                return true;
-            }
+        OSS oss = getClient();
+        if (!oss.doesObjectExist(bucketName, objectName)) {
+            LOGGER.info(">>>>>>>>>> 阿里云OSS Bucket[{}] 文件[{}] 不存在, 无需进行删除 <<<<<<<<<<", bucketName, objectName);
+            return true;
+        }
 
-            LOGGER.info(">>>>>>>>>> 正在检查 Bucket[ {} ] <<<<<<<<<<", bucketName);
-            createBucket(oss, new CreateBucketRequest(bucketName));
-            BucketInfo info = oss.getBucketInfo(bucketName);
-            LOGGER.info(">>>>>>>>>> 阿里云 Bucket[ {} ] 信息如下：<<<<<<<<<<", bucketName);
-            LOGGER.info(">>>>>>>>>> 数据中心: {}", info.getBucket().getLocation());
-            LOGGER.info(">>>>>>>>>> 创建时间: {}", info.getBucket().getCreationDate());
-            LOGGER.info(">>>>>>>>>> 用户标志: {}", info.getBucket().getOwner());
+        if (verbose) {
+            logBucketInfo(oss, bucketName);
+        }
 
-            oss.deleteObject(bucketName, objectName);
-            LOGGER.info(">>>>>>>>>> 删除阿里云OSS Bucket[{}] 文件[{}] 执行完成 <<<<<<<<<<", bucketName, objectName);
+        oss.deleteObject(bucketName, objectName);
+        LOGGER.info(">>>>>>>>>> 删除阿里云OSS Bucket[{}] 文件[{}] 执行完成 <<<<<<<<<<", bucketName, objectName);
 
-            return !oss.doesObjectExist(bucketName, objectName);
-        } finally {
-            oss.shutdown();
-            LOGGER.info(">>>>>>>>>> 删除阿里云OSS文件完成, 关闭连接 <<<<<<<<<<");
+        return !oss.doesObjectExist(bucketName, objectName);
+    }
+
+    /**
+     * 批量删除阿里云OSS文件
+     *
+     * @param objectNames 文件名
+     * @return 删除的文件数
+     * @see #deleteObjects(String, Collection, OSSTransferOptions)
+     */
+    public static int deleteObjects(@NotNull Collection<String> objectNames) throws IOException {
+        return deleteObjects(bucketName, objectNames, OSSTransferOptions.DEFAULT);
+    }
+
+    /**
+     * 批量删除阿里云OSS文件
+     *
+     * <br>危险操作,删除后将不可恢复.在删除前请确定已做好备份操作.
+     * <p>
+     * 使用 OSS 批量删除接口, 每次请求删除 {@link DeleteObjectsRequest#DELETE_OBJECTS_ONETIME_LIMIT} 个文件(简单模式,
+     * 不返回逐个文件的结果), 多个请求按 {@link OSSTransferOptions#getParallelism()} 并发执行.
+     * 与 {@link #deleteObject(String)} 不同, 不会在删除前后检查文件是否存在, 不存在的文件视为删除成功.
+     * 任一请求失败时不再发起新的请求并抛出异常, 此前已完成的请求不会回滚.
+     *
+     * @param bucketName  文件存储容器, 三级域名
+     * @param objectNames 文件名, 重复的文件名只删除一次
+     * @param options     传输参数, 为空时使用 {@link OSSTransferOptions#DEFAULT}
+     * @return 删除的文件数
+     * @throws IOException 删除线程被中断
+     */
+    public static int deleteObjects(@NotNull String bucketName, @NotNull Collection<String> objectNames,
+                                    OSSTransferOptions options) throws IOException {
+        return deleteObjects(getClient(), bucketName, objectNames, options);
+    }
+
+    public static int deleteObjects(OSS oss, @NotNull String bucketName, @NotNull Collection<String> objectNames,
+                                    OSSTransferOptions options) throws IOException {
+
+        List<String> keys = new ArrayList<>(new LinkedHashSet<>(objectNames));
+        for (String key : keys) {
+            if (StringUtils.isEmpty(key)) {
+                throw new IllegalArgumentException("阿里云OSS文件名 [" + key + "] 不能为空");
+            }
         }
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        if (options == null) {
+            options = OSSTransferOptions.DEFAULT;
+        }
+
+        int batchSize = DeleteObjectsRequest.DELETE_OBJECTS_ONETIME_LIMIT;
+        int batches = (keys.size() + batchSize - 1) / batchSize;
+        long start = System.nanoTime();
+        ParallelTasks.execute(batches, options.getParallelism(), options.getExecutor(), index -> {
+            List<String> batch = keys.subList(index * batchSize, Math.min(keys.size(), (index + 1) * batchSize));
+            DeleteObjectsRequest request = new DeleteObjectsRequest(bucketName).withKeys(batch);
+            request.setQuiet(true);
+            oss.deleteObjects(request);
+        });
+        LOGGER.info(">>>>>>>>>> 批量删除阿里云OSS Bucket[{}] {} 个文件执行完成, {} 次请求, 耗时 {} ms <<<<<<<<<<", bucketName,
+                keys.size(), batches, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return keys.size();
     }
 
     /**
@@ -0,0 +1,57 @@
+package com.mingrn.itumate.commons.utils.file;
+
+import java.nio.file.Path;
+
+/**
+ * 阿里云OSS批量上传中单个文件的上传结果
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @see AliyunOSSUtil#putObjects(String, java.util.Map, OSSTransferOptions)
+ */
+public class OSSBatchUploadResult {
+
+    /** 文件名 */
+    private final String objectName;
+
+    /** 本地文件 */
+    private final Path file;
+
+    /** 上传结果, 失败时为空 */
+    private final OSSUploadResult result;
+
+    /** 失败原因, 成功时为空 */
+    private final Exception error;
+
+    OSSBatchUploadResult(String objectName, Path file, OSSUploadResult result, Exception error) {
+        this.objectName = objectName;
+        this.file = file;
+        this.result = result;
+        this.error = error;
+    }
+
+    public String getObjectName() {
+        return objectName;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public OSSUploadResult getResult() {
+        return result;
+    }
+
+    public Exception getError() {
+        return error;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    @Override
+    public String toString() {
+        return "OSSBatchUploadResult{objectName='" + objectName + "', file=" + file
+                + (error == null ? ", result=" + result : ", error=" + error) + "}";
+    }
+}
@@ -0,0 +1,300 @@
+package com.mingrn.itumate.commons.utils.file;
+
+import com.aliyun.oss.OSS;
+import com.aliyun.oss.OSSException;
+import com.aliyun.oss.model.*;
+import com.mingrn.itumate.commons.utils.encrypt.ChunkedDigestUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 阿里云OSS分片上传, 支持并发与断点续传
+ * <p>
+ * 断点文件为追加写入的文本: 首部记录 uploadId 与文件信息, 之后每完成一个分片追加一行
+ * {@code part=分片号,ETag}. 再次上传同一文件时若首部与当前文件、分片大小一致则跳过已完成的分片;
+ * 文件被修改或 OSS 上的分片任务已失效时重新上传. 末尾没有换行符的行视为写入不完整, 会被忽略.
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @see AliyunOSSUtil#uploadFile(String, String, Path, ObjectMetadata, OSSTransferOptions)
+ */
+final class OSSMultipartUpload {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OSSMultipartUpload.class);
+
+    private static final String CHECKPOINT_SUFFIX = ".ucp";
+    private static final String PART_KEY = "part";
+    private static final String NO_SUCH_UPLOAD = "NoSuchUpload";
+
+    private final OSS oss;
+    private final String bucketName;
+    private final String objectName;
+    private final Path file;
+    private final ObjectMetadata metadata;
+    private final OSSTransferOptions options;
+
+    private final long fileLength;
+    private final long lastModified;
+    private final long partSize;
+    private final int partCount;
+    private final Path checkpointFile;
+
+    /** 已完成的分片: 分片号 -> ETag */
+    private final SortedMap<Integer, String> completed = new ConcurrentSkipListMap<>();
+    private final AtomicLong transferred = new AtomicLong();
+    private final AtomicLong sessionBytes = new AtomicLong();
+    private long startNanos;
+    private String uploadId;
+    private BufferedWriter checkpointWriter;
+
+    OSSMultipartUpload(OSS oss, String bucketName, String objectName, Path file, ObjectMetadata metadata,
+                       OSSTransferOptions options) throws IOException {
+        this.oss = oss;
+        this.bucketName = bucketName;
+        this.objectName = objectName;
+        this.file = file.toAbsolutePath();
+        this.metadata = metadata;
+        this.options = options;
+        this.fileLength = Files.size(file);
+        this.lastModified = Files.getLastModifiedTime(file).toMillis();
+        this.partSize = options.partSizeFor(fileLength);
+        this.partCount = (int) Math.max(1, (fileLength + partSize - 1) / partSize);
+        String identity = bucketName + '\n' + objectName + '\n' + this.file;
+        this.checkpointFile = options.getCheckpointDirectory()
+                .resolve(UUID.nameUUIDFromBytes(identity.getBytes(StandardCharsets.UTF_8)) + CHECKPOINT_SUFFIX);
+    }
+
+    OSSUploadResult upload() throws IOException {
+        startNanos = System.nanoTime();
+        boolean resumed = options.isCheckpointEnabled() && loadCheckpoint();
+        if (!resumed) {
+            initiate();
+        }
+        try {
+            try {
+                uploadParts();
+            } catch (OSSException e) {
+                if (!resumed || !NO_SUCH_UPLOAD.equals(e.getErrorCode())) {
+                    throw e;
+                }
+                LOGGER.warn("阿里云OSS分片上传任务[{}]已失效, 重新上传文件[{}]", uploadId, objectName);
+                closeCheckpoint();
+                Files.deleteIfExists(checkpointFile);
+                completed.clear();
+                transferred.set(0);
+                initiate();
+                uploadParts();
+            }
+            closeCheckpoint();
+
+            List<PartETag> parts = new ArrayList<>(completed.size());
+            completed.forEach((partNumber, eTag) -> parts.add(new PartETag(partNumber, eTag)));
+            CompleteMultipartUploadResult result = oss.completeMultipartUpload(
+                    new CompleteMultipartUploadRequest(bucketName, objectName, uploadId, parts));
+            if (options.isCheckpointEnabled()) {
+                Files.deleteIfExists(checkpointFile);
+            }
+
+            long elapsed = System.nanoTime() - startNanos;
+            LOGGER.info("阿里云OSS分片上传 Bucket[{}] 文件[{}] 完成: {} 字节, {} 个分片, 耗时 {} ms, {}",
+                    bucketName, objectName, fileLength, partCount, TimeUnit.NANOSECONDS.toMillis(elapsed), progress());
+
+            if (options.isVerifyETag() && !ChunkedDigestUtil.verifyMultipartETag(file, partSize, result.getETag())) {
+                throw new IOException("ETag mismatch after multipart upload of " + objectName + ": " + result.getETag());
+            }
+            return new OSSUploadResult(bucketName, objectName, AliyunOSSUtil.getObjectUrl(bucketName, objectName),
+                    result.getETag(), result.getRequestId());
+        } catch (IOException | RuntimeException e) {
+            closeCheckpoint();
+            if (options.isCheckpointEnabled()) {
+                LOGGER.warn("阿里云OSS分片上传文件[{}]中断, 已完成 {}/{} 个分片, 断点文件: {}",
+                        objectName, completed.size(), partCount, checkpointFile);
+            } else {
+                abortQuietly(uploadId);
+            }
+            throw e;
+        }
+    }
+
+    private void initiate() throws IOException {
+        InitiateMultipartUploadResult result = oss.initiateMultipartUpload(
+                new InitiateMultipartUploadRequest(bucketName, objectName, metadata));
+        uploadId = result.getUploadId();
+        if (options.isCheckpointEnabled()) {
+            Files.createDirectories(checkpointFile.getParent());
+            checkpointWriter = Files.newBufferedWriter(checkpointFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            Properties header = header();
+            for (String name : new TreeSet<>(header.stringPropertyNames())) {
+                checkpointWriter.write(name + '=' + header.getProperty(name));
+                checkpointWriter.newLine();
+            }
+            checkpointWriter.flush();
+        }
+    }
+
+    /**
+     * 读取断点文件, 与当前文件一致时恢复已完成分片
+     *
+     * @return 是否恢复
+     */
+    private boolean loadCheckpoint() throws IOException {
+        if (!Files.exists(checkpointFile)) {
+            return false;
+        }
+        Properties saved = new Properties();
+        Map<Integer, String> parts = new HashMap<>();
+        String content = new String(Files.readAllBytes(checkpointFile), StandardCharsets.UTF_8);
+        // 最后一个换行符之后的内容写入不完整(如 ETag 被截断), 忽略
+        content = content.substring(0, content.lastIndexOf('\n') + 1);
+        for (String line : content.split("\\r?\\n")) {
+            int index = line.indexOf('=');
+            if (index <= 0) {
+                continue;
+            }
+            String name = line.substring(0, index);
+            String value = line.substring(index + 1);
+            if (PART_KEY.equals(name)) {
+                int comma = value.indexOf(',');
+                try {
+                    int partNumber = Integer.parseInt(value.substring(0, Math.max(comma, 0)));
+                    if (partNumber >= 1 && partNumber <= partCount && comma < value.length() - 1) {
+                        parts.put(partNumber, value.substring(comma + 1));
+                    }
+                } catch (NumberFormatException ignored) {
+                    // 写入中断的行
+                }
+            } else {
+                saved.setProperty(name, value);
+            }
+        }
+
+        Properties expected = header();
+        String savedUploadId = saved.getProperty("uploadId");
+        saved.remove("uploadId");
+        if (savedUploadId == null || !saved.equals(expected)) {
+            LOGGER.info("阿里云OSS断点文件[{}]与当前文件不一致, 重新上传", checkpointFile);
+            abortQuietly(savedUploadId);
+            Files.deleteIfExists(checkpointFile);
+            return false;
+        }
+
+        uploadId = savedUploadId;
+        completed.putAll(parts);
+        for (int partNumber : parts.keySet()) {
+            transferred.addAndGet(partLength(partNumber));
+        }
+        checkpointWriter = Files.newBufferedWriter(checkpointFile, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        LOGGER.info("阿里云OSS分片上传文件[{}]从断点继续, 已完成 {}/{} 个分片", objectName, parts.size(), partCount);
+        return true;
+    }
+
+    private Properties header() {
+        Properties header = new Properties();
+        header.setProperty("bucketName", bucketName);
+        header.setProperty("objectName", objectName);
+        header.setProperty("file", file.toString());
+        header.setProperty("fileLength", Long.toString(fileLength));
+        header.setProperty("lastModified", Long.toString(lastModified));
+        header.setProperty("partSize", Long.toString(partSize));
+        if (uploadId != null) {
+            header.setProperty("uploadId", uploadId);
+        }
+        return header;
+    }
+
+    private void uploadParts() throws IOException {
+        int[] pending = new int[partCount - completed.size()];
+        for (int partNumber = 1, i = 0; partNumber <= partCount; partNumber++) {
+            if (!completed.containsKey(partNumber)) {
+                pending[i++] = partNumber;
+            }
+        }
+        notifyListener();
+        ParallelTasks.execute(pending.length, options.getParallelism(), options.getExecutor(),
+                index -> uploadPart(pending[index]));
+    }
+
+    private void uploadPart(int partNumber) throws IOException {
+        long offset = (partNumber - 1) * partSize;
+        long length = partLength(partNumber);
+        UploadPartResult result;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             InputStream in = Channels.newInputStream(channel.position(offset))) {
+            result = oss.uploadPart(new UploadPartRequest(bucketName, objectName, uploadId, partNumber, in, length));
+        }
+        completed.put(partNumber, result.getETag());
+        saveCheckpoint(partNumber, result.getETag());
+        transferred.addAndGet(length);
+        sessionBytes.addAndGet(length);
+        notifyListener();
+    }
+
+    private long partLength(int partNumber) {
+        return Math.min(partSize, fileLength - (partNumber - 1) * partSize);
+    }
+
+    private void saveCheckpoint(int partNumber, String eTag) {
+        BufferedWriter writer = checkpointWriter;
+        if (writer == null) {
+            return;
+        }
+        synchronized (this) {
+            try {
+                writer.write(PART_KEY + '=' + partNumber + ',' + eTag);
+                writer.newLine();
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write checkpoint " + checkpointFile, e);
+            }
+        }
+    }
+
+    private synchronized void closeCheckpoint() {
+        if (checkpointWriter != null) {
+            try {
+                checkpointWriter.close();
+            } catch (IOException e) {
+                LOGGER.warn("关闭断点文件[{}]失败", checkpointFile, e);
+            }
+            checkpointWriter = null;
+        }
+    }
+
+    private void abortQuietly(String uploadId) {
+        if (uploadId == null) {
+            return;
+        }
+        try {
+            oss.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, objectName, uploadId));
+        } catch (RuntimeException e) {
+            LOGGER.warn("取消阿里云OSS分片上传任务[{}]失败", uploadId, e);
+        }
+    }
+
+    private OSSTransferProgress progress() {
+        return new OSSTransferProgress(objectName, fileLength, transferred.get(), sessionBytes.get(),
+                partCount, completed.size(), System.nanoTime() - startNanos);
+    }
+
+    private void notifyListener() {
+        OSSTransferListener listener = options.getListener();
+        if (listener != null) {
+            listener.onProgress(progress());
+        }
+    }
+}
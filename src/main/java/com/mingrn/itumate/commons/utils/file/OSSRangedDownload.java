@@ -0,0 +1,188 @@
+package com.mingrn.itumate.commons.utils.file;
+
+import com.aliyun.oss.OSS;
+import com.aliyun.oss.model.GetObjectRequest;
+import com.aliyun.oss.model.OSSObject;
+import com.aliyun.oss.model.ObjectMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.Collections;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 阿里云OSS分片并发下载
+ * <p>
+ * 先按文件大小预分配临时文件, 再以 HTTP Range 并发下载各分片并写入临时文件对应位置,
+ * 全部完成后替换目标文件. 每个分片请求都带上首次查询到的 ETag 作为 If-Match 条件,
+ * 下载期间文件被覆盖时请求失败而不会拼出新旧混合的内容.
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @see AliyunOSSUtil#downloadFile(String, String, Path, OSSTransferOptions)
+ */
+final class OSSRangedDownload {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OSSRangedDownload.class);
+
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+    private static final String TEMP_SUFFIX = ".download";
+
+    private final OSS oss;
+    private final String bucketName;
+    private final String objectName;
+    private final Path file;
+    private final OSSTransferOptions options;
+
+    private final AtomicLong transferred = new AtomicLong();
+    private final AtomicInteger completedParts = new AtomicInteger();
+    private long length;
+    private int partCount;
+    private long startNanos;
+
+    OSSRangedDownload(OSS oss, String bucketName, String objectName, Path file, OSSTransferOptions options) {
+        this.oss = oss;
+        this.bucketName = bucketName;
+        this.objectName = objectName;
+        this.file = file.toAbsolutePath();
+        this.options = options;
+    }
+
+    ObjectMetadata download() throws IOException {
+        startNanos = System.nanoTime();
+        ObjectMetadata metadata = oss.getObjectMetadata(bucketName, objectName);
+        String eTag = metadata.getETag();
+        length = metadata.getContentLength();
+        long partSize = options.partSizeFor(length);
+        partCount = (int) Math.max(1, (length + partSize - 1) / partSize);
+
+        Path parent = file.getParent();
+        Files.createDirectories(parent);
+        Path temp = createTemp(parent);
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                if (length > 0) {
+                    // 预分配, 各分片按位置写入
+                    channel.write(ByteBuffer.wrap(new byte[1]), length - 1);
+                }
+                notifyListener();
+                if (partCount == 1) {
+                    downloadPart(channel, 0, length, eTag);
+                } else {
+                    ParallelTasks.execute(partCount, options.getParallelism(), options.getExecutor(), index -> {
+                        long offset = index * partSize;
+                        downloadPart(channel, offset, Math.min(partSize, length - offset), eTag);
+                    });
+                }
+            }
+            move(temp, file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        LOGGER.info("阿里云OSS分片下载 Bucket[{}] 文件[{}] 完成: {} 字节, {} 个分片, 耗时 {} ms, {}", bucketName, objectName,
+                length, partCount, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), progress());
+        return metadata;
+    }
+
+    private void downloadPart(FileChannel channel, long offset, long size, String eTag) throws IOException {
+        if (size == 0) {
+            return;
+        }
+        GetObjectRequest request = new GetObjectRequest(bucketName, objectName);
+        request.setRange(offset, offset + size - 1);
+        if (eTag != null) {
+            request.setMatchingETagConstraints(Collections.singletonList(eTag));
+        }
+        long written;
+        try (OSSObject object = oss.getObject(request)) {
+            written = transfer(object.getObjectContent(), channel, offset);
+        }
+        if (written != size) {
+            throw new IOException("Premature end of " + objectName + " range [" + offset + ", " + (offset + size)
+                    + "): expected " + size + " bytes but got " + written);
+        }
+        transferred.addAndGet(size);
+        completedParts.incrementAndGet();
+        notifyListener();
+    }
+
+    /**
+     * 将输入流写入文件指定位置, 不改变 channel 的当前位置, 可多线程写入同一 channel
+     *
+     * @return 写入字节数
+     */
+    static long transfer(InputStream in, FileChannel channel, long position) throws IOException {
+        byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            ByteBuffer wrapped = ByteBuffer.wrap(buffer, 0, read);
+            while (wrapped.hasRemaining()) {
+                total += channel.write(wrapped, position + total);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 在目标目录创建临时文件. 不使用 {@link Files#createTempFile}, 其权限固定为 0600, 替换后目标文件也会变为 0600;
+     * 此处按 umask 创建, 目标文件已存在时沿用其 POSIX 权限
+     */
+    private Path createTemp(Path parent) throws IOException {
+        Path temp;
+        for (; ; ) {
+            String name = file.getFileName() + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + TEMP_SUFFIX;
+            try {
+                temp = Files.createFile(parent.resolve(name));
+                break;
+            } catch (FileAlreadyExistsException ignored) {
+                // 重名时换一个随机后缀
+            }
+        }
+        try {
+            PosixFileAttributeView view = Files.getFileAttributeView(file, PosixFileAttributeView.class);
+            if (view != null && Files.exists(file)) {
+                Files.setPosixFilePermissions(temp, view.readAttributes().permissions());
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        return temp;
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private OSSTransferProgress progress() {
+        return new OSSTransferProgress(objectName, length, transferred.get(), transferred.get(),
+                partCount, completedParts.get(), System.nanoTime() - startNanos);
+    }
+
+    private void notifyListener() {
+        OSSTransferListener listener = options.getListener();
+        if (listener != null) {
+            listener.onProgress(progress());
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.mingrn.itumate.commons.utils.file;
+
+/**
+ * 阿里云OSS分片传输进度回调
+ * <p>
+ * 每完成一个分片回调一次, 由执行分片传输的线程调用, 实现需线程安全且尽快返回.
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @see OSSTransferOptions.Builder#listener(OSSTransferListener)
+ */
+@FunctionalInterface
+public interface OSSTransferListener {
+
+    /**
+     * 传输进度变化
+     *
+     * @param progress 进度快照
+     */
+    void onProgress(OSSTransferProgress progress);
+}
@@ -0,0 +1,225 @@
+package com.mingrn.itumate.commons.utils.file;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.Executor;
+
+/**
+ * 阿里云OSS分片传输参数
+ * <p>
+ * 不可变对象, 可作为常量共享. 使用示例:
+ * <pre>{@code
+ *   OSSTransferOptions options = OSSTransferOptions.builder()
+ *           .partSize(16 * 1024 * 1024)
+ *           .parallelism(8)
+ *           .listener(progress -> LOGGER.info("{}", progress))
+ *           .build();
+ *
+ *   AliyunOSSUtil.uploadFile(bucketName, "video/demo.mp4", path, null, options);
+ * }</pre>
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @see AliyunOSSUtil
+ */
+public final class OSSTransferOptions {
+
+    /** 默认分片大小, 8MB */
+    public static final long DEFAULT_PART_SIZE = 8L * 1024 * 1024;
+
+    /** OSS 允许的最小分片大小(最后一片除外), 100KB */
+    public static final long MIN_PART_SIZE = 100L * 1024;
+
+    /** OSS 允许的最大分片大小, 5GB */
+    public static final long MAX_PART_SIZE = 5L * 1024 * 1024 * 1024;
+
+    /** OSS 允许的最大分片数 */
+    public static final int MAX_PART_COUNT = 10000;
+
+    /** 默认并行度 */
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    /** 默认参数: 8MB 分片、4 并发、开启断点续传、断点文件存放于临时目录 */
+    public static final OSSTransferOptions DEFAULT = builder().build();
+
+    /** 分片大小 */
+    private final long partSize;
+
+    /** 同时传输的最大分片数 */
+    private final int parallelism;
+
+    /** 执行分片传输的线程池, 为空时每次传输创建临时线程池 */
+    private final Executor executor;
+
+    /** 是否记录断点, 中断后再次调用可从断点继续 */
+    private final boolean checkpointEnabled;
+
+    /** 断点文件目录 */
+    private final Path checkpointDirectory;
+
+    /** 进度回调 */
+    private final OSSTransferListener listener;
+
+    /** 分片上传完成后是否按本地文件校验 ETag */
+    private final boolean verifyETag;
+
+    private OSSTransferOptions(Builder builder) {
+        this.partSize = builder.partSize;
+        this.parallelism = builder.parallelism;
+        this.executor = builder.executor;
+        this.checkpointEnabled = builder.checkpointEnabled;
+        this.checkpointDirectory = builder.checkpointDirectory;
+        this.listener = builder.listener;
+        this.verifyETag = builder.verifyETag;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 以当前参数为初始值创建 Builder
+     */
+    public Builder toBuilder() {
+        Builder builder = new Builder();
+        builder.partSize = partSize;
+        builder.parallelism = parallelism;
+        builder.executor = executor;
+        builder.checkpointEnabled = checkpointEnabled;
+        builder.checkpointDirectory = checkpointDirectory;
+        builder.listener = listener;
+        builder.verifyETag = verifyETag;
+        return builder;
+    }
+
+    public long getPartSize() {
+        return partSize;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public boolean isCheckpointEnabled() {
+        return checkpointEnabled;
+    }
+
+    public Path getCheckpointDirectory() {
+        return checkpointDirectory;
+    }
+
+    public OSSTransferListener getListener() {
+        return listener;
+    }
+
+    public boolean isVerifyETag() {
+        return verifyETag;
+    }
+
+    /**
+     * 按文件大小计算实际分片大小, 保证分片数不超过 {@link #MAX_PART_COUNT}
+     *
+     * @param length 文件大小
+     * @return 分片大小
+     */
+    long partSizeFor(long length) {
+        long size = partSize;
+        if ((length + size - 1) / size > MAX_PART_COUNT) {
+            // 向上取整到 1MB
+            long unit = 1024L * 1024;
+            size = ((length + MAX_PART_COUNT - 1) / MAX_PART_COUNT + unit - 1) / unit * unit;
+        }
+        return size;
+    }
+
+    public static final class Builder {
+
+        private long partSize = DEFAULT_PART_SIZE;
+        private int parallelism = DEFAULT_PARALLELISM;
+        private Executor executor;
+        private boolean checkpointEnabled = true;
+        private Path checkpointDirectory = Paths.get(System.getProperty("java.io.tmpdir"));
+        private OSSTransferListener listener;
+        private boolean verifyETag = false;
+
+        private Builder() {
+        }
+
+        /**
+         * 分片大小, 文件过大导致分片数超过 {@link #MAX_PART_COUNT} 时自动增大
+         *
+         * @param partSize {@link #MIN_PART_SIZE} ~ {@link #MAX_PART_SIZE}
+         */
+        public Builder partSize(long partSize) {
+            if (partSize < MIN_PART_SIZE || partSize > MAX_PART_SIZE) {
+                throw new IllegalArgumentException("part size must be between " + MIN_PART_SIZE + " and " + MAX_PART_SIZE + ": " + partSize);
+            }
+            this.partSize = partSize;
+            return this;
+        }
+
+        /**
+         * 同时传输的最大分片数, 内存占用与连接数随之增加, 不应超过 {@code aliyun.oss.maxConnections}.
+         * 批量上传时为整批的上限, 由同时上传的文件分摊
+         *
+         * @param parallelism 大于 0
+         */
+        public Builder parallelism(int parallelism) {
+            if (parallelism <= 0) {
+                throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * 执行分片传输的线程池, 由调用方管理生命周期. 并发数仍受 {@link #parallelism(int)} 限制
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * 是否记录断点, 关闭后传输失败时会放弃已上传的分片
+         */
+        public Builder checkpointEnabled(boolean checkpointEnabled) {
+            this.checkpointEnabled = checkpointEnabled;
+            return this;
+        }
+
+        /**
+         * 断点文件目录, 默认为系统临时目录
+         */
+        public Builder checkpointDirectory(Path checkpointDirectory) {
+            if (checkpointDirectory == null) {
+                throw new IllegalArgumentException("checkpoint directory must not be null");
+            }
+            this.checkpointDirectory = checkpointDirectory;
+            return this;
+        }
+
+        /**
+         * 进度回调
+         */
+        public Builder listener(OSSTransferListener listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        /**
+         * 分片上传完成后是否重新读取本地文件计算 ETag 并与 OSS 返回值比对, 不一致时抛出异常
+         */
+        public Builder verifyETag(boolean verifyETag) {
+            this.verifyETag = verifyETag;
+            return this;
+        }
+
+        public OSSTransferOptions build() {
+            return new OSSTransferOptions(this);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.mingrn.itumate.commons.utils.file;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 阿里云OSS分片传输进度快照
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ */
+public class OSSTransferProgress {
+
+    /** 文件名, 批量上传时为 bucket 名称 */
+    private final String objectName;
+
+    /** 总字节数 */
+    private final long totalBytes;
+
+    /** 已传输字节数, 含断点续传前已完成的部分 */
+    private final long transferredBytes;
+
+    /** 本次调用实际传输的字节数 */
+    private final long sessionBytes;
+
+    /** 分片总数, 批量上传时为文件数 */
+    private final int totalParts;
+
+    /** 已完成分片数 */
+    private final int completedParts;
+
+    /** 本次调用已耗时(纳秒) */
+    private final long elapsedNanos;
+
+    public OSSTransferProgress(String objectName, long totalBytes, long transferredBytes, long sessionBytes,
+                               int totalParts, int completedParts, long elapsedNanos) {
+        this.objectName = objectName;
+        this.totalBytes = totalBytes;
+        this.transferredBytes = transferredBytes;
+        this.sessionBytes = sessionBytes;
+        this.totalParts = totalParts;
+        this.completedParts = completedParts;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public String getObjectName() {
+        return objectName;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public long getTransferredBytes() {
+        return transferredBytes;
+    }
+
+    public long getSessionBytes() {
+        return sessionBytes;
+    }
+
+    public int getTotalParts() {
+        return totalParts;
+    }
+
+    public int getCompletedParts() {
+        return completedParts;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * 完成百分比, 0 ~ 100
+     */
+    public double getPercent() {
+        return totalBytes == 0 ? 100D : transferredBytes * 100D / totalBytes;
+    }
+
+    /**
+     * 本次调用的平均吞吐量(字节/秒)
+     */
+    public double getBytesPerSecond() {
+        return elapsedNanos <= 0 ? 0D : sessionBytes * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %d/%d bytes (%.1f%%), %d/%d parts, %.2f MB/s", objectName, transferredBytes, totalBytes,
+                getPercent(), completedParts, totalParts, getBytesPerSecond() / (1024 * 1024));
+    }
+}
@@ -0,0 +1,63 @@
+package com.mingrn.itumate.commons.utils.file;
+
+import java.io.Serializable;
+
+/**
+ * 阿里云OSS文件上传结果
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @see AliyunOSSUtil#uploadObject(String, String, com.aliyun.oss.model.ObjectMetadata, java.io.InputStream)
+ */
+public class OSSUploadResult implements Serializable {
+
+    private static final long serialVersionUID = 3520872365517640317L;
+
+    /** 文件存储容器 */
+    private final String bucketName;
+
+    /** 文件名 */
+    private final String objectName;
+
+    /** 文件访问地址, 未配置 endpoint 时为 {@code null}, 见 {@link AliyunOSSUtil#getObjectUrl(String, String)} */
+    private final String url;
+
+    /** OSS 返回的 ETag */
+    private final String eTag;
+
+    /** OSS 请求 id, 排查问题时提供给阿里云 */
+    private final String requestId;
+
+    public OSSUploadResult(String bucketName, String objectName, String url, String eTag, String requestId) {
+        this.bucketName = bucketName;
+        this.objectName = objectName;
+        this.url = url;
+        this.eTag = eTag;
+        this.requestId = requestId;
+    }
+
+    public String getBucketName() {
+        return bucketName;
+    }
+
+    public String getObjectName() {
+        return objectName;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    @Override
+    public String toString() {
+        return "OSSUploadResult{bucketName='" + bucketName + "', objectName='" + objectName + "', url='" + url
+                + "', eTag='" + eTag + "', requestId='" + requestId + "'}";
+    }
+}
@@ -0,0 +1,119 @@
+package com.mingrn.itumate.commons.utils.file;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 有界并发执行一组编号任务, 供分片上传、分片下载与批量操作使用
+ * <p>
+ * 同时执行的任务数不超过 parallelism; 任一任务失败或调用线程被中断后不再提交新任务,
+ * 等待已提交的任务结束后抛出第一个异常.
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ */
+final class ParallelTasks {
+
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+    private ParallelTasks() {
+    }
+
+    /**
+     * 编号任务
+     */
+    @FunctionalInterface
+    interface Task {
+
+        /**
+         * @param index 任务编号, 0 ~ count - 1
+         */
+        void run(int index) throws Exception;
+    }
+
+    /**
+     * 执行任务
+     *
+     * @param count       任务数
+     * @param parallelism 最大并发数
+     * @param executor    线程池, 为空时创建临时线程池并在结束后关闭
+     * @param task        任务
+     * @throws IOException 任务抛出的第一个受检异常, 运行时异常原样抛出
+     */
+    static void execute(int count, int parallelism, Executor executor, Task task) throws IOException {
+        if (count <= 0) {
+            return;
+        }
+        ExecutorService own = null;
+        if (executor == null) {
+            own = Executors.newFixedThreadPool(Math.min(parallelism, count), runnable -> {
+                Thread thread = new Thread(runnable, "oss-transfer-" + THREAD_NUMBER.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor = own;
+        }
+
+        Semaphore permits = new Semaphore(parallelism);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[count];
+        int submitted = 0;
+        try {
+            for (; submitted < count && failure.get() == null; submitted++) {
+                permits.acquire();
+                int index = submitted;
+                futures[index] = CompletableFuture.runAsync(() -> {
+                    try {
+                        if (failure.get() == null) {
+                            task.run(index);
+                        }
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                }, executor).whenComplete((ignored, e) -> {
+                    if (e != null) {
+                        failure.compareAndSet(null, e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+                    }
+                    permits.release();
+                });
+            }
+        } catch (InterruptedException e) {
+            // 不再启动未开始的任务, 但仍等待已提交的任务结束, 避免其在返回后继续访问调用方资源
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, new InterruptedIOException("Interrupted while submitting tasks"));
+        } finally {
+            // join 不响应中断, 已提交的任务都会结束
+            for (int i = 0; i < submitted; i++) {
+                try {
+                    futures[i].join();
+                } catch (CompletionException ignored) {
+                    // 异常已记录在 failure 中
+                }
+            }
+            if (own != null) {
+                own.shutdown();
+            }
+        }
+
+        Throwable e = failure.get();
+        if (e instanceof IOException) {
+            throw (IOException) e;
+        }
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        if (e != null) {
+            throw new IOException(e);
+        }
+    }
+}
@@ -7,8 +7,7 @@ import org.apache.http.impl.client.HttpClientBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.Base64Utils;
-import sun.misc.BASE64Decoder;
-import sun.misc.BASE64Encoder;
+import org.springframework.util.StreamUtils;
 
 import javax.imageio.ImageIO;
 import javax.validation.constraints.NotNull;
@@ -16,10 +15,23 @@ import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.*;
 import java.net.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.Objects;
 
 /**
  * 图片转化base64后再UrlEncode结果
+ * <p>
+ * 需要将图片以 data URI 形式直接输出(如写入 HTTP 响应)时, 推荐使用流式方法
+ * {@link #writeBase64DataUri(InputStream, OutputStream)}/{@link #writeBase64DataUri(InputStream, Writer)},
+ * 图片格式根据文件头识别, 边读边编码, 每个请求的内存占用仅为一个小缓冲区:
+ * <pre>{@code
+ *   response.setContentType("text/plain;charset=UTF-8");
+ *   try (InputStream img = new FileInputStream(imgPath)) {
+ *       BaseImg64Util.writeBase64DataUri(img, response.getOutputStream());
+ *   }
+ * }</pre>
  *
  * @author MinGR
  */
@@ -29,6 +41,17 @@ public class BaseImg64Util {
     private static final String BASE64_PREFIX_PNG = "data:image/png;base64,";
     private static final String BASE64_PREFIX_JPEG = "data:image/jpeg;base64,";
     private static final String BASE64_PREFIX_ICON = "data:image/x-icon;base64,";
+    private static final String BASE64_PREFIX_BMP = "data:image/bmp;base64,";
+    private static final String BASE64_PREFIX_WEBP = "data:image/webp;base64,";
+
+    /** 识别图片格式所需的文件头长度 */
+    private static final int MAGIC_LENGTH = 12;
+
+    /** 流式编码缓冲区大小, 须为 3 的倍数 */
+    private static final int STREAM_BUFFER_SIZE = 3 * 1024;
+
+    /** 不换行, data URI 中不能包含换行符 */
+    private static final Base64.Encoder ENCODER = Base64.getEncoder();
 
     private static final Logger LOGGER = LoggerFactory.getLogger(BaseImg64Util.class);
 
@@ -127,11 +150,10 @@ public class BaseImg64Util {
      * @return base64Img String
      */
     public static String imgIOTransform2Base64(InputStream img, String imgFormat) {
-        // 读取图片字节数组
+        // 读取图片字节数组, 网络流 available() 不代表全部数据, 需读取至末尾
         byte[] data = null;
         try {
-            data = new byte[img.available()];
-            img.read(data);
+            data = StreamUtils.copyToByteArray(img);
             img.close();
         } catch (IOException e) {
             LOGGER.error("Image load stream err", e);
@@ -139,6 +161,118 @@ public class BaseImg64Util {
         return getBase64Prefix(imgFormat) + byteArr2Base64(data);
     }
 
+    /**
+     * IMG IO 以 data URI 形式流式写入输出流
+     * <p>
+     * 根据文件头识别图片格式生成前缀(如 {@code data:image/png;base64,}), 随后边读边编码写入,
+     * 不会缓存整张图片. 输出为标准 data URI, 不换行也不进行 URLEncode. 输入流与输出流由调用方关闭.
+     * <p>
+     * 只识别 gif、png、jpeg、icon、bmp、webp, 其余内容(包括非图片)与 {@link #imgIOTransform2Base64(InputStream, String)}
+     * 一致按 jpeg 处理, 不做校验.
+     *
+     * @param img IMG inputStream
+     * @param out 输出流, 如 HTTP 响应输出流
+     */
+    public static void writeBase64DataUri(InputStream img, OutputStream out) throws IOException {
+        PushbackInputStream in = new PushbackInputStream(img, MAGIC_LENGTH);
+        out.write(getBase64Prefix(detectFormat(in)).getBytes(StandardCharsets.US_ASCII));
+        OutputStream encoder = Base64.getEncoder().wrap(StreamUtils.nonClosing(out));
+        StreamUtils.copy(in, encoder);
+        // 关闭编码流以写入末尾填充, 不会关闭 out
+        encoder.close();
+        out.flush();
+    }
+
+    /**
+     * IMG IO 以 data URI 形式流式写入字符流
+     *
+     * @param img    IMG inputStream
+     * @param writer 字符输出流, 如 {@code response.getWriter()}
+     * @see #writeBase64DataUri(InputStream, OutputStream)
+     */
+    public static void writeBase64DataUri(InputStream img, Writer writer) throws IOException {
+        PushbackInputStream in = new PushbackInputStream(img, MAGIC_LENGTH);
+        writer.write(getBase64Prefix(detectFormat(in)));
+        Base64.Encoder encoder = Base64.getEncoder();
+        byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+        byte[] encoded = new byte[STREAM_BUFFER_SIZE / 3 * 4];
+        char[] chars = new char[encoded.length];
+        int n;
+        while ((n = readFully(in, buffer)) > 0) {
+            // 仅最后一块可能不足 3 的倍数
+            int len = n == buffer.length
+                    ? encoder.encode(buffer, encoded)
+                    : encoder.encode(Arrays.copyOf(buffer, n), encoded);
+            for (int i = 0; i < len; i++) {
+                chars[i] = (char) encoded[i];
+            }
+            writer.write(chars, 0, len);
+        }
+        writer.flush();
+    }
+
+    /**
+     * 将一张本地磁盘图片以 data URI 形式流式写入输出流
+     *
+     * @param imgPath 本地图片地址
+     * @param out     输出流
+     * @see #writeBase64DataUri(InputStream, OutputStream)
+     */
+    public static void writeBase64DataUriFromDisk(String imgPath, OutputStream out) throws IOException {
+        Objects.requireNonNull(imgPath, "IMG Path Can't be bull");
+        try (InputStream inputStream = new FileInputStream(imgPath)) {
+            writeBase64DataUri(inputStream, out);
+        }
+    }
+
+    /**
+     * 根据文件头识别图片格式, 读取的文件头会回退到流中
+     *
+     * @param in 图片输入流
+     * @return gif、png、jpeg、icon、bmp、webp, 无法识别时返回 {@code null}, 由 {@link #getBase64Prefix(String)} 按 jpeg 处理
+     */
+    private static String detectFormat(PushbackInputStream in) throws IOException {
+        byte[] magic = new byte[MAGIC_LENGTH];
+        int n = readFully(in, magic);
+        if (n > 0) {
+            in.unread(magic, 0, n);
+        }
+        if (n >= 3 && (magic[0] & 0xFF) == 0xFF && (magic[1] & 0xFF) == 0xD8 && (magic[2] & 0xFF) == 0xFF) {
+            return "jpeg";
+        }
+        if (n >= 4 && (magic[0] & 0xFF) == 0x89 && magic[1] == 'P' && magic[2] == 'N' && magic[3] == 'G') {
+            return "png";
+        }
+        if (n >= 4 && magic[0] == 'G' && magic[1] == 'I' && magic[2] == 'F' && magic[3] == '8') {
+            return "gif";
+        }
+        if (n >= 4 && magic[0] == 0 && magic[1] == 0 && magic[2] == 1 && magic[3] == 0) {
+            return "icon";
+        }
+        if (n >= 2 && magic[0] == 'B' && magic[1] == 'M') {
+            return "bmp";
+        }
+        if (n >= 12 && magic[0] == 'R' && magic[1] == 'I' && magic[2] == 'F' && magic[3] == 'F'
+                && magic[8] == 'W' && magic[9] == 'E' && magic[10] == 'B' && magic[11] == 'P') {
+            return "webp";
+        }
+        return null;
+    }
+
+    /**
+     * 读取直到填满缓冲区或流结束
+     *
+     * @return 读取的字节数, 流结束时为 0
+     */
+    private static int readFully(InputStream in, byte[] buffer) throws IOException {
+        int off = 0;
+        int n;
+        while (off < buffer.length && (n = in.read(buffer, off, buffer.length - off)) != -1) {
+            off += n;
+        }
+        return off;
+    }
+
     /**
      * ImgIO 字节转 base64
      *
@@ -146,12 +280,10 @@ public class BaseImg64Util {
      * @return base64Img String
      */
     private static String byteArr2Base64(byte[] data) {
-        // 对字节数组Base64编码
-        BASE64Encoder encoder = new BASE64Encoder();
         // 返回Base64编码过再URLEncode的字节数组字符串
         try {
             assert data != null;
-            return URLEncoder.encode(encoder.encode(data), "UTF-8");
+            return URLEncoder.encode(ENCODER.encodeToString(data), "UTF-8");
         } catch (UnsupportedEncodingException e) {
             LOGGER.error("byte[] transform to base64 img str exception", e);
         }
@@ -197,6 +329,10 @@ public class BaseImg64Util {
             return BASE64_PREFIX_PNG;
         } else if ("icon".equalsIgnoreCase(format)) {
             return BASE64_PREFIX_ICON;
+        } else if ("bmp".equalsIgnoreCase(format)) {
+            return BASE64_PREFIX_BMP;
+        } else if ("webp".equalsIgnoreCase(format)) {
+            return BASE64_PREFIX_WEBP;
         } else {
             return BASE64_PREFIX_JPEG;
         }
@@ -0,0 +1,117 @@
+package com.mingrn.itumate.commons.utils.secure;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * 基于本地文件的号段分配器
+ * <p>
+ * 每个 tag 对应目录下的 {@code <tag>.segment} 文件, 内容为下一个可分配的 id.
+ * 分配时持有文件锁并在返回前落盘, 同一主机上的多个进程共享目录也不会分配出重叠号段;
+ * 进程重启后从文件记录处继续, 已分配但未使用的 id 会被跳过.
+ * <p>
+ * 文件锁由 JVM 持有, 同一 JVM 内的线程需另外互斥, 否则会抛出
+ * {@link java.nio.channels.OverlappingFileLockException}. 因此按号段文件路径共享静态锁,
+ * 同一进程内多个指向相同目录的实例也可并发使用.
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ */
+public class FileRangeAllocator implements RangeAllocator {
+
+	private static final Pattern TAG_PATTERN = Pattern.compile("[A-Za-z0-9_.-]+");
+
+	private static final String SUFFIX = ".segment";
+
+	/** 号段文件绝对路径 -> 进程内互斥锁 */
+	private static final ConcurrentMap<Path, Object> FILE_MUTEXES = new ConcurrentHashMap<>();
+
+	private final Path directory;
+
+	private final long initialValue;
+
+	public FileRangeAllocator(Path directory) {
+		this(directory, 1L);
+	}
+
+	/**
+	 * @param directory    号段文件目录, 不存在时自动创建
+	 * @param initialValue 各 tag 分配的第一个 id, 不小于 0
+	 */
+	public FileRangeAllocator(Path directory, long initialValue) {
+		if (directory == null) {
+			throw new IllegalArgumentException("directory must not be null");
+		}
+		if (initialValue < 0) {
+			throw new IllegalArgumentException("initialValue must not be negative: " + initialValue);
+		}
+		this.directory = directory;
+		this.initialValue = initialValue;
+	}
+
+	@Override
+	public long allocate(String tag, int step) throws IOException {
+		if (step <= 0) {
+			throw new IllegalArgumentException("step must be positive: " + step);
+		}
+		if (tag == null || !TAG_PATTERN.matcher(tag).matches()) {
+			throw new IllegalArgumentException("Illegal tag: " + tag);
+		}
+		Files.createDirectories(directory);
+		Path file = directory.resolve(tag + SUFFIX);
+		synchronized (FILE_MUTEXES.computeIfAbsent(file.toAbsolutePath().normalize(), key -> new Object())) {
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+				FileLock lock = channel.lock();
+				try {
+					return allocate(channel, file, tag, step);
+				} finally {
+					lock.release();
+				}
+			}
+		}
+	}
+
+	/**
+	 * 读取当前值并写回分配后的值, 调用方需持有文件锁
+	 */
+	private long allocate(FileChannel channel, Path file, String tag, int step) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(channel.size(), 64));
+		while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+			// 读取当前值
+		}
+		String content = new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII).trim();
+		long start;
+		try {
+			start = content.isEmpty() ? initialValue : Long.parseLong(content);
+		} catch (NumberFormatException e) {
+			throw new IOException("Corrupted segment file " + file + ": " + content, e);
+		}
+		if (start < 0) {
+			throw new IOException("Corrupted segment file " + file + ": " + content);
+		}
+		if (start > Long.MAX_VALUE - step) {
+			throw new IOException("Segment exhausted for tag " + tag);
+		}
+		// 先覆盖写入再截断, 新值非负且递增, 位数不少于旧值, 写入中途崩溃也不会留下空文件或更小的值
+		byte[] bytes = Long.toString(start + step).getBytes(StandardCharsets.US_ASCII);
+		ByteBuffer output = ByteBuffer.wrap(bytes);
+		while (output.hasRemaining()) {
+			channel.write(output, output.position());
+		}
+		channel.truncate(bytes.length);
+		channel.force(true);
+		return start;
+	}
+
+	public Path getDirectory() {
+		return directory;
+	}
+}
@@ -13,4 +13,35 @@ public interface Generator {
 	 * @return String id
 	 */
 	String generateID();
+
+	/**
+	 * 批量生成 Id, 适合批量导入时一次性预留
+	 *
+	 * @param count 数量
+	 * @return String[] ids
+	 */
+	default String[] generateIDs(int count) {
+		if (count < 0) {
+			throw new IllegalArgumentException("count must not be negative: " + count);
+		}
+		String[] ids = new String[count];
+		generateIDs(ids, 0, count);
+		return ids;
+	}
+
+	/**
+	 * 批量生成 Id 并写入 ids[offset, offset + length)
+	 * <p>
+	 * 默认逐个调用 {@link #generateID()}, 实现类应尽量覆盖以摊薄每次生成的同步与查找开销.
+	 *
+	 * @param ids    目标数组
+	 * @param offset 起始位置
+	 * @param length 数量
+	 */
+	default void generateIDs(String[] ids, int offset, int length) {
+		IdArrays.checkRange(ids.length, offset, length);
+		for (int i = offset, end = offset + length; i < end; i++) {
+			ids[i] = generateID();
+		}
+	}
 }
@@ -13,6 +13,13 @@ public class GeneratorIDFactory {
 		return generator.generateID();
 	}
 
+	/**
+	 * 批量生成id, 批量导入时一次性预留, 避免逐个调用的开销
+	 */
+	public static String[] generatorIds(Generator generator, int count) {
+		return generator.generateIDs(count);
+	}
+
 	/**
 	 * 生成UserId
 	 */
@@ -20,6 +27,13 @@ public class GeneratorIDFactory {
 		return generatorId(UserIdGenerator.getInstance());
 	}
 
+	/**
+	 * 批量生成UserId
+	 */
+	public static String[] generatorUserIds(int count) {
+		return generatorIds(UserIdGenerator.getInstance(), count);
+	}
+
 	/**
 	 * 生成UUID
 	 */
@@ -27,4 +41,49 @@ public class GeneratorIDFactory {
 		return generatorId(UUIDGenerator.getInstance());
 	}
 
+	/**
+	 * 生成 32 位随机 UUID(版本 4), 随机数取自线程私有的安全随机数源
+	 *
+	 * @see RandomUUIDGenerator
+	 */
+	public static String generatorUUIDv4() {
+		return generatorId(RandomUUIDGenerator.getInstance());
+	}
+
+	/**
+	 * 生成 32 位时间有序 UUID(版本 7), 字典序即生成顺序
+	 *
+	 * @see TimeBasedUUIDGenerator
+	 */
+	public static String generatorUUIDv7() {
+		return generatorId(TimeBasedUUIDGenerator.getInstance());
+	}
+
+	/**
+	 * 生成时间有序的 Snowflake ID, 36 进制定长 13 位, 可存入大小写不敏感的列
+	 *
+	 * @see SnowflakeGenerator
+	 */
+	public static String generatorSnowflakeId() {
+		return generatorId(SnowflakeGenerator.getInstance());
+	}
+
+	/**
+	 * 生成时间有序的 Snowflake ID, 适合作为 BIGINT 主键
+	 *
+	 * @see SnowflakeGenerator#nextId()
+	 */
+	public static long generatorLongId() {
+		return SnowflakeGenerator.getInstance().nextId();
+	}
+
+	/**
+	 * 批量生成时间有序的 Snowflake ID
+	 *
+	 * @see SnowflakeGenerator#nextIds(long[], int, int)
+	 */
+	public static long[] generatorLongIds(int count) {
+		return SnowflakeGenerator.getInstance().nextIds(count);
+	}
+
 }
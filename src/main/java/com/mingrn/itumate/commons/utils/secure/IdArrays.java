@@ -0,0 +1,26 @@
+package com.mingrn.itumate.commons.utils.secure;
+
+/**
+ * 批量生成 ID 时的数组区间校验
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ */
+final class IdArrays {
+
+	private IdArrays() {
+	}
+
+	/**
+	 * 校验 [offset, offset + length) 位于数组内
+	 *
+	 * @param arrayLength 数组长度
+	 * @param offset      起始位置
+	 * @param length      数量
+	 * @throws IndexOutOfBoundsException 区间越界
+	 */
+	static void checkRange(int arrayLength, int offset, int length) {
+		if (offset < 0 || length < 0 || offset > arrayLength - length) {
+			throw new IndexOutOfBoundsException("offset " + offset + ", length " + length + ", array length " + arrayLength);
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package com.mingrn.itumate.commons.utils.secure;
+
+import java.util.Arrays;
+
+/**
+ * 64 位数字 ID 的字符串编码方式
+ * <p>
+ * {@link #BASE36} 与 {@link #BASE62} 为定长编码(不足左补 '0'),
+ * 且字母表按 ASCII 升序排列, 因此对于非负 ID 字符串的字典序与数值大小顺序一致,
+ * 作为数据库主键时依旧保持按时间有序写入.
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ */
+public enum IdEncoding {
+
+	/**
+	 * 十进制, 不补齐, 等价于 {@link Long#toString(long)}
+	 */
+	DECIMAL("0123456789", 0),
+
+	/**
+	 * 36 进制(0-9a-z), 定长 13 位
+	 */
+	BASE36("0123456789abcdefghijklmnopqrstuvwxyz", 13),
+
+	/**
+	 * 62 进制(0-9A-Za-z), 定长 11 位
+	 * <p>
+	 * 区分大小写, 仅可存入大小写敏感的列(如 MySQL 的 {@code utf8mb4_bin}),
+	 * 否则不同 ID 可能被视为相等
+	 */
+	BASE62("0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz", 11);
+
+	/**
+	 * 足以容纳任意进制下 long 的最大长度
+	 */
+	private static final int MAX_LENGTH = 20;
+
+	private final char[] alphabet;
+	private final byte[] lookup;
+	private final int width;
+
+	IdEncoding(String alphabet, int width) {
+		this.alphabet = alphabet.toCharArray();
+		this.width = width;
+		this.lookup = new byte[128];
+		Arrays.fill(lookup, (byte) -1);
+		for (int i = 0; i < this.alphabet.length; i++) {
+			lookup[this.alphabet[i]] = (byte) i;
+		}
+	}
+
+	/**
+	 * 编码后的定长长度, 十进制返回 0 表示不补齐
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * 编码 ID
+	 *
+	 * @param id 非负 ID
+	 * @return 编码后的字符串
+	 * @throws IllegalArgumentException id 为负数
+	 */
+	public String encode(long id) {
+		char[] buf = new char[MAX_LENGTH];
+		int pos = encode(id, buf, MAX_LENGTH);
+		return new String(buf, pos, MAX_LENGTH - pos);
+	}
+
+	/**
+	 * 将 ID 从 {@code end} 处向前写入 {@code buf}, 不产生中间对象
+	 *
+	 * @param id  非负 ID
+	 * @param buf 目标数组
+	 * @param end 写入结束位置(不含)
+	 * @return 写入起始位置
+	 */
+	int encode(long id, char[] buf, int end) {
+		if (id < 0) {
+			throw new IllegalArgumentException("id must not be negative: " + id);
+		}
+		int radix = alphabet.length;
+		int pos = end;
+		do {
+			buf[--pos] = alphabet[(int) (id % radix)];
+			id /= radix;
+		} while (id != 0);
+		int start = end - width;
+		while (pos > start) {
+			buf[--pos] = '0';
+		}
+		return pos;
+	}
+
+	/**
+	 * 解码 ID
+	 *
+	 * @param value 编码后的字符串, 可不补齐
+	 * @return ID
+	 * @throws IllegalArgumentException 字符串为空、含非法字符或数值溢出
+	 */
+	public long decode(CharSequence value) {
+		int length = value == null ? 0 : value.length();
+		if (length == 0) {
+			throw new IllegalArgumentException("Empty id");
+		}
+		int radix = alphabet.length;
+		long limit = Long.MAX_VALUE / radix;
+		long id = 0;
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			int digit = c < 128 ? lookup[c] : -1;
+			if (digit < 0) {
+				throw new IllegalArgumentException("Illegal character '" + c + "' in " + name() + " id: " + value);
+			}
+			if (id > limit || (id = id * radix) > Long.MAX_VALUE - digit) {
+				throw new IllegalArgumentException(name() + " id overflow: " + value);
+			}
+			id += digit;
+		}
+		return id;
+	}
+}
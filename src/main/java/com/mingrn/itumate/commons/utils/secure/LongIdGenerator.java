@@ -0,0 +1,45 @@
+package com.mingrn.itumate.commons.utils.secure;
+
+/**
+ * 数字 id 生成器接口, 热点路径可直接获取 long 避免字符串编码
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ */
+public interface LongIdGenerator extends Generator {
+
+	/**
+	 * 生成下一个 Id
+	 *
+	 * @return long id
+	 */
+	long nextId();
+
+	/**
+	 * 批量生成 Id
+	 *
+	 * @param count 数量
+	 * @return long[] ids
+	 */
+	default long[] nextIds(int count) {
+		if (count < 0) {
+			throw new IllegalArgumentException("count must not be negative: " + count);
+		}
+		long[] ids = new long[count];
+		nextIds(ids, 0, count);
+		return ids;
+	}
+
+	/**
+	 * 批量生成 Id 并写入 ids[offset, offset + length)
+	 *
+	 * @param ids    目标数组
+	 * @param offset 起始位置
+	 * @param length 数量
+	 */
+	default void nextIds(long[] ids, int offset, int length) {
+		IdArrays.checkRange(ids.length, offset, length);
+		for (int i = offset, end = offset + length; i < end; i++) {
+			ids[i] = nextId();
+		}
+	}
+}
@@ -0,0 +1,36 @@
+package com.mingrn.itumate.commons.utils.secure;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 基于内存的号段分配器, 进程重启后从初始值重新分配, 仅适用于测试与无需持久化的场景
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ */
+public class MemoryRangeAllocator implements RangeAllocator {
+
+	private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+	private final long initialValue;
+
+	public MemoryRangeAllocator() {
+		this(1L);
+	}
+
+	/**
+	 * @param initialValue 各 tag 分配的第一个 id
+	 */
+	public MemoryRangeAllocator(long initialValue) {
+		this.initialValue = initialValue;
+	}
+
+	@Override
+	public long allocate(String tag, int step) {
+		if (step <= 0) {
+			throw new IllegalArgumentException("step must be positive: " + step);
+		}
+		return counters.computeIfAbsent(tag, key -> new AtomicLong(initialValue)).getAndAdd(step);
+	}
+}
@@ -0,0 +1,31 @@
+package com.mingrn.itumate.commons.utils.secure;
+
+import java.io.IOException;
+
+/**
+ * 号段分配器, 为 {@link SegmentGenerator} 提供全局唯一的 id 区间
+ * <p>
+ * 生产环境通常基于数据库实现, 例如:
+ * <pre>{@code
+ *    UPDATE id_segment SET max_id = max_id + #{step} WHERE tag = #{tag};
+ *    SELECT max_id - #{step} FROM id_segment WHERE tag = #{tag};
+ * }</pre>
+ * 两条语句在同一事务内执行. 本地开发与单机部署可使用 {@link MemoryRangeAllocator}
+ * 或 {@link FileRangeAllocator}.
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ */
+public interface RangeAllocator {
+
+	/**
+	 * 为 tag 分配长度为 step 的号段
+	 * <p>
+	 * 实现必须保证同一 tag 分配出的号段互不重叠, 包括跨进程与跨节点的调用.
+	 *
+	 * @param tag  业务标识
+	 * @param step 号段长度
+	 * @return 号段起始值, 号段为 [start, start + step)
+	 * @throws IOException 分配失败
+	 */
+	long allocate(String tag, int step) throws IOException;
+}
@@ -1,16 +1,5 @@
 package com.mingrn.itumate.commons.utils.secure;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Set;
-import java.util.concurrent.*;
-
 /**
  * 强安全密码生成类
  * <p>
@@ -31,7 +20,12 @@ import java.util.concurrent.*;
  *   // 这里指定的类型为 3,则生成的密码最多包括的字符类型有上面四种的其中三种
  *   int pwdLen = 10, characterVarious = 3;
  *   String pwd = SecurePasswordGenerator.INSTANCE.generate(pwdLen);
+ *
+ *   // 批量生成, 例如开通账号时一次生成 1000 个初始密码
+ *   String[] pwds = SecurePasswordGenerator.INSTANCE.generateBatch(1000, pwdLen);
  *  }</pre>
+ * 随机数取自线程私有的安全随机数源, 各线程互不竞争, 实例可在多线程间共享.
+ * 当密码长度不小于字符种类数时, 每种选中的字符类型至少出现一次.
  *
  * @author MinGRn <br > MinGRn97@gmail.com
  * @date 2019/7/2 18:27
@@ -53,16 +47,6 @@ public enum SecurePasswordGenerator {
             '>', '?', '\\', '/', '`'
     };
 
-    /**
-     * 26 英文字母
-     */
-    private static final int LETTER_RANGE = 26;
-
-    /**
-     * 随机数范围
-     */
-    private static final int NUMBER_RANGE = 10;
-
     /**
      * 默认密码长度
      */
@@ -79,16 +63,14 @@ public enum SecurePasswordGenerator {
     private static final int MAX_CHARACTER_VARIOUS = 4;
 
     /**
-     * 特殊字符范围
+     * 全部字符类型
      */
-    private static final int SPECIAL_CHARACTERS_RANGE = DEFAULT_SPECIAL_CHARACTERS.length;
+    private static final CharacterType[] ALL_TYPES = CharacterType.values();
 
     /**
-     * 强随机数
+     * 仅要求一种字符类型时可选的类型, 排除数值与特殊字符
      */
-    private static SecureRandom secure;
-
-    private static final Logger LOGGER = LoggerFactory.getLogger(SecurePasswordGenerator.class);
+    private static final CharacterType[] LETTER_TYPES = {CharacterType.LOWERCASE, CharacterType.UPPERCASE};
 
     public String generate() {
         return generate(DEFAULT_PASSWORD_LEN);
@@ -106,32 +88,52 @@ public enum SecurePasswordGenerator {
      * @param characterVarious 密码包含字符的种类
      */
     public String generate(int passwordLen, int characterVarious) {
+        checkArguments(passwordLen, characterVarious);
+        return generateSecurePassword(ThreadLocalSecureRandom.current(),
+                Math.min(passwordLen, MAX_PASSWORD_LEN), Math.min(characterVarious, MAX_CHARACTER_VARIOUS));
+    }
 
-        if (characterVarious <= 0) {
-            throw new IllegalArgumentException("the password character Various is negative or zero");
-        }
+    /**
+     * 批量生成密码
+     *
+     * @param count       数量
+     * @param passwordLen 密码长度
+     */
+    public String[] generateBatch(int count, int passwordLen) {
+        return generateBatch(count, passwordLen, MAX_CHARACTER_VARIOUS);
+    }
 
-        if (passwordLen <= 0) {
-            throw new IllegalArgumentException("the password length is negative or zero");
+    /**
+     * 批量生成密码, 整批共用一次线程私有随机数源的查找
+     *
+     * @param count            数量
+     * @param passwordLen      密码的长度
+     * @param characterVarious 密码包含字符的种类
+     */
+    public String[] generateBatch(int count, int passwordLen, int characterVarious) {
+        if (count < 0) {
+            throw new IllegalArgumentException("the password count is negative");
         }
-
-        if (passwordLen > MAX_PASSWORD_LEN) {
-            passwordLen = MAX_PASSWORD_LEN;
+        checkArguments(passwordLen, characterVarious);
+        passwordLen = Math.min(passwordLen, MAX_PASSWORD_LEN);
+        characterVarious = Math.min(characterVarious, MAX_CHARACTER_VARIOUS);
+
+        ThreadLocalSecureRandom random = ThreadLocalSecureRandom.current();
+        String[] passwords = new String[count];
+        for (int i = 0; i < count; i++) {
+            passwords[i] = generateSecurePassword(random, passwordLen, characterVarious);
         }
+        return passwords;
+    }
 
-        if (characterVarious > MAX_CHARACTER_VARIOUS) {
-            characterVarious = MAX_CHARACTER_VARIOUS;
+    private static void checkArguments(int passwordLen, int characterVarious) {
+        if (characterVarious <= 0) {
+            throw new IllegalArgumentException("the password character Various is negative or zero");
         }
 
-        // 禁止手动设置种子,应该使用系统默认随机源
-        try {
-            secure = SecureRandom.getInstance("SHA1PRNG");
-        } catch (NoSuchAlgorithmException e) {
-            LOGGER.error("SecureRandom Can't Generate SHA1PRNG Instance: {}, Will call not initialized parameter structure", e.getMessage());
-            secure = new SecureRandom();
+        if (passwordLen <= 0) {
+            throw new IllegalArgumentException("the password length is negative or zero");
         }
-
-        return generateSecurePassword(passwordLen, characterVarious);
     }
 
     /**
@@ -139,71 +141,32 @@ public enum SecurePasswordGenerator {
      *
      * @return 密码字符串
      */
-    private static String generateSecurePassword(int passwordLen, int characterVarious) {
-        char[] password = new char[passwordLen];
-        List<Integer> pwCharsIndex = new ArrayList<>();
-        for (int i = 0; i < password.length; i++) {
-            pwCharsIndex.add(i);
-        }
-
-        // 获取所有密码类型
-        // 当要求密码类型为 1 时排除特殊字符与数值
-        List<CharacterType> allTypes = new ArrayList<>(Arrays.asList(CharacterType.values()));
-        if (characterVarious == 1) {
-            allTypes.remove(CharacterType.NUMBER);
-            allTypes.remove(CharacterType.SPECIAL_CHARACTER);
-        }
-
+    private static String generateSecurePassword(ThreadLocalSecureRandom random, int passwordLen, int characterVarious) {
         // 随机获取 characterVarious 种密码类型
-        List<CharacterType> takeTypes = new ArrayList<>();
+        // 当要求密码类型为 1 时排除特殊字符与数值
+        CharacterType[] types = (characterVarious == 1 ? LETTER_TYPES : ALL_TYPES).clone();
         for (int i = 0; i < characterVarious; i++) {
-            takeTypes.add(allTypes.remove(secure.nextInt(allTypes.size())));
+            int j = i + random.nextInt(types.length - i);
+            CharacterType type = types[i];
+            types[i] = types[j];
+            types[j] = type;
         }
 
-        //随机填充一位密码
-        while (pwCharsIndex.size() > 0) {
-            int pwIndex = pwCharsIndex.remove(secure.nextInt(pwCharsIndex.size()));
-            char character = generateSeed(takeTypes.get(secure.nextInt(takeTypes.size())));
-
-            password[pwIndex] = character;
+        // 每种类型先取一位保证出现, 其余位随机选择类型
+        char[] password = new char[passwordLen];
+        for (int i = 0; i < passwordLen; i++) {
+            char[] alphabet = types[i < characterVarious ? i : random.nextInt(characterVarious)].alphabet;
+            password[i] = alphabet[random.nextInt(alphabet.length)];
         }
-        return String.valueOf(password);
-    }
 
-    /**
-     * 随机密码 seed 生成
-     *
-     * @param type 要求字符类型
-     */
-    private static char generateSeed(CharacterType type) {
-        int seed;
-        char c;
-        switch (type) {
-            case LOWERCASE:
-                // 随机小写字母
-                seed = secure.nextInt(LETTER_RANGE);
-                seed += 97;
-                c = (char) seed;
-                break;
-            case UPPERCASE:
-                //随机大写字母
-                seed = secure.nextInt(LETTER_RANGE);
-                seed += 65;
-                c = (char) seed;
-                break;
-            case NUMBER:
-                //随机数字
-                seed = secure.nextInt(NUMBER_RANGE);
-                seed += 48;
-                c = (char) seed;
-                break;
-            default:
-                // 特殊字符 SPECIAL_CHARACTER
-                seed = secure.nextInt(SPECIAL_CHARACTERS_RANGE);
-                c = DEFAULT_SPECIAL_CHARACTERS[seed];
-                break;
+        // Fisher–Yates 洗牌, 打散保证位的位置
+        for (int i = passwordLen - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            char c = password[i];
+            password[i] = password[j];
+            password[j] = c;
         }
-        return c;
+        return String.valueOf(password);
     }
 
     /**
@@ -213,18 +176,27 @@ public enum SecurePasswordGenerator {
         /**
          * 数值
          */
-        NUMBER,
+        NUMBER("0123456789".toCharArray()),
         /**
          * 小写字母
          */
-        LOWERCASE,
+        LOWERCASE("abcdefghijklmnopqrstuvwxyz".toCharArray()),
         /**
          * 大写字母
          */
-        UPPERCASE,
+        UPPERCASE("ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray()),
         /**
          * 特殊字符
          */
-        SPECIAL_CHARACTER
+        SPECIAL_CHARACTER(DEFAULT_SPECIAL_CHARACTERS);
+
+        /**
+         * 预先计算的字符表
+         */
+        private final char[] alphabet;
+
+        CharacterType(char[] alphabet) {
+            this.alphabet = alphabet;
+        }
     }
 }
\ No newline at end of file
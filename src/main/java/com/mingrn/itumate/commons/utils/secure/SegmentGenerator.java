@@ -0,0 +1,259 @@
+package com.mingrn.itumate.commons.utils.secure;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 号段模式(Leaf-segment 风格)的数字 ID 生成器
+ * <p>
+ * 每次从 {@link RangeAllocator} 取一段长度为 step 的连续 id 缓存在本地, 号段内通过
+ * {@link AtomicLong} 无锁发号. 当前号段消耗达到 {@code prefetchRatio} 时在后台线程异步
+ * 预取下一号段(双缓冲), 当前号段用尽时直接切换, 分配器的延迟不会体现在发号路径上.
+ * 多个节点共用同一分配器即可得到全局唯一且稠密的 ID.
+ * <pre>{@code
+ *    SegmentGenerator generator = new SegmentGenerator(allocator, "order", 1000);
+ *    long id = generator.nextId();
+ * }</pre>
+ * 号段的加载次数、等待次数、失败次数与耗时可通过 getXxx 方法获取, 用于监控分配器压力:
+ * 若 {@link #getRefillWaitCount()} 持续增长, 说明 step 过小或预取过晚.
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ */
+public class SegmentGenerator implements LongIdGenerator {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(SegmentGenerator.class);
+
+	/**
+	 * 默认在当前号段消耗 10% 后预取下一号段
+	 */
+	public static final double DEFAULT_PREFETCH_RATIO = 0.1;
+
+	/**
+	 * 默认的预取线程池, 守护线程, 空闲 60 秒后回收
+	 */
+	private static final ExecutorService DEFAULT_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, "segment-id-prefetch");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final RangeAllocator allocator;
+	private final String tag;
+	private final int step;
+	private final double prefetchRatio;
+	private final Executor executor;
+	private final IdEncoding encoding;
+
+	private volatile Segment current;
+
+	private final AtomicLong refillCount = new AtomicLong();
+	private final LongAdder refillWaitCount = new LongAdder();
+	private final AtomicLong refillFailureCount = new AtomicLong();
+	private final AtomicLong totalRefillNanos = new AtomicLong();
+	private volatile long lastRefillNanos;
+
+	public SegmentGenerator(RangeAllocator allocator, String tag, int step) {
+		this(allocator, tag, step, DEFAULT_PREFETCH_RATIO, DEFAULT_EXECUTOR, IdEncoding.DECIMAL);
+	}
+
+	/**
+	 * @param allocator     号段分配器
+	 * @param tag           业务标识
+	 * @param step          每次分配的号段长度
+	 * @param prefetchRatio 当前号段消耗达到该比例时预取下一号段, [0, 1)
+	 * @param executor      执行预取的线程池
+	 * @param encoding      {@link #generateID()} 使用的字符串编码
+	 */
+	public SegmentGenerator(RangeAllocator allocator, String tag, int step, double prefetchRatio,
+							Executor executor, IdEncoding encoding) {
+		if (allocator == null || executor == null || encoding == null) {
+			throw new IllegalArgumentException("allocator, executor and encoding must not be null");
+		}
+		if (step <= 0) {
+			throw new IllegalArgumentException("step must be positive: " + step);
+		}
+		if (!(prefetchRatio >= 0 && prefetchRatio < 1)) {
+			throw new IllegalArgumentException("prefetchRatio must be in [0, 1): " + prefetchRatio);
+		}
+		this.allocator = allocator;
+		this.tag = tag;
+		this.step = step;
+		this.prefetchRatio = prefetchRatio;
+		this.executor = executor;
+		this.encoding = encoding;
+	}
+
+	/**
+	 * 生成下一个 ID, 首次调用时同步加载号段
+	 *
+	 * @throws IllegalStateException 号段分配失败
+	 */
+	@Override
+	public long nextId() {
+		for (; ; ) {
+			Segment segment = current;
+			if (segment != null) {
+				long id = segment.cursor.getAndIncrement();
+				if (id < segment.end) {
+					if (id >= segment.prefetchAt) {
+						prefetch(segment);
+					}
+					return id;
+				}
+			}
+			switchSegment(segment);
+		}
+	}
+
+	/**
+	 * 批量生成 ID, 每个号段只需一次原子操作
+	 */
+	@Override
+	public void nextIds(long[] ids, int offset, int length) {
+		IdArrays.checkRange(ids.length, offset, length);
+		int end = offset + length;
+		while (offset < end) {
+			Segment segment = current;
+			if (segment != null) {
+				int wanted = end - offset;
+				long first = segment.cursor.getAndAdd(wanted);
+				if (first < segment.end) {
+					long last = Math.min(first + wanted, segment.end);
+					if (last > segment.prefetchAt) {
+						prefetch(segment);
+					}
+					for (long id = first; id < last; id++) {
+						ids[offset++] = id;
+					}
+					continue;
+				}
+			}
+			switchSegment(segment);
+		}
+	}
+
+	@Override
+	public String generateID() {
+		return encoding.encode(nextId());
+	}
+
+	private void prefetch(Segment segment) {
+		if (!segment.prefetching.get() && segment.prefetching.compareAndSet(false, true)) {
+			segment.next = CompletableFuture.supplyAsync(this::load, executor);
+		}
+	}
+
+	/**
+	 * 当前号段用尽后切换到预取的号段, 预取未开始或失败时同步加载
+	 */
+	private synchronized void switchSegment(Segment exhausted) {
+		if (current != exhausted) {
+			return;
+		}
+		Segment segment = null;
+		CompletableFuture<Segment> next = exhausted == null ? null : exhausted.next;
+		if (exhausted != null && (next == null || !next.isDone())) {
+			refillWaitCount.increment();
+		}
+		if (next != null) {
+			try {
+				segment = next.join();
+			} catch (CompletionException e) {
+				LOGGER.warn("Prefetch id segment for tag {} failed, loading synchronously", tag, e.getCause());
+			}
+		}
+		current = segment != null ? segment : load();
+	}
+
+	private Segment load() {
+		long begin = System.nanoTime();
+		long start;
+		try {
+			start = allocator.allocate(tag, step);
+		} catch (IOException | RuntimeException e) {
+			refillFailureCount.incrementAndGet();
+			throw new IllegalStateException("Failed to allocate id segment for tag " + tag, e);
+		}
+		long elapsed = System.nanoTime() - begin;
+		refillCount.incrementAndGet();
+		totalRefillNanos.addAndGet(elapsed);
+		lastRefillNanos = elapsed;
+		LOGGER.debug("Allocated id segment [{}, {}) for tag {} in {} ns", start, start + step, tag, elapsed);
+		return new Segment(start, start + step, start + (long) (step * prefetchRatio));
+	}
+
+	public String getTag() {
+		return tag;
+	}
+
+	public int getStep() {
+		return step;
+	}
+
+	/**
+	 * 当前号段剩余可用的 id 数
+	 */
+	public long getRemaining() {
+		Segment segment = current;
+		return segment == null ? 0 : Math.max(0, segment.end - segment.cursor.get());
+	}
+
+	/**
+	 * 号段加载成功次数
+	 */
+	public long getRefillCount() {
+		return refillCount.get();
+	}
+
+	/**
+	 * 发号线程因号段未就绪而阻塞等待的次数
+	 */
+	public long getRefillWaitCount() {
+		return refillWaitCount.sum();
+	}
+
+	/**
+	 * 号段加载失败次数
+	 */
+	public long getRefillFailureCount() {
+		return refillFailureCount.get();
+	}
+
+	/**
+	 * 最近一次号段加载耗时(纳秒)
+	 */
+	public long getLastRefillNanos() {
+		return lastRefillNanos;
+	}
+
+	/**
+	 * 号段加载总耗时(纳秒)
+	 */
+	public long getTotalRefillNanos() {
+		return totalRefillNanos.get();
+	}
+
+	private static class Segment {
+		private final AtomicLong cursor;
+		private final long end;
+		private final long prefetchAt;
+		private final AtomicBoolean prefetching = new AtomicBoolean();
+		private volatile CompletableFuture<Segment> next;
+
+		private Segment(long start, long end, long prefetchAt) {
+			this.cursor = new AtomicLong(start);
+			this.end = end;
+			this.prefetchAt = prefetchAt;
+		}
+	}
+}
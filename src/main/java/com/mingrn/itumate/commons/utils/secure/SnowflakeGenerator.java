@@ -0,0 +1,263 @@
+package com.mingrn.itumate.commons.utils.secure;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snowflake 风格的 64 位时间有序 ID 生成器
+ * <p>
+ * ID 结构(高位到低位):
+ * <pre>
+ * | 1 bit 符号位(0) | 41 bit 毫秒时间戳(相对 epoch) | 10 bit 机器号 | 12 bit 序列号 |
+ * </pre>
+ * 单个实例每毫秒最多生成 4096 个 ID, 41 bit 时间戳自 epoch 起约可用 69 年.
+ * <p>
+ * 时间戳与序列号打包在同一个 {@link AtomicLong} 中通过 CAS 更新, 无锁且
+ * 同一实例生成的 ID 严格递增. 当前毫秒序列号耗尽时借用下一毫秒, 时钟回拨时
+ * 沿用上次的逻辑时间继续递增, 只要逻辑时间领先系统时钟不超过
+ * {@code maxClockBackwardMillis} 便不会阻塞; 超出时若为序列号耗尽则自旋等待时钟追上,
+ * 若为时钟回拨则抛出 {@link IllegalStateException}.
+ * <p>
+ * 热点路径请使用 {@link #nextId()} 直接获取 long, {@link #generateID()}
+ * 按构造时指定的 {@link IdEncoding} 编码为字符串(默认 {@link IdEncoding#BASE36}, 定长 13 位).
+ * 默认不使用 {@link IdEncoding#BASE62}: 其大小写字母代表不同数值, 存入大小写不敏感的
+ * 排序规则(如 MySQL 的 {@code utf8mb4_general_ci})时会出现唯一键冲突且排序与数值不一致.
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @see GeneratorIDFactory#generatorSnowflakeId()
+ */
+public class SnowflakeGenerator implements LongIdGenerator {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(SnowflakeGenerator.class);
+
+	public static final int TIMESTAMP_BITS = 41;
+	public static final int WORKER_ID_BITS = 10;
+	public static final int SEQUENCE_BITS = 12;
+
+	public static final long MAX_WORKER_ID = ~(-1L << WORKER_ID_BITS);
+	public static final long MAX_SEQUENCE = ~(-1L << SEQUENCE_BITS);
+	public static final long MAX_TIMESTAMP = ~(-1L << TIMESTAMP_BITS);
+
+	/**
+	 * 默认 epoch: 2019-01-01T00:00:00Z
+	 */
+	public static final long DEFAULT_EPOCH = 1546300800000L;
+
+	/**
+	 * 默认允许的最大时钟回拨(毫秒)
+	 */
+	public static final long DEFAULT_MAX_CLOCK_BACKWARD_MILLIS = 1000L;
+
+	/**
+	 * 默认实例机器号的系统属性名, 未配置时由主机名与进程号散列得出
+	 */
+	public static final String WORKER_ID_PROPERTY = "itumate.snowflake.worker-id";
+
+	private static final int WORKER_ID_SHIFT = SEQUENCE_BITS;
+	private static final int TIMESTAMP_SHIFT = SEQUENCE_BITS + WORKER_ID_BITS;
+
+	private final long workerId;
+	private final long epoch;
+	private final long maxClockBackwardMillis;
+	private final IdEncoding encoding;
+
+	/**
+	 * 打包状态: 高位为相对 epoch 的逻辑时间戳, 低 {@link #SEQUENCE_BITS} 位为序列号
+	 */
+	private final AtomicLong state = new AtomicLong();
+
+	public SnowflakeGenerator(long workerId) {
+		this(workerId, DEFAULT_EPOCH, DEFAULT_MAX_CLOCK_BACKWARD_MILLIS, IdEncoding.BASE36);
+	}
+
+	/**
+	 * @param workerId               机器号, 0 ~ {@link #MAX_WORKER_ID}, 同一 epoch 下需全局唯一
+	 * @param epoch                  起始时间戳(毫秒), 不能晚于当前时间
+	 * @param maxClockBackwardMillis 允许的最大时钟回拨(毫秒)
+	 * @param encoding               {@link #generateID()} 使用的字符串编码
+	 */
+	public SnowflakeGenerator(long workerId, long epoch, long maxClockBackwardMillis, IdEncoding encoding) {
+		if (workerId < 0 || workerId > MAX_WORKER_ID) {
+			throw new IllegalArgumentException("workerId must be between 0 and " + MAX_WORKER_ID + ": " + workerId);
+		}
+		if (epoch < 0 || epoch > System.currentTimeMillis()) {
+			throw new IllegalArgumentException("epoch must not be negative or in the future: " + epoch);
+		}
+		if (maxClockBackwardMillis < 0) {
+			throw new IllegalArgumentException("maxClockBackwardMillis must not be negative: " + maxClockBackwardMillis);
+		}
+		if (encoding == null) {
+			throw new IllegalArgumentException("encoding must not be null");
+		}
+		this.workerId = workerId;
+		this.epoch = epoch;
+		this.maxClockBackwardMillis = maxClockBackwardMillis;
+		this.encoding = encoding;
+	}
+
+	/**
+	 * 获取默认实例
+	 *
+	 * @see GeneratorIDFactory
+	 */
+	protected static SnowflakeGenerator getInstance() {
+		return Holder.INSTANCE;
+	}
+
+	/**
+	 * 生成下一个 ID
+	 *
+	 * @return 非负且严格递增的 64 位 ID
+	 * @throws IllegalStateException 时钟回拨超过 {@code maxClockBackwardMillis} 或时间戳超出 41 bit
+	 */
+	@Override
+	public long nextId() {
+		return toId(reserve(1));
+	}
+
+	/**
+	 * 批量生成 ID, 每次 CAS 预留当前毫秒内剩余的全部序列号, 最多 4096 个 ID 只需一次 CAS
+	 */
+	@Override
+	public void nextIds(long[] ids, int offset, int length) {
+		IdArrays.checkRange(ids.length, offset, length);
+		int end = offset + length;
+		while (offset < end) {
+			long first = reserve(end - offset);
+			int count = count(first, end - offset);
+			long id = toId(first);
+			for (int i = 0; i < count; i++) {
+				ids[offset++] = id + i;
+			}
+		}
+	}
+
+	/**
+	 * 生成下一个 ID 并按构造时指定的编码转换为字符串
+	 */
+	@Override
+	public String generateID() {
+		return encoding.encode(nextId());
+	}
+
+	@Override
+	public void generateIDs(String[] ids, int offset, int length) {
+		IdArrays.checkRange(ids.length, offset, length);
+		int end = offset + length;
+		while (offset < end) {
+			long first = reserve(end - offset);
+			int count = count(first, end - offset);
+			long id = toId(first);
+			for (int i = 0; i < count; i++) {
+				ids[offset++] = encoding.encode(id + i);
+			}
+		}
+	}
+
+	/**
+	 * 通过 CAS 预留同一毫秒内至多 max 个连续序列号
+	 *
+	 * @return 预留的第一个状态值, 实际数量见 {@link #count(long, int)}
+	 */
+	private long reserve(int max) {
+		for (; ; ) {
+			long current = state.get();
+			long last = current >>> SEQUENCE_BITS;
+			long now = currentTimeMillis() - epoch;
+			long first;
+			if (now > last) {
+				first = now << SEQUENCE_BITS;
+			} else if (last - now > maxClockBackwardMillis) {
+				throw new IllegalStateException("Clock moved backwards by " + (last - now) + " ms, refusing to generate id");
+			} else if ((current & MAX_SEQUENCE) != MAX_SEQUENCE) {
+				first = current + 1;
+			} else if (last + 1 - now > maxClockBackwardMillis) {
+				// 序列号耗尽且借用的时间已到上限, 等待系统时钟追上
+				Thread.yield();
+				continue;
+			} else {
+				first = (last + 1) << SEQUENCE_BITS;
+			}
+			if (state.compareAndSet(current, first + count(first, max) - 1)) {
+				if ((first >>> SEQUENCE_BITS) > MAX_TIMESTAMP) {
+					throw new IllegalStateException("Timestamp bits exhausted since epoch " + epoch);
+				}
+				return first;
+			}
+		}
+	}
+
+	private static int count(long first, int max) {
+		return (int) Math.min(max, MAX_SEQUENCE - (first & MAX_SEQUENCE) + 1);
+	}
+
+	private long toId(long state) {
+		return ((state >>> SEQUENCE_BITS) << TIMESTAMP_SHIFT) | (workerId << WORKER_ID_SHIFT) | (state & MAX_SEQUENCE);
+	}
+
+	/**
+	 * 解析 ID 生成时的时间戳(毫秒)
+	 */
+	public long timestampOf(long id) {
+		return (id >>> TIMESTAMP_SHIFT) + epoch;
+	}
+
+	/**
+	 * 解析 ID 的机器号
+	 */
+	public static long workerIdOf(long id) {
+		return (id >>> WORKER_ID_SHIFT) & MAX_WORKER_ID;
+	}
+
+	/**
+	 * 解析 ID 的序列号
+	 */
+	public static long sequenceOf(long id) {
+		return id & MAX_SEQUENCE;
+	}
+
+	public long getWorkerId() {
+		return workerId;
+	}
+
+	public long getEpoch() {
+		return epoch;
+	}
+
+	public IdEncoding getEncoding() {
+		return encoding;
+	}
+
+	/**
+	 * 当前系统时间, 便于测试时模拟时钟回拨
+	 */
+	long currentTimeMillis() {
+		return System.currentTimeMillis();
+	}
+
+	private static long defaultWorkerId() {
+		String configured = System.getProperty(WORKER_ID_PROPERTY);
+		if (configured != null && !configured.trim().isEmpty()) {
+			return Long.parseLong(configured.trim());
+		}
+		String host;
+		try {
+			host = InetAddress.getLocalHost().getHostName();
+		} catch (Exception e) {
+			host = "localhost";
+		}
+		String identity = host + '/' + ManagementFactory.getRuntimeMXBean().getName();
+		long workerId = (identity.hashCode() & Integer.MAX_VALUE) % (MAX_WORKER_ID + 1);
+		LOGGER.warn("System property {} not set, derived snowflake worker id {} from {}, ids may collide across nodes",
+				WORKER_ID_PROPERTY, workerId, identity);
+		return workerId;
+	}
+
+	private static class Holder {
+		private static final SnowflakeGenerator INSTANCE = new SnowflakeGenerator(defaultWorkerId());
+	}
+}
@@ -0,0 +1,51 @@
+package com.mingrn.itumate.commons.utils.secure;
+
+/**
+ * UUID 字符串格式化, 直接写入 char[] 后构造字符串, 不产生中间对象
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ */
+final class UUIDFormat {
+
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	private UUIDFormat() {
+	}
+
+	/**
+	 * 32 位无连字符格式
+	 */
+	static String compact(long msb, long lsb) {
+		char[] chars = new char[32];
+		hex(msb, chars, 0, 16);
+		hex(lsb, chars, 16, 16);
+		return new String(chars);
+	}
+
+	/**
+	 * 36 位标准格式, 与 {@link java.util.UUID#toString()} 一致
+	 */
+	static String standard(long msb, long lsb) {
+		char[] chars = new char[36];
+		hex(msb >>> 32, chars, 0, 8);
+		chars[8] = '-';
+		hex(msb >>> 16, chars, 9, 4);
+		chars[13] = '-';
+		hex(msb, chars, 14, 4);
+		chars[18] = '-';
+		hex(lsb >>> 48, chars, 19, 4);
+		chars[23] = '-';
+		hex(lsb, chars, 24, 12);
+		return new String(chars);
+	}
+
+	/**
+	 * 将 value 的低 digits 个十六进制位写入 chars[offset, offset + digits)
+	 */
+	private static void hex(long value, char[] chars, int offset, int digits) {
+		for (int i = offset + digits - 1; i >= offset; i--) {
+			chars[i] = HEX[(int) value & 0xF];
+			value >>>= 4;
+		}
+	}
+}
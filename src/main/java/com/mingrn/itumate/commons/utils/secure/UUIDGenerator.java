@@ -1,7 +1,5 @@
 package com.mingrn.itumate.commons.utils.secure;
 
-import java.util.UUID;
-
 /**
  * 生成32位UUID
  *
@@ -30,6 +28,11 @@ class UUIDGenerator implements Generator {
 	 */
 	@Override
 	public String generateID() {
-		return UUID.randomUUID().toString();
+		return RandomUUIDGenerator.getInstance().nextStandard();
+	}
+
+	@Override
+	public void generateIDs(String[] ids, int offset, int length) {
+		RandomUUIDGenerator.getInstance().fillStandard(ids, offset, length);
 	}
 }
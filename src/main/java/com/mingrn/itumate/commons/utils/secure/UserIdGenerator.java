@@ -1,7 +1,5 @@
 package com.mingrn.itumate.commons.utils.secure;
 
-import java.util.UUID;
-
 /**
  * 用户id生成器
  *
@@ -23,8 +21,18 @@ class UserIdGenerator implements Generator {
 		return INSTANCE;
 	}
 
+	/**
+	 * 32 位无连字符随机 UUID
+	 *
+	 * @see RandomUUIDGenerator
+	 */
 	@Override
 	public String generateID() {
-		return UUID.randomUUID().toString().replace("-", "");
+		return RandomUUIDGenerator.getInstance().generateID();
+	}
+
+	@Override
+	public void generateIDs(String[] ids, int offset, int length) {
+		RandomUUIDGenerator.getInstance().generateIDs(ids, offset, length);
 	}
 }
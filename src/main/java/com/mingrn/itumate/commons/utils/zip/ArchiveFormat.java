@@ -0,0 +1,31 @@
+package com.mingrn.itumate.commons.utils.zip;
+
+/**
+ * 归档格式
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @see ArchiveUtil
+ */
+public enum ArchiveFormat {
+
+    /**
+     * ZIP, 已压缩的条目(如 JPEG、MP4)不再压缩
+     */
+    ZIP(".zip"),
+
+    /**
+     * tar.gz, 整体压缩
+     */
+    TAR_GZ(".tar.gz");
+
+    /** 文件扩展名 */
+    private final String extension;
+
+    ArchiveFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
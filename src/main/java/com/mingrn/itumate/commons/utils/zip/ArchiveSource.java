@@ -0,0 +1,107 @@
+package com.mingrn.itumate.commons.utils.zip;
+
+import com.aliyun.oss.OSS;
+import com.mingrn.itumate.commons.utils.file.FileWrapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * 归档条目来源, 由 {@link ArchiveUtil} 逐个打开并写入归档, 不会同时打开多个来源
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @see ArchiveUtil
+ */
+public interface ArchiveSource {
+
+    /**
+     * 条目名称, 可包含 {@code /} 表示目录
+     */
+    String getName();
+
+    /**
+     * 数据长度, 未知时返回 -1. 部分来源(如 OSS)在 {@link #openStream()} 之后才能确定
+     */
+    long getSize();
+
+    /**
+     * 最后修改时间, 毫秒; 未知时返回 -1
+     */
+    long getLastModified();
+
+    /**
+     * 是否可以多次调用 {@link #openStream()} 读取相同数据. 可重复读取且长度已知的来源才能以 STORED 方式写入 ZIP
+     */
+    boolean isRepeatable();
+
+    /**
+     * 打开数据流, 由调用方关闭
+     */
+    InputStream openStream() throws IOException;
+
+
+    /**
+     * 本地文件
+     */
+    static ArchiveSource of(FileWrapper file) {
+        return new ArchiveSources.PathSource(file.getName(), file.getFile().toPath());
+    }
+
+    /**
+     * 本地文件
+     */
+    static ArchiveSource of(File file) {
+        return new ArchiveSources.PathSource(file.getName(), file.toPath());
+    }
+
+    /**
+     * 本地文件
+     */
+    static ArchiveSource of(Path path) {
+        return new ArchiveSources.PathSource(path.getFileName().toString(), path);
+    }
+
+    /**
+     * 本地文件
+     *
+     * @param name 条目名称
+     * @param path 文件路径
+     */
+    static ArchiveSource of(String name, Path path) {
+        return new ArchiveSources.PathSource(name, path);
+    }
+
+    /**
+     * 阿里云 OSS 文件, 写入时才下载, 长度在下载开始后确定
+     *
+     * @param name       条目名称
+     * @param oss        OSS 客户端, 由调用方关闭
+     * @param bucketName 文件存储容器
+     * @param objectName 文件名
+     */
+    static ArchiveSource of(String name, OSS oss, String bucketName, String objectName) {
+        return new ArchiveSources.OssSource(name, oss, bucketName, objectName);
+    }
+
+    /**
+     * 任意数据流, 每次调用 {@link InputStreamSupplier#get()} 须返回新的流
+     *
+     * @param name     条目名称
+     * @param size     数据长度, 未知时为 -1
+     * @param supplier 数据流
+     */
+    static ArchiveSource of(String name, long size, InputStreamSupplier supplier) {
+        return new ArchiveSources.StreamSource(name, size, supplier);
+    }
+
+    /**
+     * 数据流提供者
+     */
+    @FunctionalInterface
+    interface InputStreamSupplier {
+
+        InputStream get() throws IOException;
+    }
+}
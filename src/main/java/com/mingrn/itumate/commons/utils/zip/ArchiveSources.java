@@ -0,0 +1,158 @@
+package com.mingrn.itumate.commons.utils.zip;
+
+import com.aliyun.oss.OSS;
+import com.aliyun.oss.model.OSSObject;
+import com.aliyun.oss.model.ObjectMetadata;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+/**
+ * {@link ArchiveSource} 实现
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ */
+final class ArchiveSources {
+
+    private ArchiveSources() {
+    }
+
+    static final class PathSource implements ArchiveSource {
+
+        private final String name;
+        private final Path path;
+
+        PathSource(String name, Path path) {
+            this.name = name;
+            this.path = path;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public long getSize() {
+            try {
+                return Files.size(path);
+            } catch (IOException e) {
+                return -1;
+            }
+        }
+
+        @Override
+        public long getLastModified() {
+            try {
+                return Files.getLastModifiedTime(path).toMillis();
+            } catch (IOException e) {
+                return -1;
+            }
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return true;
+        }
+
+        @Override
+        public InputStream openStream() throws IOException {
+            try {
+                return Files.newInputStream(path);
+            } catch (NoSuchFileException e) {
+                throw new FileNotFoundException(path.toString());
+            }
+        }
+    }
+
+    static final class OssSource implements ArchiveSource {
+
+        private final String name;
+        private final OSS oss;
+        private final String bucketName;
+        private final String objectName;
+
+        private long size = -1;
+        private long lastModified = -1;
+
+        OssSource(String name, OSS oss, String bucketName, String objectName) {
+            this.name = name;
+            this.oss = oss;
+            this.bucketName = bucketName;
+            this.objectName = objectName;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public long getSize() {
+            return size;
+        }
+
+        @Override
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return false;
+        }
+
+        @Override
+        public InputStream openStream() {
+            OSSObject object = oss.getObject(bucketName, objectName);
+            ObjectMetadata metadata = object.getObjectMetadata();
+            size = metadata.getContentLength();
+            if (metadata.getLastModified() != null) {
+                lastModified = metadata.getLastModified().getTime();
+            }
+            return object.getObjectContent();
+        }
+    }
+
+    static final class StreamSource implements ArchiveSource {
+
+        private final String name;
+        private final long size;
+        private final ArchiveSource.InputStreamSupplier supplier;
+
+        StreamSource(String name, long size, ArchiveSource.InputStreamSupplier supplier) {
+            this.name = name;
+            this.size = size;
+            this.supplier = supplier;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public long getSize() {
+            return size;
+        }
+
+        @Override
+        public long getLastModified() {
+            return -1;
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return false;
+        }
+
+        @Override
+        public InputStream openStream() throws IOException {
+            return supplier.get();
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.mingrn.itumate.commons.utils.zip;
+
+import com.mingrn.itumate.commons.utils.file.FileUpDownUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StreamUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 归档工具类
+ * <p>
+ * 将多个文件边读边写为 ZIP 或 tar.gz, 不在磁盘生成临时归档, 内存占用只有一个读写缓冲区.
+ * 同一时刻只打开一个来源. 批量下载示例:
+ * <pre>{@code
+ *   List<ArchiveSource> sources = files.stream().map(ArchiveSource::of).collect(Collectors.toList());
+ *   ArchiveUtil.download(request, response, "photos", ArchiveFormat.ZIP, sources);
+ * }</pre>
+ * ZIP 中已压缩格式的条目(见 {@link #isCompressed(String)})不再压缩: 可重复读取且长度已知的来源以 STORED 方式写入
+ * (先读取一遍计算 CRC32), 其余以不压缩级别 deflate 写入, 两者都不消耗压缩 CPU.
+ * 重名条目自动追加序号, 条目名称中的 {@code ..} 与开头的 {@code /} 会被去除.
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @see ArchiveSource
+ */
+public final class ArchiveUtil {
+
+    private ArchiveUtil() {
+    }
+
+    /** 已压缩的文件格式 */
+    private static final Set<String> COMPRESSED_EXTENSIONS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "jpg", "jpeg", "png", "gif", "webp", "heic",
+            "mp3", "aac", "m4a", "ogg", "wma",
+            "mp4", "m4v", "mov", "avi", "mkv", "flv", "wmv", "webm", "rmvb",
+            "zip", "gz", "tgz", "bz2", "xz", "7z", "rar", "zst", "lz4", "jar", "apk",
+            "docx", "xlsx", "pptx")));
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArchiveUtil.class);
+
+
+    /**
+     * 文件是否为已压缩格式, 根据扩展名判断
+     *
+     * @param name 文件名
+     */
+    public static boolean isCompressed(String name) {
+        int index = name.lastIndexOf('.');
+        return index >= 0 && COMPRESSED_EXTENSIONS.contains(name.substring(index + 1).toLowerCase(Locale.ROOT));
+    }
+
+
+    /**
+     * 归档下载, 设置下载响应头后直接写入响应输出流
+     * <p>
+     * 写入前检查本地文件是否存在, 避免响应头已发送后才失败.
+     *
+     * @param request  请求
+     * @param response 响应
+     * @param fileName 下载文件名, 不含扩展名时追加 {@link ArchiveFormat#getExtension()}
+     * @param format   归档格式
+     * @param sources  条目来源
+     * @throws FileNotFoundException 本地文件不存在
+     * @throws IOException           读写失败
+     */
+    public static void download(HttpServletRequest request, HttpServletResponse response, String fileName,
+                                ArchiveFormat format, List<? extends ArchiveSource> sources) throws IOException {
+        for (ArchiveSource source : sources) {
+            if (source instanceof ArchiveSources.PathSource && source.getSize() < 0) {
+                throw new FileNotFoundException(source.getName());
+            }
+        }
+        if (!fileName.toLowerCase(Locale.ROOT).endsWith(format.getExtension())) {
+            fileName = fileName + format.getExtension();
+        }
+        FileUpDownUtils.setDownloadResponseHeaders(request, response, fileName);
+        OutputStream out = response.getOutputStream();
+        write(format, sources, out, GZipOptions.DEFAULT);
+        out.flush();
+    }
+
+
+    /**
+     * 写入归档, 不关闭输出流
+     *
+     * @param format  归档格式
+     * @param sources 条目来源
+     * @param out     输出流
+     * @throws IOException 读写失败
+     */
+    public static void write(ArchiveFormat format, List<? extends ArchiveSource> sources, OutputStream out) throws IOException {
+        write(format, sources, out, GZipOptions.DEFAULT);
+    }
+
+
+    /**
+     * 写入归档, 不关闭输出流
+     *
+     * @param format  归档格式
+     * @param sources 条目来源
+     * @param out     输出流
+     * @param options 压缩参数, ZIP 使用压缩级别与缓冲区大小, tar.gz 另外使用压缩策略
+     * @throws IOException 读写失败
+     */
+    public static void write(ArchiveFormat format, List<? extends ArchiveSource> sources, OutputStream out,
+                             GZipOptions options) throws IOException {
+        if (format == ArchiveFormat.TAR_GZ) {
+            writeTarGz(sources, out, options);
+        } else {
+            writeZip(sources, out, options);
+        }
+    }
+
+
+    /**
+     * 写入 ZIP, 不关闭输出流. 超过 4GB 的条目或超过 65535 个条目时自动使用 ZIP64
+     *
+     * @param sources 条目来源
+     * @param out     输出流
+     * @param options 压缩参数, 使用压缩级别与缓冲区大小. {@link ZipOutputStream} 不支持设置压缩策略, 策略被忽略
+     * @throws IOException 读写失败
+     */
+    public static void writeZip(List<? extends ArchiveSource> sources, OutputStream out, GZipOptions options) throws IOException {
+        byte[] buffer = new byte[options.getBufferSize()];
+        Set<String> names = new HashSet<>();
+        CRC32 crc = new CRC32();
+        BufferedOutputStream buffered = new BufferedOutputStream(StreamUtils.nonClosing(out), options.getBufferSize());
+        try (ZipOutputStream zip = new ZipOutputStream(buffered)) {
+            for (ArchiveSource source : sources) {
+                String name = uniqueName(entryName(source.getName()), names);
+                ZipEntry entry = new ZipEntry(name);
+                if (source.getLastModified() >= 0) {
+                    entry.setTime(source.getLastModified());
+                }
+                if (!isCompressed(name)) {
+                    zip.setLevel(options.getLevel());
+                } else if (source.isRepeatable() && source.getSize() >= 0) {
+                    // STORED 须在条目头写入 CRC32 与长度, 先读取一遍计算
+                    long size = checksum(source, crc, buffer);
+                    entry.setMethod(ZipEntry.STORED);
+                    entry.setSize(size);
+                    entry.setCompressedSize(size);
+                    entry.setCrc(crc.getValue());
+                } else {
+                    // 无法预先计算 CRC32, 以不压缩级别写入, 每 64KB 只增加 5 字节块头
+                    zip.setLevel(Deflater.NO_COMPRESSION);
+                }
+                zip.putNextEntry(entry);
+                try (InputStream in = source.openStream()) {
+                    int n;
+                    while ((n = in.read(buffer)) != -1) {
+                        zip.write(buffer, 0, n);
+                    }
+                }
+                zip.closeEntry();
+            }
+        }
+        LOGGER.debug("zip archive with {} entries written", sources.size());
+    }
+
+
+    /**
+     * 写入 tar.gz, 不关闭输出流. 条目长度须已知, 流来源须在 {@link ArchiveSource#of(String, long, ArchiveSource.InputStreamSupplier)}
+     * 中指定长度
+     *
+     * @param sources 条目来源
+     * @param out     输出流
+     * @param options 压缩参数, 使用压缩级别、策略与缓冲区大小
+     * @throws IOException 读写失败或条目长度未知
+     */
+    public static void writeTarGz(List<? extends ArchiveSource> sources, OutputStream out, GZipOptions options) throws IOException {
+        byte[] buffer = new byte[options.getBufferSize()];
+        Set<String> names = new HashSet<>();
+        try (DeflaterStreams.GZipOutput gzip = new DeflaterStreams.GZipOutput(StreamUtils.nonClosing(out), options)) {
+            TarOutput tar = new TarOutput(gzip);
+            for (ArchiveSource source : sources) {
+                String name = uniqueName(entryName(source.getName()), names);
+                // OSS 等来源打开后才能确定长度
+                try (InputStream in = source.openStream()) {
+                    long size = source.getSize();
+                    if (size < 0) {
+                        throw new IOException("Size of tar entry [" + name + "] is unknown");
+                    }
+                    tar.putEntry(name, size, source.getLastModified());
+                    int n;
+                    while ((n = in.read(buffer)) != -1) {
+                        tar.write(buffer, 0, n);
+                    }
+                    tar.closeEntry();
+                }
+            }
+            tar.finish();
+        }
+        LOGGER.debug("tar.gz archive with {} entries written", sources.size());
+    }
+
+
+    private static long checksum(ArchiveSource source, CRC32 crc, byte[] buffer) throws IOException {
+        crc.reset();
+        long size = 0;
+        try (InputStream in = source.openStream()) {
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, n);
+                size += n;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 条目名称统一使用 {@code /} 分隔, 去除空路径、{@code .} 与 {@code ..}, 防止解压时写出目标目录
+     */
+    static String entryName(String name) {
+        StringBuilder builder = new StringBuilder(name.length());
+        for (String segment : name.replace('\\', '/').split("/")) {
+            if (segment.isEmpty() || ".".equals(segment) || "..".equals(segment)) {
+                continue;
+            }
+            if (builder.length() > 0) {
+                builder.append('/');
+            }
+            builder.append(segment);
+        }
+        return builder.length() == 0 ? "unnamed" : builder.toString();
+    }
+
+    /**
+     * 重名时在扩展名前追加序号, 如 {@code a (1).jpg}
+     */
+    static String uniqueName(String name, Set<String> names) {
+        if (names.add(name)) {
+            return name;
+        }
+        int slash = name.lastIndexOf('/');
+        int dot = name.lastIndexOf('.');
+        int index = dot > slash + 1 ? dot : name.length();
+        String base = name.substring(0, index);
+        String extension = name.substring(index);
+        for (int i = 1; ; i++) {
+            String candidate = base + " (" + i + ")" + extension;
+            if (names.add(candidate)) {
+                return candidate;
+            }
+        }
+    }
+}
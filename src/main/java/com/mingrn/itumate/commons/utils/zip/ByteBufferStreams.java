@@ -0,0 +1,125 @@
+package com.mingrn.itumate.commons.utils.zip;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link ByteBuffer} 与流之间的适配, 不复制数据
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ */
+final class ByteBufferStreams {
+
+    private ByteBufferStreams() {
+    }
+
+    /**
+     * 从 {@link ByteBuffer} 剩余数据读取
+     */
+    static final class Input extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        Input(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    /**
+     * 写入 {@link ByteBuffer}, 空间不足时抛出 {@link java.nio.BufferOverflowException}
+     */
+    static final class Output extends OutputStream {
+
+        private final ByteBuffer buffer;
+
+        Output(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void write(int b) {
+            buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            buffer.put(b, off, len);
+        }
+    }
+
+    /**
+     * 可增长的字节数组输出, 预估大小准确时 {@link #toByteArray()} 不再复制
+     */
+    static final class ByteArrayOutput extends OutputStream {
+
+        private byte[] buf;
+
+        private int count;
+
+        ByteArrayOutput(int sizeHint) {
+            this.buf = new byte[Math.max(sizeHint, 32)];
+        }
+
+        @Override
+        public void write(int b) {
+            ensureCapacity(count + 1);
+            buf[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            ensureCapacity(count + len);
+            System.arraycopy(b, off, buf, count, len);
+            count += len;
+        }
+
+        int size() {
+            return count;
+        }
+
+        byte[] toByteArray() {
+            if (count == buf.length) {
+                return buf;
+            }
+            byte[] result = new byte[count];
+            System.arraycopy(buf, 0, result, 0, count);
+            return result;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity < 0) {
+                throw new OutOfMemoryError("Required array size too large");
+            }
+            if (capacity > buf.length) {
+                int newCapacity = Math.max(buf.length << 1, capacity);
+                byte[] newBuf = new byte[newCapacity];
+                System.arraycopy(buf, 0, newBuf, 0, count);
+                buf = newBuf;
+            }
+        }
+    }
+}
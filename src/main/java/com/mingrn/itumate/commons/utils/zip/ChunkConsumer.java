@@ -0,0 +1,25 @@
+package com.mingrn.itumate.commons.utils.zip;
+
+import java.io.IOException;
+
+/**
+ * 解压数据块处理
+ * <p>
+ * {@code buffer} 会被复用, 方法返回后不得再引用; 需要保留的数据应自行复制.
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @see GZipUtil#decompress(java.io.InputStream, GZipOptions, ChunkConsumer)
+ */
+@FunctionalInterface
+public interface ChunkConsumer {
+
+    /**
+     * 处理一块解压数据
+     *
+     * @param buffer 数据
+     * @param off    起始下标
+     * @param len    长度
+     * @throws IOException 处理失败, 将中止解压
+     */
+    void accept(byte[] buffer, int off, int len) throws IOException;
+}
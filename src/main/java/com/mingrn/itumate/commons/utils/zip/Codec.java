@@ -0,0 +1,146 @@
+package com.mingrn.itumate.commons.utils.zip;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * 压缩编码
+ * <p>
+ * 实现类须线程安全. 块压缩({@code byte[]}/{@link ByteBuffer})只输出压缩数据本身, 原始长度由
+ * {@link CodecUtil} 写入帧头, 解压时传回; 流压缩输出各编码自身的流格式.
+ * <p>
+ * 内置 {@link GZipCodec}、{@link DeflateCodec}, 以及依赖可选类库的 {@link Lz4Codec}、{@link ZstdCodec}、
+ * {@link SnappyCodec}. 自定义编码可通过 {@link CodecUtil#register(Codec)} 或
+ * {@code META-INF/services/com.mingrn.itumate.commons.utils.zip.Codec} 注册.
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @see CodecUtil
+ */
+public interface Codec {
+
+    /**
+     * 编码名称, 如 {@code gzip}
+     */
+    String getName();
+
+    /**
+     * 帧头中的编码标识, 1 ~ 255, 其中 1 ~ 31 为内置编码保留
+     */
+    int getId();
+
+    /**
+     * 压缩后最大长度
+     *
+     * @param len 原始数据长度
+     */
+    int maxCompressedLength(int len);
+
+    /**
+     * 压缩数据最多可解压出的长度, 即格式允许的最大压缩比. 解压前用于校验帧头中的原始长度,
+     * 避免按伪造的长度分配内存
+     * <p>
+     * 默认不限制, 自定义编码应按格式覆盖.
+     *
+     * @param len 压缩数据长度
+     */
+    default long maxDecompressedLength(int len) {
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * 块压缩
+     *
+     * @param src    原始数据
+     * @param off    起始下标
+     * @param len    长度
+     * @param dst    目标, 剩余空间建议不小于 {@link #maxCompressedLength(int)}
+     * @param dstOff 目标起始下标
+     * @return 写入的字节数
+     * @throws IOException              压缩失败
+     * @throws IllegalArgumentException 目标空间不足
+     */
+    int compress(byte[] src, int off, int len, byte[] dst, int dstOff) throws IOException;
+
+    /**
+     * 块解压
+     *
+     * @param src            压缩数据
+     * @param off            起始下标
+     * @param len            长度
+     * @param dst            目标
+     * @param dstOff         目标起始下标
+     * @param originalLength 原始数据长度
+     * @return 写入的字节数
+     * @throws IOException 数据损坏
+     */
+    int decompress(byte[] src, int off, int len, byte[] dst, int dstOff, int originalLength) throws IOException;
+
+    /**
+     * 块压缩, 将 {@code src} 剩余数据压缩写入 {@code dst}
+     * <p>
+     * 默认实现对非数组缓冲区会复制数据, 支持直接内存的编码应覆盖该方法.
+     *
+     * @return 写入的字节数
+     * @throws IOException              压缩失败
+     * @throws IllegalArgumentException 目标空间不足
+     */
+    default int compress(ByteBuffer src, ByteBuffer dst) throws IOException {
+        if (src.hasArray() && dst.hasArray()) {
+            int n = compress(src.array(), src.arrayOffset() + src.position(), src.remaining(),
+                    dst.array(), dst.arrayOffset() + dst.position());
+            src.position(src.limit());
+            dst.position(dst.position() + n);
+            return n;
+        }
+        byte[] input = new byte[src.remaining()];
+        src.get(input);
+        byte[] output = new byte[maxCompressedLength(input.length)];
+        int n = compress(input, 0, input.length, output, 0);
+        if (n > dst.remaining()) {
+            throw new IllegalArgumentException("Destination buffer too small");
+        }
+        dst.put(output, 0, n);
+        return n;
+    }
+
+    /**
+     * 块解压, 将 {@code src} 剩余数据解压写入 {@code dst}
+     * <p>
+     * 默认实现对非数组缓冲区会复制数据, 支持直接内存的编码应覆盖该方法.
+     *
+     * @param originalLength 原始数据长度
+     * @return 写入的字节数
+     * @throws IOException              数据损坏
+     * @throws IllegalArgumentException 目标空间不足
+     */
+    default int decompress(ByteBuffer src, ByteBuffer dst, int originalLength) throws IOException {
+        if (originalLength > dst.remaining()) {
+            throw new IllegalArgumentException("Destination buffer too small");
+        }
+        if (src.hasArray() && dst.hasArray()) {
+            int n = decompress(src.array(), src.arrayOffset() + src.position(), src.remaining(),
+                    dst.array(), dst.arrayOffset() + dst.position(), originalLength);
+            src.position(src.limit());
+            dst.position(dst.position() + n);
+            return n;
+        }
+        byte[] input = new byte[src.remaining()];
+        src.get(input);
+        byte[] output = new byte[originalLength];
+        int n = decompress(input, 0, input.length, output, 0, originalLength);
+        dst.put(output, 0, n);
+        return n;
+    }
+
+    /**
+     * 流压缩, 关闭返回的流时同时关闭 {@code out}
+     */
+    OutputStream compressing(OutputStream out) throws IOException;
+
+    /**
+     * 流解压, 关闭返回的流时同时关闭 {@code in}
+     */
+    InputStream decompressing(InputStream in) throws IOException;
+}
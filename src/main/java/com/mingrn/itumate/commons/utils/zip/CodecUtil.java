@@ -0,0 +1,500 @@
+package com.mingrn.itumate.commons.utils.zip;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 压缩编码工具类
+ * <p>
+ * 压缩结果带有自描述帧头, 解压时根据帧头自动选择编码, 缓存或消息的生产方切换编码后消费方无需改动:
+ * <pre>
+ *   块帧: 魔数 'I' 'Z' | 编码标识(1) | 标志(1, FLAG_BLOCK) | 原始长度(4, 大端) | 压缩数据
+ *   流帧: 魔数 'I' 'Z' | 编码标识(1) | 标志(1, 0)                          | 编码自身的流格式
+ * </pre>
+ * 解压同时兼容没有帧头的 GZip 数据, 即 {@link GZipUtil} 的压缩结果.
+ * <p>
+ * 使用示例:
+ * <pre>{@code
+ *   byte[] frame = CodecUtil.compress(CodecUtil.getCodec(Lz4Codec.NAME), json);
+ *   byte[] json = CodecUtil.decompress(frame);
+ * }</pre>
+ * LZ4、Zstandard、Snappy 依赖可选类库, 类库不在 classpath 时不注册, 可通过 {@link #isAvailable(String)} 判断.
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @see Codec
+ */
+public final class CodecUtil {
+
+    private CodecUtil() {
+    }
+
+    private static final byte MAGIC_0 = 'I';
+    private static final byte MAGIC_1 = 'Z';
+
+    /** 标志位: 块帧, 帧头带原始长度 */
+    private static final int FLAG_BLOCK = 1;
+
+    /** 流帧头长度 */
+    private static final int STREAM_HEADER_LENGTH = 4;
+
+    /** 块帧头长度 */
+    public static final int HEADER_LENGTH = STREAM_HEADER_LENGTH + 4;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CodecUtil.class);
+
+    private static final Map<Integer, Codec> CODECS_BY_ID = new ConcurrentHashMap<>();
+    private static final Map<String, Codec> CODECS_BY_NAME = new ConcurrentHashMap<>();
+
+    static {
+        register(new GZipCodec());
+        register(new DeflateCodec());
+        registerOptional("net.jpountz.lz4.LZ4Factory", "com.mingrn.itumate.commons.utils.zip.Lz4Codec");
+        registerOptional("com.github.luben.zstd.Zstd", "com.mingrn.itumate.commons.utils.zip.ZstdCodec");
+        registerOptional("org.xerial.snappy.Snappy", "com.mingrn.itumate.commons.utils.zip.SnappyCodec");
+        try {
+            for (Codec codec : ServiceLoader.load(Codec.class)) {
+                register(codec);
+            }
+        } catch (ServiceConfigurationError e) {
+            LOGGER.error("load codec exception", e);
+        }
+    }
+
+
+    /**
+     * 注册编码, 相同标识的编码会被替换
+     *
+     * @param codec 编码
+     */
+    public static void register(Codec codec) {
+        int id = codec.getId();
+        if (id < 1 || id > 255) {
+            throw new IllegalArgumentException("codec id must be between 1 and 255: " + id);
+        }
+        Codec previous = CODECS_BY_ID.put(id, codec);
+        if (previous != null && !previous.getName().equals(codec.getName())) {
+            CODECS_BY_NAME.remove(previous.getName(), previous);
+        }
+        CODECS_BY_NAME.put(codec.getName(), codec);
+    }
+
+
+    /**
+     * 获取编码
+     *
+     * @param name 编码名称, 如 {@link GZipCodec#NAME}
+     * @return 编码
+     * @throws IllegalArgumentException 编码不存在或依赖类库不在 classpath
+     */
+    public static Codec getCodec(String name) {
+        Codec codec = CODECS_BY_NAME.get(name);
+        if (codec == null) {
+            throw new IllegalArgumentException("Unsupported codec: " + name);
+        }
+        return codec;
+    }
+
+
+    /**
+     * 编码是否可用
+     *
+     * @param name 编码名称
+     */
+    public static boolean isAvailable(String name) {
+        return CODECS_BY_NAME.containsKey(name);
+    }
+
+
+    /**
+     * 已注册的编码
+     */
+    public static Collection<Codec> getCodecs() {
+        return Collections.unmodifiableCollection(CODECS_BY_ID.values());
+    }
+
+
+    /**
+     * 压缩后最大长度, 含帧头
+     *
+     * @param codec 编码
+     * @param len   原始数据长度
+     */
+    public static int maxCompressedLength(Codec codec, int len) {
+        return HEADER_LENGTH + codec.maxCompressedLength(len);
+    }
+
+
+    /**
+     * 数据压缩
+     *
+     * @param codec 编码
+     * @param data  原始数据
+     * @return 带帧头的压缩数据
+     * @throws IOException 压缩失败
+     */
+    public static byte[] compress(Codec codec, byte[] data) throws IOException {
+        byte[] dst = new byte[maxCompressedLength(codec, data.length)];
+        writeHeader(dst, 0, codec, data.length);
+        int n = codec.compress(data, 0, data.length, dst, HEADER_LENGTH);
+        return Arrays.copyOf(dst, HEADER_LENGTH + n);
+    }
+
+
+    /**
+     * 数据压缩, 将 {@code src} 剩余数据压缩写入 {@code dst}
+     *
+     * @param codec 编码
+     * @param src   原始数据
+     * @param dst   目标, 剩余空间建议不小于 {@link #maxCompressedLength(Codec, int)}
+     * @return 写入的字节数, 含帧头
+     * @throws IOException              压缩失败
+     * @throws IllegalArgumentException 目标空间不足
+     */
+    public static int compress(Codec codec, ByteBuffer src, ByteBuffer dst) throws IOException {
+        if (dst.remaining() < HEADER_LENGTH) {
+            throw new IllegalArgumentException("Destination buffer too small");
+        }
+        byte[] header = new byte[HEADER_LENGTH];
+        writeHeader(header, 0, codec, src.remaining());
+        dst.put(header);
+        return HEADER_LENGTH + codec.compress(src, dst);
+    }
+
+
+    /**
+     * 数据解压, 根据帧头自动选择编码, 兼容没有帧头的 GZip 数据
+     * <p>
+     * 帧头中的原始长度超过编码最大压缩比({@link Codec#maxDecompressedLength(int)})时视为数据损坏, 不会分配内存.
+     *
+     * @param data 压缩数据
+     * @return 原始数据
+     * @throws IOException 格式不支持或数据损坏
+     */
+    public static byte[] decompress(byte[] data) throws IOException {
+        return decompress(data, GZipOptions.UNLIMITED_SIZE);
+    }
+
+
+    /**
+     * 数据解压, 根据帧头自动选择编码, 兼容没有帧头的 GZip 数据. 解压不可信数据时使用, 避免按帧头中的原始长度分配过大内存
+     *
+     * @param data    压缩数据
+     * @param maxSize 解压后最大字节数
+     * @return 原始数据
+     * @throws DecompressionLimitException 原始长度超过 {@code maxSize}
+     * @throws IOException                 格式不支持或数据损坏
+     */
+    public static byte[] decompress(byte[] data, long maxSize) throws IOException {
+        if (data.length >= 2 && isGZip(data[0], data[1])) {
+            GZipOptions options = maxSize == GZipOptions.UNLIMITED_SIZE
+                    ? GZipOptions.DEFAULT : GZipOptions.builder().maxDecompressedSize(maxSize).build();
+            return GZipUtil.decompress(data, options);
+        }
+        Codec codec = readCodec(data, 0, data.length, true);
+        int len = readInt(data, STREAM_HEADER_LENGTH);
+        checkLimit(len, maxSize);
+        checkOriginalLength(codec, len, data.length - HEADER_LENGTH);
+        byte[] dst = new byte[len];
+        int n = codec.decompress(data, HEADER_LENGTH, data.length - HEADER_LENGTH, dst, 0, len);
+        if (n != len) {
+            throw new IOException("Corrupt " + codec.getName() + " data: expected " + len + " bytes but got " + n);
+        }
+        return dst;
+    }
+
+
+    /**
+     * 数据解压, 将 {@code src} 剩余数据解压写入 {@code dst}, 根据帧头自动选择编码, 兼容没有帧头的 GZip 数据
+     *
+     * @param src 压缩数据
+     * @param dst 目标, 剩余空间不小于 {@link #originalLength(ByteBuffer)}
+     * @return 写入的字节数
+     * @throws IOException              格式不支持或数据损坏
+     * @throws IllegalArgumentException 目标空间不足
+     */
+    public static int decompress(ByteBuffer src, ByteBuffer dst) throws IOException {
+        int pos = src.position();
+        if (src.remaining() >= 2 && isGZip(src.get(pos), src.get(pos + 1))) {
+            return GZipUtil.decompress(src, dst);
+        }
+        int len = originalLength(src);
+        Codec codec = CODECS_BY_ID.get(src.get(pos + 2) & 0xFF);
+        src.position(pos + HEADER_LENGTH);
+        int n = codec.decompress(src, dst, len);
+        if (n != len) {
+            throw new IOException("Corrupt " + codec.getName() + " data: expected " + len + " bytes but got " + n);
+        }
+        return n;
+    }
+
+
+    /**
+     * 读取帧头中的原始长度, 不移动 {@code src} 的 position
+     *
+     * @param src 块帧
+     * @return 原始长度
+     * @throws IOException 不是块帧、编码不支持或原始长度超过编码最大压缩比
+     */
+    public static int originalLength(ByteBuffer src) throws IOException {
+        byte[] header = new byte[HEADER_LENGTH];
+        if (src.remaining() < HEADER_LENGTH) {
+            throw new EOFException("Unexpected end of frame header");
+        }
+        src.duplicate().get(header);
+        Codec codec = readCodec(header, 0, HEADER_LENGTH, true);
+        int len = readInt(header, STREAM_HEADER_LENGTH);
+        checkOriginalLength(codec, len, src.remaining() - HEADER_LENGTH);
+        return len;
+    }
+
+
+    /**
+     * 流压缩, 先写入流帧头. 关闭返回的流时同时关闭 {@code out}
+     *
+     * @param codec 编码
+     * @param out   输出流
+     * @return 压缩输出流
+     * @throws IOException 写入失败
+     */
+    public static OutputStream compressing(Codec codec, OutputStream out) throws IOException {
+        out.write(new byte[]{MAGIC_0, MAGIC_1, (byte) codec.getId(), 0});
+        return codec.compressing(out);
+    }
+
+
+    /**
+     * 流解压, 根据帧头自动选择编码, 兼容 GZip 流与块帧. 关闭返回的流时同时关闭 {@code in}
+     *
+     * @param in 输入流
+     * @return 解压输入流
+     * @throws IOException 格式不支持或读取失败
+     */
+    public static InputStream decompressing(InputStream in) throws IOException {
+        return decompressing(in, GZipOptions.UNLIMITED_SIZE);
+    }
+
+
+    /**
+     * 流解压, 根据帧头自动选择编码, 兼容 GZip 流与块帧. 关闭返回的流时同时关闭 {@code in}
+     * <p>
+     * 解压不可信数据时使用. 块帧在读取压缩数据前校验帧头中的原始长度; 流帧与 GZip 流在读取时计数,
+     * 解压出的数据超过 {@code maxSize} 时 read 抛出 {@link DecompressionLimitException}.
+     *
+     * @param in      输入流
+     * @param maxSize 解压后最大字节数
+     * @return 解压输入流
+     * @throws DecompressionLimitException 块帧原始长度超过 {@code maxSize}
+     * @throws IOException                 格式不支持或读取失败
+     */
+    public static InputStream decompressing(InputStream in, long maxSize) throws IOException {
+        PushbackInputStream input = new PushbackInputStream(in, STREAM_HEADER_LENGTH);
+        byte[] header = new byte[STREAM_HEADER_LENGTH];
+        int n = 0;
+        int r;
+        while (n < header.length && (r = input.read(header, n, header.length - n)) != -1) {
+            n += r;
+        }
+        if (n >= 2 && isGZip(header[0], header[1])) {
+            input.unread(header, 0, n);
+            return limit(getCodec(GZipCodec.NAME).decompressing(input), maxSize);
+        }
+        if (n < STREAM_HEADER_LENGTH) {
+            throw new EOFException("Unexpected end of frame header");
+        }
+        Codec codec = readCodec(header, 0, n, false);
+        if ((header[3] & FLAG_BLOCK) == 0) {
+            return limit(codec.decompressing(input), maxSize);
+        }
+        try {
+            return new ByteArrayInputStream(decompress(readBlockFrame(input, header, codec, maxSize), maxSize));
+        } finally {
+            input.close();
+        }
+    }
+
+
+    /**
+     * 注册依赖可选类库的编码. 编码类通过反射加载, 直接引用会在类库缺失时导致本类初始化失败
+     *
+     * @param dependency 类库中的类
+     * @param codecClass 编码类
+     */
+    private static void registerOptional(String dependency, String codecClass) {
+        ClassLoader classLoader = CodecUtil.class.getClassLoader();
+        try {
+            Class.forName(dependency, false, classLoader);
+            register((Codec) Class.forName(codecClass, true, classLoader).getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException | LinkageError e) {
+            LOGGER.debug("codec dependency {} not available", dependency);
+        }
+    }
+
+    /**
+     * 读取块帧, 原始长度超过限制时不读取压缩数据
+     *
+     * @param header 已读取的流帧头
+     */
+    private static byte[] readBlockFrame(InputStream in, byte[] header, Codec codec, long maxSize) throws IOException {
+        byte[] blockHeader = Arrays.copyOf(header, HEADER_LENGTH);
+        int n = STREAM_HEADER_LENGTH;
+        int r;
+        while (n < HEADER_LENGTH && (r = in.read(blockHeader, n, HEADER_LENGTH - n)) != -1) {
+            n += r;
+        }
+        readCodec(blockHeader, 0, n, true);
+        int len = readInt(blockHeader, STREAM_HEADER_LENGTH);
+        checkLimit(len, maxSize);
+        // 压缩数据不会超过编码的最大压缩长度, 超过即为损坏, 不再继续读取
+        long maxLength;
+        try {
+            maxLength = codec.maxCompressedLength(len);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupt " + codec.getName() + " data: original length " + len + " exceeds maximum", e);
+        }
+        ByteArrayOutputStream frame = new ByteArrayOutputStream();
+        frame.write(blockHeader);
+        byte[] buffer = new byte[StreamUtils.BUFFER_SIZE];
+        while ((r = in.read(buffer)) != -1) {
+            if ((long) frame.size() - HEADER_LENGTH + r > maxLength) {
+                throw new IOException("Corrupt " + codec.getName() + " data: block exceeds " + maxLength + " bytes");
+            }
+            frame.write(buffer, 0, r);
+        }
+        return frame.toByteArray();
+    }
+
+    private static void checkLimit(long len, long maxSize) throws DecompressionLimitException {
+        if (len > maxSize) {
+            throw new DecompressionLimitException("Decompressed size exceeds limit of " + maxSize + " bytes", maxSize);
+        }
+    }
+
+    /**
+     * 校验帧头中的原始长度不超过编码最大压缩比
+     *
+     * @param compressedLength 压缩数据长度, 不含帧头
+     */
+    private static void checkOriginalLength(Codec codec, int len, int compressedLength) throws IOException {
+        if (len > codec.maxDecompressedLength(compressedLength)) {
+            throw new IOException("Corrupt " + codec.getName() + " data: original length " + len
+                    + " exceeds maximum for " + compressedLength + " compressed bytes");
+        }
+    }
+
+    private static InputStream limit(InputStream in, long maxSize) {
+        return maxSize == GZipOptions.UNLIMITED_SIZE ? in : new LimitedInputStream(in, maxSize);
+    }
+
+    private static boolean isGZip(byte b0, byte b1) {
+        return (b0 & 0xFF) == (GZipFormat.GZIP_MAGIC & 0xFF) && (b1 & 0xFF) == GZipFormat.GZIP_MAGIC >>> 8;
+    }
+
+    private static void writeHeader(byte[] dst, int off, Codec codec, int len) {
+        dst[off] = MAGIC_0;
+        dst[off + 1] = MAGIC_1;
+        dst[off + 2] = (byte) codec.getId();
+        dst[off + 3] = FLAG_BLOCK;
+        dst[off + 4] = (byte) (len >>> 24);
+        dst[off + 5] = (byte) (len >>> 16);
+        dst[off + 6] = (byte) (len >>> 8);
+        dst[off + 7] = (byte) len;
+    }
+
+    /**
+     * 校验帧头并返回编码
+     *
+     * @param block 是否要求为块帧
+     */
+    private static Codec readCodec(byte[] header, int off, int len, boolean block) throws IOException {
+        if (len < (block ? HEADER_LENGTH : STREAM_HEADER_LENGTH)) {
+            throw new EOFException("Unexpected end of frame header");
+        }
+        if (header[off] != MAGIC_0 || header[off + 1] != MAGIC_1) {
+            throw new IOException("Unknown compression format");
+        }
+        if (block && (header[off + 3] & FLAG_BLOCK) == 0) {
+            throw new IOException("Not a block frame, use decompressing(InputStream)");
+        }
+        int id = header[off + 2] & 0xFF;
+        Codec codec = CODECS_BY_ID.get(id);
+        if (codec == null) {
+            throw new IOException("Unsupported codec id: " + id);
+        }
+        if (block && readInt(header, off + STREAM_HEADER_LENGTH) < 0) {
+            throw new IOException("Invalid original length");
+        }
+        return codec;
+    }
+
+    private static int readInt(byte[] b, int off) {
+        return (b[off] & 0xFF) << 24 | (b[off + 1] & 0xFF) << 16 | (b[off + 2] & 0xFF) << 8 | (b[off + 3] & 0xFF);
+    }
+
+    /**
+     * 解压流计数, 读取的数据超过 {@code maxSize} 时抛出 {@link DecompressionLimitException}
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private final long maxSize;
+
+        private long count;
+
+        LimitedInputStream(InputStream in, long maxSize) {
+            super(in);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b != -1) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(n);
+            count(skipped);
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void count(long n) throws DecompressionLimitException {
+            count += n;
+            checkLimit(count, maxSize);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.mingrn.itumate.commons.utils.zip;
+
+import java.util.zip.ZipException;
+
+/**
+ * 解压超过限制, 见 {@link GZipOptions#getMaxDecompressedSize()} 与 {@link GZipOptions#getMaxCompressionRatio()}
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ */
+public class DecompressionLimitException extends ZipException {
+
+    private static final long serialVersionUID = 4125925467214871583L;
+
+    /** 超过的限制值 */
+    private final long limit;
+
+    public DecompressionLimitException(String message, long limit) {
+        super(message);
+        this.limit = limit;
+    }
+
+    public long getLimit() {
+        return limit;
+    }
+}
@@ -0,0 +1,109 @@
+package com.mingrn.itumate.commons.utils.zip;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * raw deflate 编码(RFC 1951), 没有 GZip 头尾与 CRC32 校验, 比 {@link GZipCodec} 少 18 字节与一次 CRC 计算
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ */
+public final class DeflateCodec implements Codec {
+
+    public static final int ID = 2;
+
+    public static final String NAME = "deflate";
+
+    private final GZipOptions options;
+
+    public DeflateCodec() {
+        this(GZipOptions.DEFAULT);
+    }
+
+    /**
+     * @param options 压缩参数, 使用压缩级别、策略、缓冲区大小与同步刷新
+     */
+    public DeflateCodec(GZipOptions options) {
+        this.options = options;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int getId() {
+        return ID;
+    }
+
+    @Override
+    public int maxCompressedLength(int len) {
+        return GZipFormat.maxCompressedLength(len) - GZipFormat.HEADER_LENGTH - GZipFormat.TRAILER_LENGTH;
+    }
+
+    @Override
+    public long maxDecompressedLength(int len) {
+        return GZipFormat.MAX_DEFLATE_RATIO * (long) len;
+    }
+
+    @Override
+    public int compress(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        Deflater deflater = GZipFormat.borrowDeflater(options);
+        try {
+            deflater.setInput(src, off, len);
+            deflater.finish();
+            int pos = dstOff;
+            while (!deflater.finished()) {
+                if (pos == dst.length) {
+                    throw new IllegalArgumentException("Destination buffer too small");
+                }
+                pos += deflater.deflate(dst, pos, dst.length - pos);
+            }
+            return pos - dstOff;
+        } finally {
+            GZipFormat.releaseDeflater(deflater);
+        }
+    }
+
+    @Override
+    public int decompress(byte[] src, int off, int len, byte[] dst, int dstOff, int originalLength) throws IOException {
+        Inflater inflater = GZipFormat.borrowInflater();
+        try {
+            inflater.setInput(src, off, len);
+            int pos = dstOff;
+            int end = dstOff + originalLength;
+            while (!inflater.finished()) {
+                // 已达原始长度时只允许剩余结束块, 再解压出任何数据即为超长
+                int n = pos < end ? inflater.inflate(dst, pos, end - pos) : inflater.inflate(new byte[1]);
+                if (n > 0 && pos == end) {
+                    throw new ZipException("Decompressed data exceeds original length " + originalLength);
+                }
+                pos += n;
+                if (n == 0 && !inflater.finished() && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new ZipException("Unexpected end of ZLIB input stream");
+                }
+            }
+            return pos - dstOff;
+        } catch (DataFormatException e) {
+            throw new ZipException(e.getMessage() != null ? e.getMessage() : "Invalid ZLIB data format");
+        } finally {
+            GZipFormat.releaseInflater(inflater);
+        }
+    }
+
+    @Override
+    public OutputStream compressing(OutputStream out) {
+        return new DeflaterStreams.Output(out, options);
+    }
+
+    @Override
+    public InputStream decompressing(InputStream in) {
+        return new DeflaterStreams.Input(in, options.getBufferSize());
+    }
+}
@@ -0,0 +1,96 @@
+package com.mingrn.itumate.commons.utils.zip;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 使用线程缓存 {@link java.util.zip.Deflater}/{@link java.util.zip.Inflater} 的压缩流, 关闭时归还
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ */
+final class DeflaterStreams {
+
+    private DeflaterStreams() {
+    }
+
+    /**
+     * raw deflate 压缩输出流
+     */
+    static class Output extends DeflaterOutputStream {
+
+        private boolean closed;
+
+        Output(OutputStream out, GZipOptions options) {
+            super(out, GZipFormat.borrowDeflater(options), options.getBufferSize(), options.isSyncFlush());
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                super.close();
+            } finally {
+                GZipFormat.releaseDeflater(def);
+            }
+        }
+    }
+
+    /**
+     * GZip 压缩输出流, 与 {@link java.util.zip.GZIPOutputStream} 不同, 可指定压缩级别与策略
+     */
+    static final class GZipOutput extends Output {
+
+        private final CRC32 crc = new CRC32();
+
+        GZipOutput(OutputStream out, GZipOptions options) throws IOException {
+            super(out, options);
+            GZipFormat.writeHeader(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            super.write(b, off, len);
+            crc.update(b, off, len);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (!def.finished()) {
+                super.finish();
+                GZipFormat.writeTrailer(out, crc.getValue(), def.getBytesRead());
+            }
+        }
+    }
+
+    /**
+     * raw deflate 解压输入流
+     */
+    static final class Input extends InflaterInputStream {
+
+        private boolean closed;
+
+        Input(InputStream in, int bufferSize) {
+            super(in, GZipFormat.borrowInflater(), bufferSize);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                super.close();
+            } finally {
+                GZipFormat.releaseInflater(inf);
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.mingrn.itumate.commons.utils.zip;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * GZip 编码, 基于 {@link GZipUtil}
+ * <p>
+ * 块压缩输出为完整的 GZip 数据, 去掉 {@link CodecUtil} 帧头后可由 gzip 命令直接解压.
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ */
+public final class GZipCodec implements Codec {
+
+    public static final int ID = 1;
+
+    public static final String NAME = "gzip";
+
+    private final GZipOptions options;
+
+    public GZipCodec() {
+        this(GZipOptions.DEFAULT);
+    }
+
+    public GZipCodec(GZipOptions options) {
+        this.options = options;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int getId() {
+        return ID;
+    }
+
+    @Override
+    public int maxCompressedLength(int len) {
+        return GZipUtil.maxCompressedLength(len);
+    }
+
+    @Override
+    public long maxDecompressedLength(int len) {
+        return GZipFormat.MAX_DEFLATE_RATIO * (long) len;
+    }
+
+    @Override
+    public int compress(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        return GZipUtil.compress(src, off, len, dst, dstOff, options);
+    }
+
+    @Override
+    public int decompress(byte[] src, int off, int len, byte[] dst, int dstOff, int originalLength) throws IOException {
+        ByteBuffer target = ByteBuffer.wrap(dst, dstOff, originalLength);
+        try {
+            GZipFormat.decompress(src, off, len, new ByteBufferStreams.Output(target), options);
+        } catch (BufferOverflowException e) {
+            throw new ZipException("Decompressed data exceeds original length " + originalLength);
+        }
+        return target.position() - dstOff;
+    }
+
+    @Override
+    public int compress(ByteBuffer src, ByteBuffer dst) {
+        return GZipUtil.compress(src, dst, options);
+    }
+
+    @Override
+    public int decompress(ByteBuffer src, ByteBuffer dst, int originalLength) throws IOException {
+        if (originalLength > dst.remaining()) {
+            throw new IllegalArgumentException("Destination buffer too small");
+        }
+        ByteBuffer target = dst.duplicate();
+        target.limit(target.position() + originalLength);
+        int n;
+        try {
+            n = GZipUtil.decompress(src, target);
+        } catch (IllegalArgumentException e) {
+            throw new ZipException("Decompressed data exceeds original length " + originalLength);
+        }
+        dst.position(dst.position() + n);
+        return n;
+    }
+
+    @Override
+    public OutputStream compressing(OutputStream out) throws IOException {
+        return new DeflaterStreams.GZipOutput(out, options);
+    }
+
+    @Override
+    public InputStream decompressing(InputStream in) throws IOException {
+        return new GZIPInputStream(in, options.getBufferSize());
+    }
+}
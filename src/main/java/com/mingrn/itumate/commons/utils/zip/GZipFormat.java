@@ -0,0 +1,458 @@
+package com.mingrn.itumate.commons.utils.zip;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * GZip 格式编解码(RFC 1952)
+ * <p>
+ * {@link java.util.zip.GZIPOutputStream}/{@link java.util.zip.GZIPInputStream} 每次都会创建并销毁
+ * {@link Deflater}/{@link Inflater}(持有本地内存), 且无法指定压缩级别. 该类直接使用 nowrap 模式的
+ * {@link Deflater}/{@link Inflater} 读写 GZip 头尾, 二者与读写缓冲区均按线程复用.
+ * 解压支持多 member 拼接的 GZip 数据.
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ */
+final class GZipFormat {
+
+    private GZipFormat() {
+    }
+
+    /** GZip 魔数 */
+    static final int GZIP_MAGIC = 0x8b1f;
+
+    /** 头部长度 */
+    static final int HEADER_LENGTH = 10;
+
+    /** 尾部长度, CRC32 + ISIZE */
+    static final int TRAILER_LENGTH = 8;
+
+    /** Deflate 最大压缩比, 每个 258 字节的匹配至少占 2 位 */
+    static final int MAX_DEFLATE_RATIO = 1032;
+
+    /** 头部: 魔数, CM=8(deflate), FLG=0, MTIME=0, XFL=0, OS=0 */
+    private static final byte[] HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+
+    /** 超过该大小的缓冲区不放回线程缓存, 避免长期占用内存 */
+    static final int MAX_POOLED_BUFFER_SIZE = 1024 * 1024;
+
+    private static final ThreadLocal<Deflater> DEFLATER = new ThreadLocal<>();
+    private static final ThreadLocal<Inflater> INFLATER = new ThreadLocal<>();
+    private static final ThreadLocal<byte[]> INPUT_BUFFER = new ThreadLocal<>();
+    private static final ThreadLocal<byte[]> OUTPUT_BUFFER = new ThreadLocal<>();
+    private static final ThreadLocal<byte[]> COMPRESS_BUFFER = new ThreadLocal<>();
+
+    /**
+     * 压缩后最大长度
+     */
+    static int maxCompressedLength(int len) {
+        // zlib deflateBound + gzip 头尾
+        long bound = (long) len + (len >> 12) + (len >> 14) + (len >> 25) + 13 + HEADER_LENGTH + TRAILER_LENGTH;
+        if (bound > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Input is too big for gzip compression: " + len);
+        }
+        return (int) bound;
+    }
+
+    /**
+     * 流式压缩, 流由调用方关闭
+     *
+     * @return 写入的字节数
+     */
+    static long compress(InputStream in, OutputStream out, GZipOptions options) throws IOException {
+        Deflater deflater = borrowDeflater(options);
+        byte[] input = borrowBuffer(INPUT_BUFFER, options.getBufferSize());
+        byte[] output = borrowBuffer(OUTPUT_BUFFER, options.getBufferSize());
+        try {
+            CRC32 crc = new CRC32();
+            long total = HEADER_LENGTH;
+            out.write(HEADER);
+            int n;
+            while ((n = in.read(input, 0, options.getBufferSize())) != -1) {
+                crc.update(input, 0, n);
+                deflater.setInput(input, 0, n);
+                while (!deflater.needsInput()) {
+                    total += deflate(deflater, output, Deflater.NO_FLUSH, out);
+                }
+                if (options.isSyncFlush()) {
+                    total += flush(deflater, output, Deflater.SYNC_FLUSH, out);
+                    out.flush();
+                }
+            }
+            deflater.finish();
+            while (!deflater.finished()) {
+                total += deflate(deflater, output, Deflater.NO_FLUSH, out);
+            }
+            writeTrailer(out, crc.getValue(), deflater.getBytesRead());
+            return total + TRAILER_LENGTH;
+        } finally {
+            releaseBuffer(OUTPUT_BUFFER, output);
+            releaseBuffer(INPUT_BUFFER, input);
+            releaseDeflater(deflater);
+        }
+    }
+
+    /**
+     * 压缩内存数据, 先压缩到线程缓存的缓冲区, 再复制为结果数组
+     */
+    static byte[] compress(byte[] data, GZipOptions options) {
+        byte[] dst = borrowBuffer(COMPRESS_BUFFER, maxCompressedLength(data.length));
+        try {
+            int len = compress(data, 0, data.length, dst, 0, options);
+            return Arrays.copyOf(dst, len);
+        } finally {
+            releaseBuffer(COMPRESS_BUFFER, dst);
+        }
+    }
+
+    /**
+     * 压缩到调用方提供的字节数组
+     *
+     * @return 写入的字节数
+     * @throws IllegalArgumentException 目标空间不足
+     */
+    static int compress(byte[] src, int off, int len, byte[] dst, int dstOff, GZipOptions options) {
+        int limit = dst.length;
+        if (limit - dstOff < HEADER_LENGTH + TRAILER_LENGTH) {
+            throw new IllegalArgumentException("Destination buffer too small");
+        }
+        Deflater deflater = borrowDeflater(options);
+        try {
+            System.arraycopy(HEADER, 0, dst, dstOff, HEADER_LENGTH);
+            int pos = dstOff + HEADER_LENGTH;
+            int end = limit - TRAILER_LENGTH;
+            deflater.setInput(src, off, len);
+            deflater.finish();
+            while (!deflater.finished()) {
+                if (pos == end) {
+                    throw new IllegalArgumentException("Destination buffer too small");
+                }
+                pos += deflater.deflate(dst, pos, end - pos);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(src, off, len);
+            writeInt(dst, pos, (int) crc.getValue());
+            writeInt(dst, pos + 4, len);
+            return pos + TRAILER_LENGTH - dstOff;
+        } finally {
+            releaseDeflater(deflater);
+        }
+    }
+
+    /**
+     * 流式解压, 支持多 member, 流由调用方关闭
+     *
+     * @param options 解压参数, 使用缓冲区大小与解压限制
+     * @return 解压后的字节数
+     * @throws DecompressionLimitException 超过解压限制
+     */
+    static long decompress(InputStream in, OutputStream out, GZipOptions options) throws IOException {
+        byte[] input = borrowBuffer(INPUT_BUFFER, options.getBufferSize());
+        try {
+            return decompress(new Input(in, input, 0, 0), out, options);
+        } finally {
+            releaseBuffer(INPUT_BUFFER, input);
+        }
+    }
+
+    /**
+     * 解压内存数据, 支持多 member, 直接读取 {@code src} 不复制
+     *
+     * @param options 解压参数, 使用缓冲区大小与解压限制
+     * @return 解压后的字节数
+     * @throws DecompressionLimitException 超过解压限制
+     */
+    static long decompress(byte[] src, int off, int len, OutputStream out, GZipOptions options) throws IOException {
+        return decompress(new Input(null, src, off, off + len), out, options);
+    }
+
+    private static long decompress(Input input, OutputStream out, GZipOptions options) throws IOException {
+        int bufferSize = options.getBufferSize();
+        Inflater inflater = borrowInflater();
+        byte[] output = borrowBuffer(OUTPUT_BUFFER, bufferSize);
+        try {
+            CRC32 crc = new CRC32();
+            long total = 0;
+            // 之前各 member 消费的压缩数据长度
+            long read = 0;
+            boolean first = true;
+            while (readHeader(input, first)) {
+                first = false;
+                inflater.reset();
+                crc.reset();
+                long size = 0;
+                while (!inflater.finished()) {
+                    if (inflater.needsInput()) {
+                        if (input.pos == input.limit && input.fill() <= 0) {
+                            throw new EOFException("Unexpected end of ZLIB input stream");
+                        }
+                        inflater.setInput(input.buf, input.pos, input.limit - input.pos);
+                        input.pos = input.limit;
+                    }
+                    int n;
+                    try {
+                        n = inflater.inflate(output, 0, bufferSize);
+                    } catch (DataFormatException e) {
+                        throw new ZipException(e.getMessage() != null ? e.getMessage() : "Invalid ZLIB data format");
+                    }
+                    if (n > 0) {
+                        size += n;
+                        // 写出前检查, 超过限制的数据不会交给调用方
+                        checkLimits(options, total + size, read + inflater.getBytesRead());
+                        crc.update(output, 0, n);
+                        out.write(output, 0, n);
+                    } else if (inflater.needsDictionary()) {
+                        throw new ZipException("ZLIB dictionary missing");
+                    }
+                }
+                // 归还 inflater 未消费的数据(尾部与下一个 member)
+                input.pos -= inflater.getRemaining();
+                if (input.readUInt() != crc.getValue() || input.readUInt() != (size & 0xffffffffL)) {
+                    throw new ZipException("Corrupt GZIP trailer");
+                }
+                total += size;
+                read += inflater.getBytesRead();
+            }
+            return total;
+        } finally {
+            releaseBuffer(OUTPUT_BUFFER, output);
+            releaseInflater(inflater);
+        }
+    }
+
+    /**
+     * 检查解压限制
+     *
+     * @param output 已解压的字节数
+     * @param input  已消费的压缩数据字节数
+     */
+    private static void checkLimits(GZipOptions options, long output, long input) throws DecompressionLimitException {
+        long maxSize = options.getMaxDecompressedSize();
+        if (output > maxSize) {
+            throw new DecompressionLimitException("Decompressed size exceeds limit of " + maxSize + " bytes", maxSize);
+        }
+        int maxRatio = options.getMaxCompressionRatio();
+        if (output / maxRatio > Math.max(input, 1)) {
+            throw new DecompressionLimitException("Compression ratio exceeds limit of " + maxRatio, maxRatio);
+        }
+    }
+
+    /**
+     * 读取头部
+     *
+     * @param first 是否为第一个 member
+     * @return 是否读取到头部, 非第一个 member 遇到流结束或非 GZip 数据时返回 false
+     */
+    private static boolean readHeader(Input input, boolean first) throws IOException {
+        int b0 = input.read();
+        if (b0 == -1) {
+            if (first) {
+                throw new EOFException();
+            }
+            return false;
+        }
+        int b1 = input.read();
+        if (((b1 << 8) | b0) != GZIP_MAGIC) {
+            if (first) {
+                throw new ZipException("Not in GZIP format");
+            }
+            // 忽略尾部非 GZip 数据, 与 GZIPInputStream 一致
+            return false;
+        }
+        if (input.readUByte() != Deflater.DEFLATED) {
+            throw new ZipException("Unsupported compression method");
+        }
+        int flg = input.readUByte();
+        // MTIME(4), XFL(1), OS(1)
+        input.skip(6);
+        if ((flg & FEXTRA) == FEXTRA) {
+            input.skip(input.readUByte() | input.readUByte() << 8);
+        }
+        if ((flg & FNAME) == FNAME) {
+            while (input.readUByte() != 0) {
+                // skip
+            }
+        }
+        if ((flg & FCOMMENT) == FCOMMENT) {
+            while (input.readUByte() != 0) {
+                // skip
+            }
+        }
+        if ((flg & FHCRC) == FHCRC) {
+            input.skip(2);
+        }
+        return true;
+    }
+
+    static void writeHeader(OutputStream out) throws IOException {
+        out.write(HEADER);
+    }
+
+    static void writeTrailer(OutputStream out, long crc, long size) throws IOException {
+        byte[] trailer = new byte[TRAILER_LENGTH];
+        writeInt(trailer, 0, (int) crc);
+        writeInt(trailer, 4, (int) size);
+        out.write(trailer);
+    }
+
+    private static void writeInt(byte[] b, int off, int v) {
+        b[off] = (byte) v;
+        b[off + 1] = (byte) (v >> 8);
+        b[off + 2] = (byte) (v >> 16);
+        b[off + 3] = (byte) (v >> 24);
+    }
+
+    private static int deflate(Deflater deflater, byte[] output, int flush, OutputStream out) throws IOException {
+        int n = deflater.deflate(output, 0, output.length, flush);
+        if (n > 0) {
+            out.write(output, 0, n);
+        }
+        return n;
+    }
+
+    /**
+     * 刷新, 直到输出缓冲区未被填满
+     */
+    static int flush(Deflater deflater, byte[] output, int flush, OutputStream out) throws IOException {
+        int total = 0;
+        int n;
+        do {
+            n = deflate(deflater, output, flush, out);
+            total += n;
+        } while (n == output.length);
+        return total;
+    }
+
+    /**
+     * 从线程缓存借出 nowrap 模式的 {@link Deflater}, 使用后须调用 {@link #releaseDeflater(Deflater)}
+     */
+    static Deflater borrowDeflater(GZipOptions options) {
+        Deflater deflater = DEFLATER.get();
+        if (deflater == null) {
+            deflater = new Deflater(options.getLevel(), true);
+        } else {
+            DEFLATER.set(null);
+            deflater.reset();
+            deflater.setLevel(options.getLevel());
+        }
+        deflater.setStrategy(options.getStrategy());
+        return deflater;
+    }
+
+    static void releaseDeflater(Deflater deflater) {
+        if (DEFLATER.get() == null) {
+            DEFLATER.set(deflater);
+        } else {
+            deflater.end();
+        }
+    }
+
+    /**
+     * 从线程缓存借出 nowrap 模式的 {@link Inflater}, 使用后须调用 {@link #releaseInflater(Inflater)}
+     */
+    static Inflater borrowInflater() {
+        Inflater inflater = INFLATER.get();
+        if (inflater == null) {
+            return new Inflater(true);
+        }
+        INFLATER.set(null);
+        inflater.reset();
+        return inflater;
+    }
+
+    static void releaseInflater(Inflater inflater) {
+        if (INFLATER.get() == null) {
+            INFLATER.set(inflater);
+        } else {
+            inflater.end();
+        }
+    }
+
+    /**
+     * 从线程缓存借出不小于 {@code size} 的缓冲区, 缓存为空或过小时创建新缓冲区
+     */
+    private static byte[] borrowBuffer(ThreadLocal<byte[]> pool, int size) {
+        byte[] buffer = pool.get();
+        if (buffer != null && buffer.length >= size) {
+            pool.set(null);
+            return buffer;
+        }
+        return new byte[size];
+    }
+
+    private static void releaseBuffer(ThreadLocal<byte[]> pool, byte[] buffer) {
+        if (buffer.length <= MAX_POOLED_BUFFER_SIZE && pool.get() == null) {
+            pool.set(buffer);
+        }
+    }
+
+    /**
+     * 带缓冲的输入, {@code in} 为 {@code null} 时直接读取内存数据
+     */
+    private static final class Input {
+
+        private final InputStream in;
+        private final byte[] buf;
+        private int pos;
+        private int limit;
+
+        Input(InputStream in, byte[] buf, int pos, int limit) {
+            this.in = in;
+            this.buf = buf;
+            this.pos = pos;
+            this.limit = limit;
+        }
+
+        int fill() throws IOException {
+            if (in == null) {
+                return -1;
+            }
+            int n = in.read(buf, 0, buf.length);
+            pos = 0;
+            limit = Math.max(n, 0);
+            return n;
+        }
+
+        int read() throws IOException {
+            if (pos == limit && fill() <= 0) {
+                return -1;
+            }
+            return buf[pos++] & 0xFF;
+        }
+
+        int readUByte() throws IOException {
+            int b = read();
+            if (b == -1) {
+                throw new EOFException();
+            }
+            return b;
+        }
+
+        long readUInt() throws IOException {
+            long v = 0;
+            for (int i = 0; i < 4; i++) {
+                v |= (long) readUByte() << (i << 3);
+            }
+            return v;
+        }
+
+        void skip(int n) throws IOException {
+            for (int i = 0; i < n; i++) {
+                readUByte();
+            }
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.mingrn.itumate.commons.utils.zip;
+
+import java.util.zip.Deflater;
+
+/**
+ * GZip 压缩参数
+ * <p>
+ * 不可变对象, 可作为常量共享. 使用示例:
+ * <pre>{@code
+ *   GZipOptions options = GZipOptions.builder()
+ *           .level(Deflater.BEST_SPEED)
+ *           .bufferSize(64 * 1024)
+ *           .build();
+ *
+ *   byte[] gzip = GZipUtil.compress(json, options);
+ * }</pre>
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ * @see GZipUtil
+ */
+public final class GZipOptions {
+
+    /** 默认缓冲区大小, 64KB */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /** 默认并行压缩分块大小, 128KB */
+    public static final int DEFAULT_BLOCK_SIZE = 128 * 1024;
+
+    /** 并行压缩最小分块大小, 即 deflate 字典窗口大小 32KB */
+    public static final int MIN_BLOCK_SIZE = 32 * 1024;
+
+    /** 不限制解压大小 */
+    public static final long UNLIMITED_SIZE = Long.MAX_VALUE;
+
+    /** 不限制压缩比 */
+    public static final int UNLIMITED_RATIO = Integer.MAX_VALUE;
+
+    /** 默认参数: 默认压缩级别、默认策略、64KB 缓冲区、128KB 分块、不同步刷新、不限制解压 */
+    public static final GZipOptions DEFAULT = builder().build();
+
+    /** 压缩级别, -1 ~ 9 */
+    private final int level;
+
+    /** 压缩策略, 见 {@link Deflater#DEFAULT_STRATEGY} */
+    private final int strategy;
+
+    /** 读写缓冲区大小 */
+    private final int bufferSize;
+
+    /** 流式压缩时每次写入后是否同步刷新(SYNC_FLUSH) */
+    private final boolean syncFlush;
+
+    /** 并行压缩分块大小 */
+    private final int blockSize;
+
+    /** 解压后最大字节数 */
+    private final long maxDecompressedSize;
+
+    /** 最大压缩比, 解压后字节数与已读取压缩数据字节数之比 */
+    private final int maxCompressionRatio;
+
+    private GZipOptions(Builder builder) {
+        this.level = builder.level;
+        this.strategy = builder.strategy;
+        this.bufferSize = builder.bufferSize;
+        this.syncFlush = builder.syncFlush;
+        this.blockSize = builder.blockSize;
+        this.maxDecompressedSize = builder.maxDecompressedSize;
+        this.maxCompressionRatio = builder.maxCompressionRatio;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getStrategy() {
+        return strategy;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public boolean isSyncFlush() {
+        return syncFlush;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public long getMaxDecompressedSize() {
+        return maxDecompressedSize;
+    }
+
+    public int getMaxCompressionRatio() {
+        return maxCompressionRatio;
+    }
+
+    public static final class Builder {
+
+        private int level = Deflater.DEFAULT_COMPRESSION;
+        private int strategy = Deflater.DEFAULT_STRATEGY;
+        private int bufferSize = DEFAULT_BUFFER_SIZE;
+        private boolean syncFlush = false;
+        private int blockSize = DEFAULT_BLOCK_SIZE;
+        private long maxDecompressedSize = UNLIMITED_SIZE;
+        private int maxCompressionRatio = UNLIMITED_RATIO;
+
+        private Builder() {
+        }
+
+        /**
+         * 压缩级别
+         *
+         * @param level {@link Deflater#BEST_SPEED}(1) ~ {@link Deflater#BEST_COMPRESSION}(9),
+         *              {@link Deflater#NO_COMPRESSION}(0) 或 {@link Deflater#DEFAULT_COMPRESSION}(-1)
+         */
+        public Builder level(int level) {
+            if ((level < 0 || level > 9) && level != Deflater.DEFAULT_COMPRESSION) {
+                throw new IllegalArgumentException("invalid compression level: " + level);
+            }
+            this.level = level;
+            return this;
+        }
+
+        /**
+         * 压缩策略
+         *
+         * @param strategy {@link Deflater#DEFAULT_STRATEGY}、{@link Deflater#FILTERED} 或 {@link Deflater#HUFFMAN_ONLY}
+         */
+        public Builder strategy(int strategy) {
+            if (strategy != Deflater.DEFAULT_STRATEGY && strategy != Deflater.FILTERED && strategy != Deflater.HUFFMAN_ONLY) {
+                throw new IllegalArgumentException("invalid compression strategy: " + strategy);
+            }
+            this.strategy = strategy;
+            return this;
+        }
+
+        /**
+         * 读写缓冲区大小
+         *
+         * @param bufferSize 大于 0
+         */
+        public Builder bufferSize(int bufferSize) {
+            if (bufferSize <= 0) {
+                throw new IllegalArgumentException("buffer size must be positive: " + bufferSize);
+            }
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        /**
+         * 流式压缩时每次读取输入后是否同步刷新, 适用于需要接收方及时解压的网络流
+         */
+        public Builder syncFlush(boolean syncFlush) {
+            this.syncFlush = syncFlush;
+            return this;
+        }
+
+        /**
+         * 并行压缩分块大小, 每块由一个任务压缩. 分块越大压缩率越接近单线程压缩, 但并发度与内存占用随之变化
+         *
+         * @param blockSize 不小于 {@link #MIN_BLOCK_SIZE}
+         */
+        public Builder blockSize(int blockSize) {
+            if (blockSize < MIN_BLOCK_SIZE) {
+                throw new IllegalArgumentException("block size must not be less than " + MIN_BLOCK_SIZE + ": " + blockSize);
+            }
+            this.blockSize = blockSize;
+            return this;
+        }
+
+        /**
+         * 解压后最大字节数, 超过时抛出 {@link DecompressionLimitException}. 解压不可信数据(如上传内容)时应设置
+         *
+         * @param maxDecompressedSize 大于 0
+         */
+        public Builder maxDecompressedSize(long maxDecompressedSize) {
+            if (maxDecompressedSize <= 0) {
+                throw new IllegalArgumentException("max decompressed size must be positive: " + maxDecompressedSize);
+            }
+            this.maxDecompressedSize = maxDecompressedSize;
+            return this;
+        }
+
+        /**
+         * 最大压缩比, 解压过程中已解压字节数超过已读取压缩数据的该倍数时抛出 {@link DecompressionLimitException}.
+         * 普通文本压缩比通常低于 20, 压缩炸弹可达 1000 以上
+         *
+         * @param maxCompressionRatio 大于 0
+         */
+        public Builder maxCompressionRatio(int maxCompressionRatio) {
+            if (maxCompressionRatio <= 0) {
+                throw new IllegalArgumentException("max compression ratio must be positive: " + maxCompressionRatio);
+            }
+            this.maxCompressionRatio = maxCompressionRatio;
+            return this;
+        }
+
+        public GZipOptions build() {
+            return new GZipOptions(this);
+        }
+    }
+}
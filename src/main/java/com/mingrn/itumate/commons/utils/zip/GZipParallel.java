@@ -0,0 +1,172 @@
+package com.mingrn.itumate.commons.utils.zip;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * GZip 并行压缩(与 pigz 相同的方式)
+ * <p>
+ * 输入按 {@link GZipOptions#getBlockSize()} 分块, 每块在 {@link Executor} 上独立压缩:
+ * 以前一块末尾 32KB 作为预置字典, 并以 SYNC_FLUSH 结束使输出按字节对齐, 因此各块输出按顺序拼接后
+ * 即为一个标准的单 member deflate 流, 最后补一个空的结束块. 压缩率与单线程压缩基本一致,
+ * {@code gzip -d}、{@link java.util.zip.GZIPInputStream} 与 {@link GZipUtil#decompress} 均可直接解压.
+ * <p>
+ * CRC32 由调用线程按顺序计算(远快于 deflate); 同时进行中的分块数量有上限, 内存占用与输入大小无关.
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ */
+final class GZipParallel {
+
+    private GZipParallel() {
+    }
+
+    /** deflate 字典窗口大小 */
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+
+    /** 空的固定哈夫曼结束块(BFINAL=1), 与 zlib 在 SYNC_FLUSH 后 FINISH 的输出一致 */
+    private static final byte[] FINAL_BLOCK = {0x03, 0x00};
+
+    /** 同时进行中的分块数量上限 */
+    private static final int MAX_IN_FLIGHT = Math.max(2, Runtime.getRuntime().availableProcessors() * 2);
+
+    /**
+     * 并行压缩, 流由调用方关闭
+     *
+     * @return 写入的字节数
+     */
+    static long compress(InputStream in, OutputStream out, GZipOptions options, Executor executor) throws IOException {
+        Deque<Future<Block>> pending = new ArrayDeque<>(MAX_IN_FLIGHT);
+        CRC32 crc = new CRC32();
+        long size = 0;
+        long total = GZipFormat.HEADER_LENGTH;
+        GZipFormat.writeHeader(out);
+        try {
+            Block previous = null;
+            Block block;
+            while ((block = Block.read(in, options.getBlockSize(), previous)) != null) {
+                crc.update(block.input, 0, block.length);
+                size += block.length;
+                FutureTask<Block> task = new FutureTask<>(new Deflate(block, options));
+                pending.add(task);
+                executor.execute(task);
+                if (pending.size() >= MAX_IN_FLIGHT) {
+                    total += write(pending.poll(), out);
+                }
+                previous = block;
+            }
+            while (!pending.isEmpty()) {
+                total += write(pending.poll(), out);
+            }
+        } finally {
+            for (Future<Block> future : pending) {
+                future.cancel(true);
+            }
+        }
+        out.write(FINAL_BLOCK);
+        GZipFormat.writeTrailer(out, crc.getValue(), size);
+        return total + FINAL_BLOCK.length + GZipFormat.TRAILER_LENGTH;
+    }
+
+    private static int write(Future<Block> future, OutputStream out) throws IOException {
+        Block block;
+        try {
+            block = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("parallel gzip compression interrupted");
+        } catch (ExecutionException e) {
+            throw new IOException("parallel gzip compression failed", e.getCause());
+        }
+        out.write(block.output, 0, block.outputLength);
+        return block.outputLength;
+    }
+
+    /**
+     * 输入分块
+     */
+    private static final class Block {
+
+        private final byte[] input;
+        private final int length;
+
+        /** 前一块的输入, 提供预置字典; 分块不小于字典窗口, 只需引用前一块. 不引用前一块对象, 避免分块串联无法回收 */
+        private final byte[] dictionary;
+        private final int dictionaryLength;
+
+        private byte[] output;
+        private int outputLength;
+
+        private Block(byte[] input, int length, Block previous) {
+            this.input = input;
+            this.length = length;
+            this.dictionary = previous == null ? null : previous.input;
+            this.dictionaryLength = previous == null ? 0 : previous.length;
+        }
+
+        /**
+         * 读满一块, 输入结束时返回 {@code null}
+         */
+        static Block read(InputStream in, int blockSize, Block previous) throws IOException {
+            byte[] input = new byte[blockSize];
+            int length = 0;
+            int n;
+            while (length < blockSize && (n = in.read(input, length, blockSize - length)) != -1) {
+                length += n;
+            }
+            return length == 0 ? null : new Block(input, length, previous);
+        }
+    }
+
+    /**
+     * 压缩一个分块, 使用工作线程缓存的 {@link Deflater}
+     */
+    private static final class Deflate implements Callable<Block> {
+
+        private final Block block;
+        private final GZipOptions options;
+
+        Deflate(Block block, GZipOptions options) {
+            this.block = block;
+            this.options = options;
+        }
+
+        @Override
+        public Block call() {
+            Deflater deflater = GZipFormat.borrowDeflater(options);
+            try {
+                byte[] output = new byte[GZipFormat.maxCompressedLength(block.length)];
+                // 级别/策略变更在下一次 deflate 时才生效且该次调用不处理输入, 先以空输入调用, 使其在预置字典前生效
+                deflater.deflate(output, 0, output.length, Deflater.NO_FLUSH);
+                if (block.dictionary != null) {
+                    int len = Math.min(DICTIONARY_SIZE, block.dictionaryLength);
+                    deflater.setDictionary(block.dictionary, block.dictionaryLength - len, len);
+                }
+                deflater.setInput(block.input, 0, block.length);
+                int pos = 0;
+                do {
+                    if (pos == output.length) {
+                        output = Arrays.copyOf(output, output.length << 1);
+                    }
+                    pos += deflater.deflate(output, pos, output.length - pos, Deflater.SYNC_FLUSH);
+                } while (!deflater.needsInput() || pos == output.length);
+                block.output = output;
+                block.outputLength = pos;
+                return block;
+            } finally {
+                GZipFormat.releaseDeflater(deflater);
+            }
+        }
+    }
+}
@@ -4,11 +4,24 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * GZip 工具类
+ * <p>
+ * 压缩解压均复用线程缓存的 {@link java.util.zip.Deflater}/{@link java.util.zip.Inflater} 与读写缓冲区,
+ * 可通过 {@link GZipOptions} 指定压缩级别、策略、缓冲区大小与同步刷新. 除返回 {@code byte[]} 的方法外,
+ * 还支持写入调用方提供的 {@code byte[]}/{@link ByteBuffer}:
+ * <pre>{@code
+ *   GZipOptions options = GZipOptions.builder().level(Deflater.BEST_SPEED).build();
+ *
+ *   byte[] dst = new byte[GZipUtil.maxCompressedLength(json.length)];
+ *   int len = GZipUtil.compress(json, 0, json.length, dst, 0, options);
+ * }</pre>
+ * 大文件可使用 {@code compressParallel} 在多个线程上分块压缩, 输出仍为标准 GZip 格式.
  *
  * @author MinGRn
  */
@@ -18,9 +31,14 @@ public final class GZipUtil {
     private GZipUtil() {
     }
 
-    private static final int BUFFER_SIZE = 1024;
     private static final String GZIP_EXT = ".gz";
 
+    /** 解压结果大小预估上限, 避免根据 GZip 尾部 ISIZE 一次性分配过大内存 */
+    private static final int MAX_SIZE_HINT = 64 * 1024 * 1024;
+
+    /** ISIZE 由发送方填写, 预估大小不超过压缩数据的该倍数, 超出部分由缓冲区按需扩容 */
+    private static final int SIZE_HINT_RATIO = 16;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(GZipUtil.class);
 
 
@@ -30,16 +48,7 @@ public final class GZipUtil {
      * @param data 压缩数据
      */
     public static byte[] compress(byte[] data) {
-        byte[] output = null;
-        try (ByteArrayInputStream inputStream = new ByteArrayInputStream(data);
-             ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-            compress(inputStream, outputStream);
-            output = outputStream.toByteArray();
-            outputStream.flush();
-        } catch (IOException e) {
-            LOGGER.error("data compress exception", e);
-        }
-        return output;
+        return compress(data, GZipOptions.DEFAULT);
     }
 
 
@@ -96,26 +105,156 @@ public final class GZipUtil {
 
 
     /**
-     * 数据压缩
+     * 数据压缩, 完成后关闭输出流
      *
      * @param inputStream  输入流
      * @param outputStream 输出流
      */
     public static void compress(InputStream inputStream, OutputStream outputStream) {
-        try (GZIPOutputStream gzip = new GZIPOutputStream(outputStream)) {
-            int count;
-            byte[] data = new byte[BUFFER_SIZE];
-            while ((count = inputStream.read(data, 0, BUFFER_SIZE)) != -1) {
-                gzip.write(data, 0, count);
+        try (OutputStream out = outputStream) {
+            compress(inputStream, out, GZipOptions.DEFAULT);
+            out.flush();
+        } catch (IOException e) {
+            LOGGER.error("data compress exception", e);
+        }
+    }
+
+
+    /**
+     * 数据压缩
+     *
+     * @param data    压缩数据
+     * @param options 压缩参数
+     * @return 压缩后数据
+     */
+    public static byte[] compress(byte[] data, GZipOptions options) {
+        return GZipFormat.compress(data, options);
+    }
+
+
+    /**
+     * 数据压缩, 写入调用方提供的字节数组
+     *
+     * @param src     压缩数据
+     * @param off     数据起始下标
+     * @param len     数据长度
+     * @param dst     目标, 剩余空间建议不小于 {@link #maxCompressedLength(int)}
+     * @param dstOff  目标起始下标
+     * @param options 压缩参数
+     * @return 写入的字节数
+     * @throws IllegalArgumentException 目标空间不足
+     */
+    public static int compress(byte[] src, int off, int len, byte[] dst, int dstOff, GZipOptions options) {
+        return GZipFormat.compress(src, off, len, dst, dstOff, options);
+    }
+
+
+    /**
+     * 数据压缩, 将 {@code src} 剩余数据压缩写入 {@code dst}
+     *
+     * @param src     压缩数据
+     * @param dst     目标, 剩余空间建议不小于 {@link #maxCompressedLength(int)}
+     * @param options 压缩参数
+     * @return 写入的字节数
+     * @throws IllegalArgumentException 目标空间不足
+     */
+    public static int compress(ByteBuffer src, ByteBuffer dst, GZipOptions options) {
+        if (src.hasArray() && dst.hasArray()) {
+            int n = compress(src.array(), src.arrayOffset() + src.position(), src.remaining(),
+                    dst.array(), dst.arrayOffset() + dst.position(), options);
+            src.position(src.limit());
+            dst.position(dst.position() + n);
+            return n;
+        }
+        int start = dst.position();
+        try {
+            compress(new ByteBufferStreams.Input(src), new ByteBufferStreams.Output(dst), options);
+        } catch (BufferOverflowException e) {
+            throw new IllegalArgumentException("Destination buffer too small", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return dst.position() - start;
+    }
+
+
+    /**
+     * 流式压缩, 流由调用方关闭
+     *
+     * @param in      输入流
+     * @param out     输出流
+     * @param options 压缩参数
+     * @return 写入的字节数
+     */
+    public static long compress(InputStream in, OutputStream out, GZipOptions options) throws IOException {
+        return GZipFormat.compress(in, out, options);
+    }
+
+
+    /**
+     * 文件并行压缩, 使用 {@link ForkJoinPool#commonPool()}
+     *
+     * @param file   压缩文件
+     * @param delete 是否删除原始文件
+     */
+    public static void compressParallel(File file, boolean delete) {
+        compressParallel(file, delete, GZipOptions.DEFAULT, ForkJoinPool.commonPool());
+    }
+
+
+    /**
+     * 文件并行压缩, 生成 {@code file.gz}
+     *
+     * @param file     压缩文件
+     * @param delete   是否删除原始文件
+     * @param options  压缩参数, 分块大小见 {@link GZipOptions#getBlockSize()}
+     * @param executor 执行分块压缩的线程池
+     */
+    public static void compressParallel(File file, boolean delete, GZipOptions options, Executor executor) {
+        try (FileInputStream inputStream = new FileInputStream(file);
+             FileOutputStream fileOutputStream = new FileOutputStream(file.getPath() + GZIP_EXT);
+             OutputStream outputStream = new BufferedOutputStream(fileOutputStream, options.getBufferSize())) {
+            compressParallel(inputStream, outputStream, options, executor);
+            outputStream.flush();
+            if (delete) {
+                file.deleteOnExit();
             }
-            gzip.finish();
-            gzip.flush();
         } catch (IOException e) {
             LOGGER.error("data compress exception", e);
         }
     }
 
 
+    /**
+     * 流式并行压缩, 流由调用方关闭
+     * <p>
+     * 输入按分块在 {@code executor} 上并发压缩, 按顺序写出为单个 GZip member,
+     * 可由 {@link #decompress(InputStream, OutputStream, GZipOptions)} 或 gzip 命令解压.
+     * {@link GZipOptions#isSyncFlush()} 不生效, 每个分块结束时均已按字节对齐刷新.
+     *
+     * @param in       输入流
+     * @param out      输出流
+     * @param options  压缩参数, 分块大小见 {@link GZipOptions#getBlockSize()}
+     * @param executor 执行分块压缩的线程池; 传入在调用线程直接执行的 Executor 时退化为单线程压缩
+     * @return 写入的字节数
+     * @throws IOException 读写失败、分块压缩失败或线程被中断
+     */
+    public static long compressParallel(InputStream in, OutputStream out, GZipOptions options, Executor executor) throws IOException {
+        return GZipParallel.compress(in, out, options, executor);
+    }
+
+
+    /**
+     * 压缩后最大长度
+     *
+     * @param len 原始数据长度
+     * @return 压缩后最大长度
+     */
+    public static int maxCompressedLength(int len) {
+        return GZipFormat.maxCompressedLength(len);
+    }
+
+
     /**
      * 数据解压数据
      *
@@ -124,12 +263,8 @@ public final class GZipUtil {
      * @throws Exception
      */
     public static byte[] decompress(byte[] data) throws Exception {
-        try (ByteArrayInputStream inputStream = new ByteArrayInputStream(data);
-             ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-            decompress(inputStream, outputStream);
-            data = outputStream.toByteArray();
-            outputStream.flush();
-            return data;
+        try {
+            return decompress(data, GZipOptions.DEFAULT);
         } catch (IOException e) {
             LOGGER.error("data decompress exception", e);
         }
@@ -138,20 +273,173 @@ public final class GZipUtil {
 
 
     /**
-     * 数据解压文件
+     * 数据解压文件, 完成后关闭输入流
      *
      * @param inputStream  数据输入流
      * @param outputStream 数据输出流
      */
     public static void decompress(InputStream inputStream, OutputStream outputStream) {
-        try (GZIPInputStream gzip = new GZIPInputStream(inputStream)) {
-            int count;
-            byte[] data = new byte[BUFFER_SIZE];
-            while ((count = gzip.read(data, 0, BUFFER_SIZE)) != -1) {
-                outputStream.write(data, 0, count);
-            }
+        try (InputStream in = inputStream) {
+            decompress(in, outputStream, GZipOptions.DEFAULT);
         } catch (IOException e) {
             LOGGER.error("data decompress exception", e);
         }
     }
-}
\ No newline at end of file
+
+
+    /**
+     * 数据解压, 支持多个 GZip member 拼接的数据
+     * <p>
+     * 解压不可信数据时应通过 {@link GZipOptions.Builder#maxDecompressedSize(long)} 与
+     * {@link GZipOptions.Builder#maxCompressionRatio(int)} 限制解压结果, 避免压缩炸弹耗尽内存:
+     * <pre>{@code
+     *   GZipOptions limits = GZipOptions.builder().maxDecompressedSize(16 * 1024 * 1024).maxCompressionRatio(100).build();
+     *   byte[] body = GZipUtil.decompress(upload, limits);
+     * }</pre>
+     *
+     * @param data    压缩数据
+     * @param options 解压参数, 使用缓冲区大小与解压限制
+     * @return 解压后数据
+     * @throws DecompressionLimitException 超过解压限制
+     * @throws IOException                 数据不是合法的 GZip 格式
+     */
+    public static byte[] decompress(byte[] data, GZipOptions options) throws IOException {
+        int sizeHint = (int) Math.min(sizeHint(data), options.getMaxDecompressedSize());
+        ByteBufferStreams.ByteArrayOutput out = new ByteBufferStreams.ByteArrayOutput(sizeHint);
+        GZipFormat.decompress(data, 0, data.length, out, options);
+        return out.toByteArray();
+    }
+
+
+    /**
+     * 数据解压, 逐块交给 {@code consumer} 处理, 不在内存中保留完整结果
+     *
+     * @param data     压缩数据
+     * @param options  解压参数, 使用缓冲区大小与解压限制, 缓冲区大小即每块最大长度
+     * @param consumer 数据块处理
+     * @return 解压后的字节数
+     * @throws DecompressionLimitException 超过解压限制
+     * @throws IOException                 数据不是合法的 GZip 格式或处理失败
+     */
+    public static long decompress(byte[] data, GZipOptions options, ChunkConsumer consumer) throws IOException {
+        return GZipFormat.decompress(data, 0, data.length, new ChunkOutputStream(consumer), options);
+    }
+
+
+    /**
+     * 流式解压, 逐块交给 {@code consumer} 处理, 不在内存中保留完整结果, 流由调用方关闭
+     * <pre>{@code
+     *   GZipUtil.decompress(request.getInputStream(), limits, (buffer, off, len) -> parser.feed(buffer, off, len));
+     * }</pre>
+     *
+     * @param in       压缩数据输入流
+     * @param options  解压参数, 使用缓冲区大小与解压限制, 缓冲区大小即每块最大长度
+     * @param consumer 数据块处理
+     * @return 解压后的字节数
+     * @throws DecompressionLimitException 超过解压限制
+     * @throws IOException                 读取失败、数据不是合法的 GZip 格式或处理失败
+     */
+    public static long decompress(InputStream in, GZipOptions options, ChunkConsumer consumer) throws IOException {
+        return GZipFormat.decompress(in, new ChunkOutputStream(consumer), options);
+    }
+
+
+    /**
+     * 数据解压, 写入调用方提供的字节数组
+     *
+     * @param src    压缩数据
+     * @param off    数据起始下标
+     * @param len    数据长度
+     * @param dst    目标
+     * @param dstOff 目标起始下标
+     * @return 写入的字节数
+     * @throws IOException              数据不是合法的 GZip 格式
+     * @throws IllegalArgumentException 目标空间不足
+     */
+    public static int decompress(byte[] src, int off, int len, byte[] dst, int dstOff) throws IOException {
+        ByteBuffer target = ByteBuffer.wrap(dst, dstOff, dst.length - dstOff);
+        try {
+            GZipFormat.decompress(src, off, len, new ByteBufferStreams.Output(target), GZipOptions.DEFAULT);
+        } catch (BufferOverflowException e) {
+            throw new IllegalArgumentException("Destination buffer too small", e);
+        }
+        return target.position() - dstOff;
+    }
+
+
+    /**
+     * 数据解压, 将 {@code src} 剩余数据解压写入 {@code dst}
+     *
+     * @param src 压缩数据
+     * @param dst 目标
+     * @return 写入的字节数
+     * @throws IOException              数据不是合法的 GZip 格式
+     * @throws IllegalArgumentException 目标空间不足
+     */
+    public static int decompress(ByteBuffer src, ByteBuffer dst) throws IOException {
+        int start = dst.position();
+        try {
+            if (src.hasArray()) {
+                GZipFormat.decompress(src.array(), src.arrayOffset() + src.position(), src.remaining(),
+                        new ByteBufferStreams.Output(dst), GZipOptions.DEFAULT);
+                src.position(src.limit());
+            } else {
+                GZipFormat.decompress(new ByteBufferStreams.Input(src), new ByteBufferStreams.Output(dst), GZipOptions.DEFAULT);
+            }
+        } catch (BufferOverflowException e) {
+            throw new IllegalArgumentException("Destination buffer too small", e);
+        }
+        return dst.position() - start;
+    }
+
+
+    /**
+     * 流式解压, 支持多个 GZip member 拼接的数据, 流由调用方关闭
+     *
+     * @param in      压缩数据输入流
+     * @param out     输出流
+     * @param options 解压参数, 使用缓冲区大小与解压限制
+     * @return 解压后的字节数
+     * @throws DecompressionLimitException 超过解压限制
+     * @throws IOException                 读写失败或数据不是合法的 GZip 格式
+     */
+    public static long decompress(InputStream in, OutputStream out, GZipOptions options) throws IOException {
+        return GZipFormat.decompress(in, out, options);
+    }
+
+
+    /**
+     * 根据 GZip 尾部 ISIZE 预估解压后大小
+     */
+    private static int sizeHint(byte[] data) {
+        int len = data.length;
+        if (len < GZipFormat.HEADER_LENGTH + GZipFormat.TRAILER_LENGTH) {
+            return len;
+        }
+        long size = (data[len - 4] & 0xFFL) | (data[len - 3] & 0xFFL) << 8
+                | (data[len - 2] & 0xFFL) << 16 | (data[len - 1] & 0xFFL) << 24;
+        return (int) Math.min(Math.max(size, len), Math.min((long) len * SIZE_HINT_RATIO, MAX_SIZE_HINT));
+    }
+
+    /**
+     * 将写入转交给 {@link ChunkConsumer}, 不复制数据
+     */
+    private static final class ChunkOutputStream extends OutputStream {
+
+        private final ChunkConsumer consumer;
+
+        ChunkOutputStream(ChunkConsumer consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            consumer.accept(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            consumer.accept(b, off, len);
+        }
+    }
+}
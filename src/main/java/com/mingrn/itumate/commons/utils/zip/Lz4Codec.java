@@ -0,0 +1,127 @@
+package com.mingrn.itumate.commons.utils.zip;
+
+import net.jpountz.lz4.LZ4BlockInputStream;
+import net.jpountz.lz4.LZ4BlockOutputStream;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * LZ4 编码, 压缩率低于 GZip, 但压缩解压速度高一个数量级, 适合缓存与低延迟报文
+ * <p>
+ * 依赖可选类库 {@code org.lz4:lz4-java}, 优先使用 JNI 实现, 不可用时退化为纯 Java 实现.
+ * 解压使用带边界检查的 {@link LZ4SafeDecompressor}, 可处理不可信数据.
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ */
+public final class Lz4Codec implements Codec {
+
+    public static final int ID = 3;
+
+    public static final String NAME = "lz4";
+
+    /** 流压缩分块大小 */
+    private static final int BLOCK_SIZE = 64 * 1024;
+
+    private final LZ4Compressor compressor;
+
+    private final LZ4SafeDecompressor decompressor;
+
+    /**
+     * 快速压缩
+     */
+    public Lz4Codec() {
+        this(false);
+    }
+
+    /**
+     * @param high 是否使用 LZ4 HC 高压缩率模式, 压缩较慢, 解压速度不变
+     */
+    public Lz4Codec(boolean high) {
+        LZ4Factory factory = LZ4Factory.fastestInstance();
+        this.compressor = high ? factory.highCompressor() : factory.fastCompressor();
+        this.decompressor = factory.safeDecompressor();
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int getId() {
+        return ID;
+    }
+
+    @Override
+    public int maxCompressedLength(int len) {
+        return compressor.maxCompressedLength(len);
+    }
+
+    @Override
+    public long maxDecompressedLength(int len) {
+        // 长度字段每个扩展字节最多表示 255 字节
+        return 255L * len;
+    }
+
+    @Override
+    public int compress(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        try {
+            return compressor.compress(src, off, len, dst, dstOff, dst.length - dstOff);
+        } catch (LZ4Exception e) {
+            throw new IllegalArgumentException("Destination buffer too small", e);
+        }
+    }
+
+    @Override
+    public int decompress(byte[] src, int off, int len, byte[] dst, int dstOff, int originalLength) throws IOException {
+        try {
+            return decompressor.decompress(src, off, len, dst, dstOff, originalLength);
+        } catch (LZ4Exception e) {
+            throw new IOException("Corrupt LZ4 data", e);
+        }
+    }
+
+    @Override
+    public int compress(ByteBuffer src, ByteBuffer dst) {
+        int start = dst.position();
+        try {
+            compressor.compress(src, dst);
+        } catch (LZ4Exception e) {
+            throw new IllegalArgumentException("Destination buffer too small", e);
+        }
+        return dst.position() - start;
+    }
+
+    @Override
+    public int decompress(ByteBuffer src, ByteBuffer dst, int originalLength) throws IOException {
+        if (originalLength > dst.remaining()) {
+            throw new IllegalArgumentException("Destination buffer too small");
+        }
+        int n;
+        try {
+            n = decompressor.decompress(src, src.position(), src.remaining(), dst, dst.position(), originalLength);
+        } catch (LZ4Exception e) {
+            throw new IOException("Corrupt LZ4 data", e);
+        }
+        src.position(src.limit());
+        dst.position(dst.position() + n);
+        return n;
+    }
+
+    @Override
+    public OutputStream compressing(OutputStream out) {
+        return new LZ4BlockOutputStream(out, BLOCK_SIZE, compressor);
+    }
+
+    @Override
+    public InputStream decompressing(InputStream in) {
+        return new LZ4BlockInputStream(in);
+    }
+}
@@ -0,0 +1,107 @@
+package com.mingrn.itumate.commons.utils.zip;
+
+import org.xerial.snappy.Snappy;
+import org.xerial.snappy.SnappyFramedInputStream;
+import org.xerial.snappy.SnappyFramedOutputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Snappy 编码, 速度与 LZ4 相近, 便于与已使用 Snappy 的系统(如 Kafka、Hadoop)交换数据
+ * <p>
+ * 依赖可选类库 {@code org.xerial.snappy:snappy-java}. 流压缩使用 Snappy framing 格式.
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ */
+public final class SnappyCodec implements Codec {
+
+    public static final int ID = 5;
+
+    public static final String NAME = "snappy";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int getId() {
+        return ID;
+    }
+
+    @Override
+    public int maxCompressedLength(int len) {
+        return Snappy.maxCompressedLength(len);
+    }
+
+    @Override
+    public long maxDecompressedLength(int len) {
+        // 3 字节的复制指令最多输出 64 字节
+        return 22L * len;
+    }
+
+    @Override
+    public int compress(byte[] src, int off, int len, byte[] dst, int dstOff) throws IOException {
+        if (dst.length - dstOff < Snappy.maxCompressedLength(len)) {
+            throw new IllegalArgumentException("Destination buffer too small");
+        }
+        return Snappy.compress(src, off, len, dst, dstOff);
+    }
+
+    @Override
+    public int decompress(byte[] src, int off, int len, byte[] dst, int dstOff, int originalLength) throws IOException {
+        if (Snappy.uncompressedLength(src, off, len) != originalLength) {
+            throw new IOException("Corrupt Snappy data: length mismatch");
+        }
+        return Snappy.uncompress(src, off, len, dst, dstOff);
+    }
+
+    @Override
+    public int compress(ByteBuffer src, ByteBuffer dst) throws IOException {
+        if (!src.isDirect() || !dst.isDirect()) {
+            return Codec.super.compress(src, dst);
+        }
+        if (dst.remaining() < Snappy.maxCompressedLength(src.remaining())) {
+            throw new IllegalArgumentException("Destination buffer too small");
+        }
+        // Snappy 不移动 position, 而是将 dst 的 limit 设为压缩数据末尾
+        int position = dst.position();
+        int limit = dst.limit();
+        int n = Snappy.compress(src, dst);
+        src.position(src.limit());
+        dst.limit(limit).position(position + n);
+        return n;
+    }
+
+    @Override
+    public int decompress(ByteBuffer src, ByteBuffer dst, int originalLength) throws IOException {
+        if (!src.isDirect() || !dst.isDirect()) {
+            return Codec.super.decompress(src, dst, originalLength);
+        }
+        if (originalLength > dst.remaining()) {
+            throw new IllegalArgumentException("Destination buffer too small");
+        }
+        if (Snappy.uncompressedLength(src) != originalLength) {
+            throw new IOException("Corrupt Snappy data: length mismatch");
+        }
+        int position = dst.position();
+        int limit = dst.limit();
+        int n = Snappy.uncompress(src, dst);
+        src.position(src.limit());
+        dst.limit(limit).position(position + n);
+        return n;
+    }
+
+    @Override
+    public OutputStream compressing(OutputStream out) throws IOException {
+        return new SnappyFramedOutputStream(out);
+    }
+
+    @Override
+    public InputStream decompressing(InputStream in) throws IOException {
+        return new SnappyFramedInputStream(in);
+    }
+}
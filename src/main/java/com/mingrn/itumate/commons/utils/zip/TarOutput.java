@@ -0,0 +1,156 @@
+package com.mingrn.itumate.commons.utils.zip;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * tar(POSIX ustar) 格式写入
+ * <p>
+ * 名称超过 100 字节或长度超过 8GB 的条目前写入 PAX 扩展头({@code path}、{@code size}).
+ * 只写入普通文件条目, 目录由条目名称中的 {@code /} 隐含.
+ *
+ * @author MinGRn <br > MinGRn97@gmail.com
+ */
+final class TarOutput {
+
+    private static final int BLOCK_SIZE = 512;
+
+    private static final int NAME_LENGTH = 100;
+
+    /** ustar 头部八进制长度字段上限, 11 位八进制 */
+    private static final long MAX_OCTAL_SIZE = 077777777777L;
+
+    private static final byte TYPE_FILE = '0';
+    private static final byte TYPE_PAX = 'x';
+
+    private final OutputStream out;
+
+    private final byte[] header = new byte[BLOCK_SIZE];
+
+    /** 当前条目剩余待写入的字节数 */
+    private long remaining;
+
+    /** 当前条目长度 */
+    private long size;
+
+    TarOutput(OutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * 开始写入条目
+     *
+     * @param name         条目名称
+     * @param size         数据长度
+     * @param lastModified 最后修改时间, 毫秒; 小于 0 时使用当前时间
+     */
+    void putEntry(String name, long size, long lastModified) throws IOException {
+        long mtime = (lastModified < 0 ? System.currentTimeMillis() : lastModified) / 1000;
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        StringBuilder pax = new StringBuilder();
+        if (nameBytes.length > NAME_LENGTH) {
+            appendPaxRecord(pax, "path", name);
+        }
+        if (size > MAX_OCTAL_SIZE) {
+            appendPaxRecord(pax, "size", Long.toString(size));
+        }
+        if (pax.length() > 0) {
+            byte[] records = pax.toString().getBytes(StandardCharsets.UTF_8);
+            byte[] paxName = ("PaxHeaders/" + name).getBytes(StandardCharsets.UTF_8);
+            writeHeader(paxName, records.length, mtime, TYPE_PAX);
+            out.write(records);
+            pad(records.length);
+        }
+        writeHeader(nameBytes, size > MAX_OCTAL_SIZE ? 0 : size, mtime, TYPE_FILE);
+        this.size = size;
+        this.remaining = size;
+    }
+
+    void write(byte[] b, int off, int len) throws IOException {
+        if (len > remaining) {
+            throw new IOException("Entry data exceeds declared size " + size);
+        }
+        out.write(b, off, len);
+        remaining -= len;
+    }
+
+    /**
+     * 结束当前条目, 补齐到 512 字节
+     */
+    void closeEntry() throws IOException {
+        if (remaining != 0) {
+            throw new IOException("Entry data is shorter than declared size " + size);
+        }
+        pad(size);
+    }
+
+    /**
+     * 写入归档结束标记(两个空块), 不关闭输出流
+     */
+    void finish() throws IOException {
+        out.write(new byte[BLOCK_SIZE * 2]);
+    }
+
+    private void writeHeader(byte[] name, long size, long mtime, byte type) throws IOException {
+        Arrays.fill(header, (byte) 0);
+        System.arraycopy(name, 0, header, 0, Math.min(name.length, NAME_LENGTH));
+        writeOctal(0644, 100, 8);
+        writeOctal(0, 108, 8);
+        writeOctal(0, 116, 8);
+        writeOctal(size, 124, 12);
+        writeOctal(mtime, 136, 12);
+        header[156] = type;
+        writeAscii("ustar", 257);
+        writeAscii("00", 263);
+        // 计算校验和时校验和字段视为空格
+        Arrays.fill(header, 148, 156, (byte) ' ');
+        long checksum = 0;
+        for (byte b : header) {
+            checksum += b & 0xFF;
+        }
+        writeOctal(checksum, 148, 7);
+        header[155] = ' ';
+        out.write(header);
+    }
+
+    /**
+     * 写入以 NUL 结尾的八进制数字段
+     */
+    private void writeOctal(long value, int off, int len) {
+        String octal = Long.toOctalString(value);
+        int digits = len - 1;
+        int pos = off;
+        for (int i = octal.length(); i < digits; i++) {
+            header[pos++] = '0';
+        }
+        writeAscii(octal, pos);
+        header[off + digits] = 0;
+    }
+
+    private void writeAscii(String s, int off) {
+        for (int i = 0; i < s.length(); i++) {
+            header[off + i] = (byte) s.charAt(i);
+        }
+    }
+
+    private void pad(long len) throws IOException {
+        int tail = (int) (len % BLOCK_SIZE);
+        if (tail != 0) {
+            out.write(new byte[BLOCK_SIZE - tail]);
+        }
+    }
+
+    /**
+     * PAX 记录: "长度 键=值\n", 长度为整条记录的 UTF-8 字节数, 包括长度本身
+     */
+    private static void appendPaxRecord(StringBuilder pax, String key, String value) {
+        int len = key.length() + value.getBytes(StandardCharsets.UTF_8).length + 3;
+        int total = len + Integer.toString(len).length();
+        if (Integer.toString(total).length() != Integer.toString(len).length()) {
+            total = len + Integer.toString(total).length();
+        }
+        pax.append(total).append(' ').append(key).append('=').append(value).append('\n');
+    }
+}
@@ -0,0 +1,38 @@
+package com.mingrn.itumate.commons.utils.encrypt;
+
+import com.mingrn.itumate.commons.utils.secure.SecurePasswordGenerator;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class AesGcmUtilTests {
+
+    @Test
+    public void encryptMode() {
+        String pwd = SecurePasswordGenerator.INSTANCE.generate(32);
+        String encrypt = AesGcmUtil.encryptMode(pwd, "itumate");
+        Assert.assertNotEquals(encrypt, AesGcmUtil.encryptMode(pwd, "itumate"));
+        Assert.assertEquals("itumate", AesGcmUtil.decryptMode(pwd, encrypt));
+        Assert.assertNull(AesGcmUtil.decryptMode(SecurePasswordGenerator.INSTANCE.generate(32), encrypt));
+        // 密钥长度不合法
+        Assert.assertNull(AesGcmUtil.decryptMode("itumate", encrypt));
+    }
+
+    @Test
+    public void stream() throws Exception {
+        byte[] data = new byte[200 * 1024 + 3];
+        ThreadLocalRandom.current().nextBytes(data);
+        AesGcmCipher cipher = AesGcmCipher.of(AesGcmCipher.generateKey(256));
+
+        ByteArrayOutputStream encrypt = new ByteArrayOutputStream();
+        cipher.encrypt(new ByteArrayInputStream(data), encrypt);
+        Assert.assertArrayEquals(data, cipher.decrypt(encrypt.toByteArray()));
+
+        ByteArrayOutputStream decrypt = new ByteArrayOutputStream();
+        cipher.decrypt(new ByteArrayInputStream(encrypt.toByteArray()), decrypt);
+        Assert.assertArrayEquals(data, decrypt.toByteArray());
+    }
+}
@@ -2,11 +2,20 @@ package com.mingrn.itumate.commons.utils.encrypt;
 
 import com.mingrn.itumate.commons.utils.secure.GeneratorIDFactory;
 import com.mingrn.itumate.commons.utils.secure.SecurePasswordGenerator;
+import org.junit.Assert;
 import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Random;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -50,4 +59,114 @@ public class Base64UtilTests {
             System.out.println(MD5Util.md5DigestAsHex(pwd));
         }
     }
+
+    @Test
+    public void encodeAndDecodeBuffers() {
+        Random random = new Random(9);
+        for (Base64Variant variant : Base64Variant.values()) {
+            for (int len = 0; len < 200; len++) {
+                byte[] data = new byte[len];
+                random.nextBytes(data);
+                String expected = variant.getEncoder().encodeToString(data);
+                Assert.assertEquals(expected, Base64Util.encodeToString(variant, data));
+                Assert.assertEquals(expected.length(), variant.encodedLength(len));
+
+                byte[] encoded = new byte[variant.encodedLength(len)];
+                Assert.assertEquals(encoded.length, Base64Util.encode(variant, data, encoded));
+                Assert.assertEquals(expected, new String(encoded, StandardCharsets.US_ASCII));
+
+                for (ByteBuffer dst : new ByteBuffer[]{ByteBuffer.allocate(encoded.length), ByteBuffer.allocateDirect(encoded.length)}) {
+                    Assert.assertEquals(encoded.length, Base64Util.encode(variant, ByteBuffer.wrap(data), dst));
+                    dst.flip();
+                    Assert.assertEquals(ByteBuffer.wrap(encoded), dst);
+                }
+                ByteBuffer direct = ByteBuffer.allocateDirect(len);
+                direct.put(data).flip();
+                ByteBuffer fromDirect = ByteBuffer.allocate(encoded.length);
+                Base64Util.encode(variant, direct, fromDirect);
+                Assert.assertArrayEquals(encoded, fromDirect.array());
+
+                byte[] decoded = new byte[len];
+                Assert.assertEquals(len, Base64Util.decode(variant, encoded, decoded));
+                Assert.assertArrayEquals(data, decoded);
+                Assert.assertArrayEquals(data, Base64Util.decode(variant, expected));
+                for (ByteBuffer dst : new ByteBuffer[]{ByteBuffer.allocate(len), ByteBuffer.allocateDirect(len)}) {
+                    Assert.assertEquals(len, Base64Util.decode(variant, ByteBuffer.wrap(encoded), dst));
+                    dst.flip();
+                    Assert.assertEquals(ByteBuffer.wrap(data), dst);
+                }
+
+                // 无填充
+                String unpadded = expected.replace("=", "");
+                Assert.assertArrayEquals(data, Base64Util.decode(variant, unpadded));
+                ByteBuffer dst = ByteBuffer.allocate(len);
+                Base64Util.decode(variant, ByteBuffer.wrap(unpadded.getBytes(StandardCharsets.US_ASCII)), dst);
+                Assert.assertArrayEquals(data, dst.array());
+            }
+        }
+    }
+
+    @Test
+    public void wrapStreams() throws IOException {
+        byte[] data = new byte[100000];
+        new Random(3).nextBytes(data);
+        for (Base64Variant variant : Base64Variant.values()) {
+            ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+            try (OutputStream out = variant == Base64Variant.BASIC ? Base64Util.wrap(encoded) : Base64Util.wrap(variant, encoded)) {
+                for (int off = 0; off < data.length; off += 777) {
+                    out.write(data, off, Math.min(777, data.length - off));
+                }
+            }
+            Assert.assertEquals(Base64Util.encodeToString(variant, data), new String(encoded.toByteArray(), StandardCharsets.US_ASCII));
+
+            ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+            ByteArrayInputStream source = new ByteArrayInputStream(encoded.toByteArray());
+            try (InputStream in = variant == Base64Variant.BASIC ? Base64Util.wrap(source) : Base64Util.wrap(variant, source)) {
+                byte[] buffer = new byte[1000];
+                int n;
+                while ((n = in.read(buffer)) != -1) {
+                    decoded.write(buffer, 0, n);
+                }
+            }
+            Assert.assertArrayEquals(variant.name(), data, decoded.toByteArray());
+        }
+    }
+
+    @Test
+    public void bufferTooSmall() {
+        byte[] data = "itumate-base64".getBytes(StandardCharsets.UTF_8);
+        byte[] encoded = Base64Util.encodeToString(Base64Variant.BASIC, data).getBytes(StandardCharsets.US_ASCII);
+        try {
+            Base64Util.encode(Base64Variant.BASIC, data, new byte[encoded.length - 1]);
+            Assert.fail();
+        } catch (IllegalArgumentException expected) {
+            // 目标空间不足
+        }
+        try {
+            Base64Util.encode(Base64Variant.BASIC, ByteBuffer.wrap(data), ByteBuffer.allocate(encoded.length - 1));
+            Assert.fail();
+        } catch (BufferOverflowException expected) {
+            // 目标空间不足
+        }
+        try {
+            Base64Util.decode(Base64Variant.BASIC, encoded, new byte[data.length - 1]);
+            Assert.fail();
+        } catch (IllegalArgumentException expected) {
+            // 目标空间不足
+        }
+        for (ByteBuffer dst : new ByteBuffer[]{ByteBuffer.allocate(data.length - 1), ByteBuffer.allocateDirect(data.length - 1)}) {
+            try {
+                Base64Util.decode(Base64Variant.BASIC, ByteBuffer.wrap(encoded), dst);
+                Assert.fail();
+            } catch (IllegalArgumentException e) {
+                Assert.assertEquals("Destination buffer too small", e.getMessage());
+            }
+        }
+        try {
+            Base64Util.decode(Base64Variant.URL_SAFE, ByteBuffer.wrap("a+b/".getBytes(StandardCharsets.US_ASCII)), ByteBuffer.allocate(3));
+            Assert.fail();
+        } catch (IllegalArgumentException expected) {
+            // URL 安全编码不接受 '+' 与 '/'
+        }
+    }
 }
@@ -0,0 +1,69 @@
+package com.mingrn.itumate.commons.utils.encrypt;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class ChunkedDigestUtilTests {
+
+    private static Path write(byte[] data) throws Exception {
+        Path path = Files.createTempFile("chunked", ".bin");
+        path.toFile().deleteOnExit();
+        return Files.write(path, data);
+    }
+
+    @Test
+    public void chunkDigests() throws Exception {
+        byte[] data = new byte[3 * 4096 + 123];
+        ThreadLocalRandom.current().nextBytes(data);
+        Path path = write(data);
+
+        for (DigestAlgorithm algorithm : DigestAlgorithm.values()) {
+            byte[][] digests = ChunkedDigestUtil.chunkDigests(algorithm, path, 4096);
+            Assert.assertEquals(4, digests.length);
+
+            ByteArrayOutputStream concat = new ByteArrayOutputStream();
+            for (int i = 0; i < digests.length; i++) {
+                // 最后一块只有 123 字节
+                byte[] chunk = Arrays.copyOfRange(data, i * 4096, Math.min(data.length, (i + 1) * 4096));
+                byte[] expected = MessageDigest.getInstance(algorithm.getName()).digest(chunk);
+                Assert.assertArrayEquals(algorithm.getName(), expected, digests[i]);
+                concat.write(expected);
+            }
+            byte[] root = MessageDigest.getInstance(algorithm.getName()).digest(concat.toByteArray());
+            Assert.assertArrayEquals(root, ChunkedDigestUtil.treeDigest(algorithm, path, 4096));
+            Assert.assertEquals(HexCodec.encodeHexString(root), ChunkedDigestUtil.treeDigestAsHex(algorithm, path, 4096));
+        }
+    }
+
+    @Test
+    public void emptyFile() throws Exception {
+        Path path = write(new byte[0]);
+        Assert.assertEquals(0, ChunkedDigestUtil.chunkDigests(DigestAlgorithm.MD5, path, 4096).length);
+        Assert.assertArrayEquals(MessageDigest.getInstance("MD5").digest(),
+                ChunkedDigestUtil.treeDigest(DigestAlgorithm.MD5, path, 4096));
+    }
+
+    @Test
+    public void multipartETag() throws Exception {
+        byte[] data = new byte[137];
+        Arrays.fill(data, 0, 100, (byte) 'a');
+        Arrays.fill(data, 100, 137, (byte) 'b');
+        Path path = write(data);
+
+        // hex(md5(md5(p1) || md5(p2))) + "-2"
+        String eTag = "223EB569E29E1EC933D81CA6A536E1B4-2";
+        Assert.assertEquals(eTag, ChunkedDigestUtil.multipartETag(path, 100));
+        Assert.assertTrue(ChunkedDigestUtil.verifyMultipartETag(path, 100, "\"" + eTag.toLowerCase() + "\""));
+        // 分片数不一致
+        Assert.assertFalse(ChunkedDigestUtil.verifyMultipartETag(path, 100, "223EB569E29E1EC933D81CA6A536E1B4-3"));
+        Assert.assertFalse(ChunkedDigestUtil.verifyMultipartETag(path, 50, eTag));
+        Assert.assertFalse(ChunkedDigestUtil.verifyMultipartETag(path, 100, null));
+    }
+}
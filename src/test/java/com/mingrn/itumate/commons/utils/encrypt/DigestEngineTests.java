@@ -0,0 +1,32 @@
+package com.mingrn.itumate.commons.utils.encrypt;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+public class DigestEngineTests {
+
+    @Test
+    public void digest() throws Exception {
+        byte[] data = "itumate".getBytes(StandardCharsets.UTF_8);
+        for (DigestAlgorithm algorithm : DigestAlgorithm.values()) {
+            byte[] expected = MessageDigest.getInstance(algorithm.getName()).digest(data);
+            Assert.assertArrayEquals(expected, DigestEngine.digest(algorithm, data));
+            Assert.assertArrayEquals(expected, DigestEngine.digest(algorithm, data));
+        }
+    }
+
+    @Test
+    public void getDigest() {
+        MessageDigest md = DigestEngine.getDigest(DigestAlgorithm.SHA256);
+        md.update((byte) 1);
+        // 同一线程复用实例, 且获取时已重置
+        MessageDigest reused = DigestEngine.getDigest("SHA-256");
+        Assert.assertSame(md, reused);
+        // 之前 update 的字节已丢弃, 结果为空输入的摘要
+        Assert.assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855",
+                HexCodec.encodeHexString(reused.digest(), false));
+    }
+}
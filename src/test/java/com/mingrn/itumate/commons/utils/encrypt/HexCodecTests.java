@@ -0,0 +1,34 @@
+package com.mingrn.itumate.commons.utils.encrypt;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+public class HexCodecTests {
+
+    @Test
+    public void encodeAndDecode() {
+        byte[] data = {0, 1, 0x1a, (byte) 0x7f, (byte) 0x80, (byte) 0xff};
+        Assert.assertEquals("00011a7f80ff", HexCodec.encodeHexString(data));
+        Assert.assertEquals("00011A7F80FF", HexCodec.encodeHexString(data, true));
+        Assert.assertArrayEquals(data, HexCodec.decodeHex("00011A7f80fF"));
+
+        ByteBuffer hex = ByteBuffer.allocate(data.length * 2);
+        HexCodec.encode(ByteBuffer.wrap(data), hex, false);
+        hex.flip();
+        ByteBuffer bytes = ByteBuffer.allocate(data.length);
+        HexCodec.decode(hex, bytes);
+        Assert.assertArrayEquals(data, bytes.array());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decodeIllegalCharacter() {
+        HexCodec.decodeHex("0g");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decodeOddLength() {
+        HexCodec.decodeHex("abc");
+    }
+}
@@ -1,9 +1,13 @@
 package com.mingrn.itumate.commons.utils.encrypt;
 
 import com.mingrn.itumate.commons.utils.secure.SecurePasswordGenerator;
+import org.junit.Assert;
 import org.junit.Test;
 
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class MD5UtilTests {
 
@@ -14,4 +18,21 @@ public class MD5UtilTests {
 
         System.out.println(MD5Util.md5DigestAsHex(pwd.getBytes(StandardCharsets.UTF_8)));
     }
+
+    @Test
+    public void fileDigest() throws Exception {
+        byte[] data = new byte[3 * 1024 * 1024 + 7];
+        ThreadLocalRandom.current().nextBytes(data);
+        Path path = Files.createTempFile("md5", ".bin");
+        try {
+            Files.write(path, data);
+            Assert.assertEquals(MD5Util.md5DigestAsHex(data), MD5Util.md5DigestAsHex(path));
+
+            byte[] sha256 = DigestEngine.digest(DigestAlgorithm.SHA256, data);
+            Assert.assertArrayEquals(sha256, MD5Util.digest(DigestAlgorithm.SHA256, path, 1000));
+            Assert.assertArrayEquals(sha256, MD5Util.digestMapped(DigestAlgorithm.SHA256, path, 1024 * 1024));
+        } finally {
+            Files.delete(path);
+        }
+    }
 }
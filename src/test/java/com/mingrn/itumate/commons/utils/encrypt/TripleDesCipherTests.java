@@ -0,0 +1,163 @@
+package com.mingrn.itumate.commons.utils.encrypt;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+public class TripleDesCipherTests {
+
+    private static final String PASSWORD = "itumate-3des-password-24";
+
+    private static final String WRONG_PASSWORD = "itumate-wrong-password24";
+
+    /** 跨越多个 64KB 缓冲区且不是块大小的整数倍 */
+    private static final byte[] DATA = new byte[3 * 64 * 1024 + 13];
+
+    static {
+        new Random(7).nextBytes(DATA);
+    }
+
+    private final TripleDesCipher cipher = TripleDesCipher.of(PASSWORD);
+
+    @Test
+    public void stream() throws IOException {
+        ByteArrayOutputStream encrypted = new ByteArrayOutputStream();
+        long n = cipher.encrypt(new ByteArrayInputStream(DATA), encrypted);
+        Assert.assertEquals(encrypted.size(), n);
+        Assert.assertEquals(cipher.getEncryptOutputSize(DATA.length), n);
+        // 与一次性加密结果一致
+        Assert.assertArrayEquals(cipher.encrypt(DATA), encrypted.toByteArray());
+
+        ByteArrayOutputStream decrypted = new ByteArrayOutputStream();
+        Assert.assertEquals(DATA.length, cipher.decrypt(new ByteArrayInputStream(encrypted.toByteArray()), decrypted));
+        Assert.assertArrayEquals(DATA, decrypted.toByteArray());
+    }
+
+    @Test
+    public void channel() throws IOException {
+        ByteArrayOutputStream encrypted = new ByteArrayOutputStream();
+        cipher.encrypt(Channels.newChannel(new ByteArrayInputStream(DATA)), Channels.newChannel(encrypted));
+        Assert.assertArrayEquals(cipher.encrypt(DATA), encrypted.toByteArray());
+
+        ByteArrayOutputStream decrypted = new ByteArrayOutputStream();
+        cipher.decrypt(Channels.newChannel(new ByteArrayInputStream(encrypted.toByteArray())), Channels.newChannel(decrypted));
+        Assert.assertArrayEquals(DATA, decrypted.toByteArray());
+    }
+
+    @Test
+    public void wrappers() throws IOException {
+        ByteArrayOutputStream encrypted = new ByteArrayOutputStream();
+        try (OutputStream out = cipher.encrypting(encrypted)) {
+            // 分多次写入
+            for (int off = 0; off < DATA.length; off += 50000) {
+                out.write(DATA, off, Math.min(50000, DATA.length - off));
+            }
+        }
+        Assert.assertArrayEquals(cipher.encrypt(DATA), encrypted.toByteArray());
+
+        ByteArrayOutputStream decrypted = new ByteArrayOutputStream();
+        try (InputStream in = cipher.decrypting(new ByteArrayInputStream(encrypted.toByteArray()))) {
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                decrypted.write(buffer, 0, n);
+            }
+        }
+        Assert.assertArrayEquals(DATA, decrypted.toByteArray());
+    }
+
+    @Test
+    public void byteBuffer() {
+        // 堆外缓冲区, position 不为 0
+        ByteBuffer input = ByteBuffer.allocateDirect(DATA.length + 7);
+        input.position(7);
+        input.put(DATA);
+        input.position(7);
+        ByteBuffer encrypted = ByteBuffer.allocate(cipher.getEncryptOutputSize(DATA.length));
+        Assert.assertEquals(encrypted.capacity(), cipher.encrypt(input, encrypted));
+        Assert.assertFalse(input.hasRemaining());
+        Assert.assertArrayEquals(cipher.encrypt(DATA), encrypted.array());
+
+        encrypted.flip();
+        ByteBuffer decrypted = ByteBuffer.allocateDirect(encrypted.remaining());
+        Assert.assertEquals(DATA.length, cipher.decrypt(encrypted, decrypted));
+        decrypted.flip();
+        byte[] plain = new byte[decrypted.remaining()];
+        decrypted.get(plain);
+        Assert.assertArrayEquals(DATA, plain);
+    }
+
+    @Test
+    public void utilStreamAndFile() throws IOException {
+        ByteArrayOutputStream encrypted = new ByteArrayOutputStream();
+        TripleDesUtil.encrypt(PASSWORD, new ByteArrayInputStream(DATA), encrypted);
+        Assert.assertArrayEquals(cipher.encrypt(DATA), encrypted.toByteArray());
+        ByteArrayOutputStream decrypted = new ByteArrayOutputStream();
+        TripleDesUtil.decrypt(PASSWORD, new ByteArrayInputStream(encrypted.toByteArray()), decrypted);
+        Assert.assertArrayEquals(DATA, decrypted.toByteArray());
+
+        Path source = Files.createTempFile("3des", ".bin");
+        Path target = Files.createTempFile("3des", ".enc");
+        try {
+            Files.write(source, DATA);
+            TripleDesUtil.encrypt(PASSWORD, source, target);
+            Assert.assertArrayEquals(encrypted.toByteArray(), Files.readAllBytes(target));
+            TripleDesUtil.decrypt(PASSWORD, target, source);
+            Assert.assertArrayEquals(DATA, Files.readAllBytes(source));
+        } finally {
+            Files.deleteIfExists(source);
+            Files.deleteIfExists(target);
+        }
+    }
+
+    @Test
+    public void wrongKey() throws IOException {
+        byte[] encrypted = cipher.encrypt(DATA);
+        TripleDesCipher wrong = TripleDesCipher.of(WRONG_PASSWORD);
+        try {
+            wrong.decrypt(encrypted);
+            Assert.fail();
+        } catch (IllegalArgumentException expected) {
+            // 填充不正确
+        }
+        try {
+            wrong.decrypt(new ByteArrayInputStream(encrypted), new ByteArrayOutputStream());
+            Assert.fail();
+        } catch (IOException expected) {
+            // 填充不正确
+        }
+        try {
+            wrong.decrypt(Channels.newChannel(new ByteArrayInputStream(encrypted)), Channels.newChannel(new ByteArrayOutputStream()));
+            Assert.fail();
+        } catch (IOException expected) {
+            // 填充不正确
+        }
+        try {
+            TripleDesUtil.decrypt(WRONG_PASSWORD, new ByteArrayInputStream(encrypted), new ByteArrayOutputStream());
+            Assert.fail();
+        } catch (IOException expected) {
+            // 填充不正确
+        }
+        try {
+            wrong.decrypt(ByteBuffer.wrap(encrypted), ByteBuffer.allocate(encrypted.length));
+            Assert.fail();
+        } catch (IllegalArgumentException expected) {
+            // 填充不正确
+        }
+        // 解密失败后实例仍可用, 复用的 Cipher 已重新创建
+        Assert.assertArrayEquals(DATA, cipher.decrypt(encrypted));
+        byte[] wrongEncrypted = wrong.encrypt(DATA);
+        Assert.assertArrayEquals(DATA, wrong.decrypt(wrongEncrypted));
+        Assert.assertArrayEquals(DATA, TripleDesCipher.of(WRONG_PASSWORD).decrypt(wrongEncrypted));
+    }
+}
@@ -3,6 +3,7 @@ package com.mingrn.itumate.commons.utils.encrypt;
 import com.mingrn.itumate.commons.utils.secure.GeneratorIDFactory;
 import com.mingrn.itumate.commons.utils.secure.SecurePasswordGenerator;
 import org.apache.commons.lang3.StringUtils;
+import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.slf4j.Logger;
@@ -38,4 +39,17 @@ public class TripleDesUtilTests {
             LOGGER.info("\npwd: {}\nuId: {}\nencrypt: {}\n", pwd, uId, encrypt);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void cipherContext() {
+        String pwd = SecurePasswordGenerator.INSTANCE.generate(24);
+        TripleDesCipher cipher = TripleDesCipher.of(pwd);
+        for (int i = 0; i < 100; i++) {
+            String uId = GeneratorIDFactory.generatorUserId();
+            String encrypt = TripleDesUtil.encryptMode(cipher, uId.getBytes(StandardCharsets.UTF_8));
+            Assert.assertEquals(TripleDesUtil.encryptMode(pwd, uId.getBytes(StandardCharsets.UTF_8)), encrypt);
+            Assert.assertEquals(uId, TripleDesUtil.decryptMode(pwd, encrypt));
+            Assert.assertEquals(uId, TripleDesUtil.decryptMode(cipher, encrypt));
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.mingrn.itumate.commons.utils.file;
+
+import com.aliyun.oss.OSSException;
+import com.aliyun.oss.model.DeleteObjectsRequest;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+public class AliyunOSSUtilTests extends OSSTestSupport {
+
+    @Test
+    public void deleteObjectsDeduplicatesAndBatches() throws IOException {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            keys.add("logs/" + i + ".log");
+        }
+        // 重复的文件名只删除一次
+        keys.addAll(keys.subList(0, 10));
+        int deleted = AliyunOSSUtil.deleteObjects(stub.oss(), BUCKET, keys,
+                OSSTransferOptions.builder().parallelism(1).build());
+
+        Assert.assertEquals(2500, deleted);
+        Assert.assertEquals(3, stub.deleteRequests.size());
+        Assert.assertEquals(DeleteObjectsRequest.DELETE_OBJECTS_ONETIME_LIMIT, stub.deleteRequests.get(0).size());
+        Assert.assertEquals(DeleteObjectsRequest.DELETE_OBJECTS_ONETIME_LIMIT, stub.deleteRequests.get(1).size());
+        Assert.assertEquals(500, stub.deleteRequests.get(2).size());
+        List<String> requested = new ArrayList<>();
+        stub.deleteRequests.forEach(requested::addAll);
+        Assert.assertEquals(keys.subList(0, 2500), requested);
+        Assert.assertEquals(0, AliyunOSSUtil.deleteObjects(stub.oss(), BUCKET, new ArrayList<>(), null));
+    }
+
+    @Test
+    public void deleteObjectsStopsAtFailedBatch() throws IOException {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 3500; i++) {
+            keys.add("logs/" + i + ".log");
+        }
+        stub.interceptor = (method, args) -> {
+            if ("deleteObjects".equals(method) && stub.deleteRequests.size() == 1) {
+                throw StubOSS.error("AccessDenied", "second batch");
+            }
+        };
+        try {
+            AliyunOSSUtil.deleteObjects(stub.oss(), BUCKET, keys, OSSTransferOptions.builder().parallelism(1).build());
+            Assert.fail();
+        } catch (OSSException e) {
+            Assert.assertEquals("AccessDenied", e.getErrorCode());
+        }
+        // 第二批失败后不再发起后续请求
+        Assert.assertEquals(2, stub.count("deleteObjects"));
+        Assert.assertEquals(1, stub.deleteRequests.size());
+    }
+
+    @Test
+    public void putObjectsKeepsInputOrder() throws IOException {
+        Map<String, Path> files = new LinkedHashMap<>();
+        Random random = new Random(25);
+        for (int i = 0; i < 6; i++) {
+            byte[] content = new byte[1000 + i];
+            random.nextBytes(content);
+            files.put("docs/" + i + ".bin", Files.write(directory.resolve(i + ".bin"), content));
+        }
+        // 第 3 个文件不存在
+        files.put("docs/2.bin", directory.resolve("missing.bin"));
+
+        List<OSSBatchUploadResult> results = AliyunOSSUtil.putObjects(stub.oss(), BUCKET, files,
+                OSSTransferOptions.builder().parallelism(3).build());
+
+        Assert.assertEquals(new ArrayList<>(files.keySet()), results.stream()
+                .map(OSSBatchUploadResult::getObjectName).collect(Collectors.toList()));
+        for (OSSBatchUploadResult result : results) {
+            Path file = files.get(result.getObjectName());
+            Assert.assertEquals(file, result.getFile());
+            if ("docs/2.bin".equals(result.getObjectName())) {
+                Assert.assertFalse(result.isSuccess());
+                Assert.assertTrue(result.getError() instanceof NoSuchFileException);
+                Assert.assertNull(stub.object(BUCKET, result.getObjectName()));
+            } else {
+                Assert.assertTrue(result.isSuccess());
+                Assert.assertArrayEquals(Files.readAllBytes(file), stub.object(BUCKET, result.getObjectName()));
+                Assert.assertEquals("https://itumate.oss-cn-hangzhou.aliyuncs.com/" + result.getObjectName(),
+                        result.getResult().getUrl());
+            }
+        }
+    }
+
+    @Test
+    public void putObjectsSharesParallelism() throws IOException {
+        Map<String, Path> files = new LinkedHashMap<>();
+        byte[] content = new byte[3 * PART_SIZE + 1];
+        new Random(25).nextBytes(content);
+        for (int i = 0; i < 4; i++) {
+            files.put("video/" + i + ".bin", Files.write(directory.resolve(i + ".bin"), content));
+        }
+        stub.latencyMillis = 20;
+        List<OSSBatchUploadResult> results = AliyunOSSUtil.putObjects(stub.oss(), BUCKET, files,
+                OSSTransferOptions.builder().partSize(PART_SIZE).parallelism(2).checkpointEnabled(false).build());
+
+        Assert.assertTrue(results.stream().allMatch(OSSBatchUploadResult::isSuccess));
+        Assert.assertEquals(16, stub.count("uploadPart"));
+        // 2 个文件同时上传, 每个文件单分片并发, 而不是 2 x 2
+        Assert.assertTrue(stub.maxInFlight.get() <= 2);
+        for (String key : files.keySet()) {
+            Assert.assertArrayEquals(content, stub.object(BUCKET, key));
+        }
+        Assert.assertTrue(stub.uploads.isEmpty());
+    }
+
+    @Test
+    public void getObjectUrl() throws Exception {
+        Assert.assertEquals("https://itumate.oss-cn-hangzhou.aliyuncs.com/docs/a%20b.txt",
+                AliyunOSSUtil.getObjectUrl(BUCKET, "docs/a b.txt"));
+        try {
+            // 未指定协议时使用 http
+            StubOSS.configureEndpoint("oss-cn-hangzhou.aliyuncs.com/");
+            Assert.assertEquals("http://itumate.oss-cn-hangzhou.aliyuncs.com/docs/a.txt",
+                    AliyunOSSUtil.getObjectUrl(BUCKET, "docs/a.txt"));
+
+            // 只使用 (OSS oss, ...) 重载时可不配置 endpoint
+            StubOSS.configureEndpoint(null);
+            Assert.assertNull(AliyunOSSUtil.getObjectUrl(BUCKET, "docs/a.txt"));
+            Path file = Files.write(directory.resolve("a.txt"), new byte[]{1, 2, 3});
+            OSSUploadResult result = AliyunOSSUtil.uploadFile(stub.oss(), BUCKET, "docs/a.txt", file, null,
+                    OSSTransferOptions.DEFAULT);
+            Assert.assertNull(result.getUrl());
+            Assert.assertArrayEquals(new byte[]{1, 2, 3}, stub.object(BUCKET, "docs/a.txt"));
+        } finally {
+            StubOSS.configureEndpoint();
+        }
+    }
+}
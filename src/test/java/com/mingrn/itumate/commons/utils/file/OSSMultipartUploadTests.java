@@ -0,0 +1,158 @@
+package com.mingrn.itumate.commons.utils.file;
+
+import com.aliyun.oss.ClientException;
+import com.aliyun.oss.model.UploadPartRequest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class OSSMultipartUploadTests extends OSSTestSupport {
+
+    private static final String KEY = "video/demo.bin";
+
+    private static final byte[] DATA = multipartData(23);
+
+    private Path file;
+
+    private OSSTransferOptions options;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.write(directory.resolve("demo.bin"), DATA);
+        // 单并发, 分片按顺序上传, 失败位置确定
+        options = OSSTransferOptions.builder()
+                .partSize(PART_SIZE)
+                .parallelism(1)
+                .checkpointDirectory(directory.resolve("checkpoint"))
+                .verifyETag(true)
+                .build();
+    }
+
+    @Test
+    public void resumeAfterFailedPart() throws IOException {
+        failAtPart(3);
+        List<String> lines = Files.readAllLines(checkpoint(), StandardCharsets.UTF_8);
+        Assert.assertEquals(2, lines.stream().filter(line -> line.startsWith("part=")).count());
+        Assert.assertEquals(0, stub.count("abortMultipartUpload"));
+
+        stub.uploadedParts.clear();
+        OSSUploadResult result = AliyunOSSUtil.uploadFile(stub.oss(), BUCKET, KEY, file, null, options);
+        // 只上传未完成的分片
+        Assert.assertEquals(Arrays.asList(3, 4, 5), stub.uploadedParts);
+        Assert.assertEquals(1, stub.count("initiateMultipartUpload"));
+        Assert.assertArrayEquals(DATA, stub.object(BUCKET, KEY));
+        Assert.assertTrue(result.getETag().endsWith("-5"));
+        Assert.assertEquals("https://itumate.oss-cn-hangzhou.aliyuncs.com/video/demo.bin", result.getUrl());
+        Assert.assertEquals(0, checkpointFiles().size());
+    }
+
+    @Test
+    public void truncatedLastCheckpointLine() throws IOException {
+        failAtPart(3);
+        // 进程在写入第 3 个分片时退出, ETag 只写了一半且没有换行
+        Files.write(checkpoint(), "part=3,1F2E".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        stub.uploadedParts.clear();
+        AliyunOSSUtil.uploadFile(stub.oss(), BUCKET, KEY, file, null, options);
+        Assert.assertEquals(Arrays.asList(3, 4, 5), stub.uploadedParts);
+        Assert.assertArrayEquals(DATA, stub.object(BUCKET, KEY));
+    }
+
+    @Test
+    public void changedLengthRestarts() throws IOException {
+        failAtPart(3);
+        byte[] changed = Arrays.copyOf(DATA, DATA.length + 100);
+        Files.write(file, changed);
+        assertRestarted(changed);
+    }
+
+    @Test
+    public void changedModifiedTimeRestarts() throws IOException {
+        failAtPart(3);
+        // 长度不变, 内容与修改时间变化
+        byte[] changed = DATA.clone();
+        changed[0] ^= 1;
+        Files.write(file, changed);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 10000));
+        assertRestarted(changed);
+    }
+
+    @Test
+    public void noSuchUploadRestarts() throws IOException {
+        failAtPart(3);
+        // 分片上传任务在 OSS 上已过期
+        stub.uploads.clear();
+
+        stub.uploadedParts.clear();
+        AliyunOSSUtil.uploadFile(stub.oss(), BUCKET, KEY, file, null, options);
+        Assert.assertEquals(2, stub.count("initiateMultipartUpload"));
+        Assert.assertEquals(Arrays.asList(1, 2, 3, 4, 5), stub.uploadedParts);
+        Assert.assertArrayEquals(DATA, stub.object(BUCKET, KEY));
+        Assert.assertEquals(0, checkpointFiles().size());
+    }
+
+    @Test
+    public void abortWithoutCheckpoint() throws IOException {
+        options = options.toBuilder().checkpointEnabled(false).build();
+        failAtPart(3);
+        Assert.assertEquals(1, stub.count("abortMultipartUpload"));
+        Assert.assertTrue(stub.uploads.isEmpty());
+        Assert.assertFalse(Files.exists(directory.resolve("checkpoint")));
+    }
+
+    private void assertRestarted(byte[] expected) throws IOException {
+        stub.uploadedParts.clear();
+        AliyunOSSUtil.uploadFile(stub.oss(), BUCKET, KEY, file, null, options);
+        // 放弃旧的分片上传任务并从第一个分片重新上传
+        Assert.assertEquals(1, stub.count("abortMultipartUpload"));
+        Assert.assertEquals(2, stub.count("initiateMultipartUpload"));
+        Assert.assertEquals(1, stub.uploadedParts.get(0).intValue());
+        Assert.assertEquals(stub.uploadedParts.size(), stub.uploadedParts.stream().distinct().count());
+        Assert.assertTrue(stub.uploads.isEmpty());
+        Assert.assertArrayEquals(expected, stub.object(BUCKET, KEY));
+    }
+
+    /**
+     * 上传到第 partNumber 个分片时失败
+     */
+    private void failAtPart(int partNumber) throws IOException {
+        stub.interceptor = (method, args) -> {
+            if ("uploadPart".equals(method) && ((UploadPartRequest) args[0]).getPartNumber() == partNumber) {
+                throw new ClientException("Connection reset");
+            }
+        };
+        try {
+            AliyunOSSUtil.uploadFile(stub.oss(), BUCKET, KEY, file, null, options);
+            Assert.fail();
+        } catch (ClientException expected) {
+            // 模拟网络中断
+        } finally {
+            stub.interceptor = null;
+        }
+        Assert.assertEquals(partNumber - 1, stub.uploadedParts.size());
+        Assert.assertNull(stub.object(BUCKET, KEY));
+    }
+
+    private Path checkpoint() throws IOException {
+        List<Path> files = checkpointFiles();
+        Assert.assertEquals(1, files.size());
+        return files.get(0);
+    }
+
+    private List<Path> checkpointFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory.resolve("checkpoint"))) {
+            return files.collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.mingrn.itumate.commons.utils.file;
+
+import com.aliyun.oss.OSSException;
+import com.aliyun.oss.model.GetObjectRequest;
+import com.aliyun.oss.model.ObjectMetadata;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class OSSRangedDownloadTests extends OSSTestSupport {
+
+    private static final String KEY = "video/demo.bin";
+
+    private static final byte[] DATA = multipartData(24);
+
+    private final OSSTransferOptions options = OSSTransferOptions.builder()
+            .partSize(PART_SIZE)
+            .parallelism(3)
+            .build();
+
+    private Path file;
+
+    @Before
+    public void setUp() {
+        file = directory.resolve("demo.bin");
+        stub.put(BUCKET, KEY, DATA);
+    }
+
+    @Test
+    public void downloadsRangesIntoPreallocatedFile() throws IOException {
+        AtomicLong preallocated = new AtomicLong(-1);
+        stub.interceptor = (method, args) -> {
+            if ("getObject".equals(method)) {
+                // 第一个分片请求时临时文件已扩展到完整长度
+                preallocated.compareAndSet(-1, tempFiles().stream().mapToLong(OSSRangedDownloadTests::size).sum());
+                Assert.assertEquals(1, ((GetObjectRequest) args[0]).getMatchingETagConstraints().size());
+            }
+        };
+        ObjectMetadata metadata = AliyunOSSUtil.downloadFile(stub.oss(), BUCKET, KEY, file, options);
+
+        Assert.assertEquals(DATA.length, metadata.getContentLength());
+        Assert.assertEquals(DATA.length, preallocated.get());
+        Assert.assertArrayEquals(DATA, Files.readAllBytes(file));
+        List<String> ranges = stub.ranges.stream().sorted(Comparator.comparingLong(range -> range[0]))
+                .map(Arrays::toString).collect(Collectors.toList());
+        Assert.assertEquals(Arrays.asList(
+                "[0, " + (PART_SIZE - 1) + "]",
+                "[" + PART_SIZE + ", " + (2 * PART_SIZE - 1) + "]",
+                "[" + 2 * PART_SIZE + ", " + (3 * PART_SIZE - 1) + "]",
+                "[" + 3 * PART_SIZE + ", " + (4 * PART_SIZE - 1) + "]",
+                "[" + 4 * PART_SIZE + ", " + (DATA.length - 1) + "]"), ranges);
+        Assert.assertTrue(tempFiles().isEmpty());
+    }
+
+    @Test
+    public void shortRangeKeepsTarget() throws IOException {
+        byte[] old = "old content".getBytes(StandardCharsets.UTF_8);
+        Files.write(file, old);
+        stub.shortRange = start -> start == 2 * PART_SIZE;
+        try {
+            AliyunOSSUtil.downloadFile(stub.oss(), BUCKET, KEY, file, options);
+            Assert.fail();
+        } catch (IOException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().startsWith("Premature end"));
+        }
+        Assert.assertArrayEquals(old, Files.readAllBytes(file));
+        Assert.assertTrue(tempFiles().isEmpty());
+    }
+
+    @Test
+    public void failedRangeDeletesTemp() throws IOException {
+        stub.interceptor = (method, args) -> {
+            if ("getObject".equals(method) && ((GetObjectRequest) args[0]).getRange()[0] == 3 * PART_SIZE) {
+                throw StubOSS.error("PreconditionFailed", "object replaced during download");
+            }
+        };
+        try {
+            AliyunOSSUtil.downloadFile(stub.oss(), BUCKET, KEY, file, options);
+            Assert.fail();
+        } catch (OSSException e) {
+            Assert.assertEquals("PreconditionFailed", e.getErrorCode());
+        }
+        Assert.assertFalse(Files.exists(file));
+        Assert.assertTrue(tempFiles().isEmpty());
+    }
+
+    @Test
+    public void keepsPermissions() throws IOException {
+        Assume.assumeNotNull(Files.getFileAttributeView(directory, PosixFileAttributeView.class));
+        // 新文件与直接创建的文件权限一致(受 umask 控制), 而不是临时文件的 0600
+        Path reference = Files.createFile(directory.resolve("reference"));
+        AliyunOSSUtil.downloadFile(stub.oss(), BUCKET, KEY, file, options);
+        Assert.assertEquals(Files.getPosixFilePermissions(reference), Files.getPosixFilePermissions(file));
+
+        // 已存在的文件保留原权限
+        Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-r-----");
+        Files.setPosixFilePermissions(file, permissions);
+        AliyunOSSUtil.downloadFile(stub.oss(), BUCKET, KEY, file, options);
+        Assert.assertEquals(permissions, Files.getPosixFilePermissions(file));
+    }
+
+    @Test
+    public void getObjectRange() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AliyunOSSUtil.getObject(stub.oss(), BUCKET, KEY, 10, 19, out);
+        Assert.assertArrayEquals(Arrays.copyOfRange(DATA, 10, 20), out.toByteArray());
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            Assert.assertEquals(DATA.length - 100, AliyunOSSUtil.getObject(stub.oss(), BUCKET, KEY, 100, -1, channel, 5));
+        }
+        byte[] written = Files.readAllBytes(file);
+        Assert.assertArrayEquals(Arrays.copyOfRange(DATA, 100, DATA.length), Arrays.copyOfRange(written, 5, written.length));
+        Assert.assertEquals(Collections.singletonList("[100, -1]"),
+                stub.ranges.subList(1, 2).stream().map(Arrays::toString).collect(Collectors.toList()));
+    }
+
+    private List<Path> tempFiles() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".download")).collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static long size(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
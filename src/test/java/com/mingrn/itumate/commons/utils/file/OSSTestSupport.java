@@ -0,0 +1,48 @@
+package com.mingrn.itumate.commons.utils.file;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * OSS 测试公共部分: 内存 OSS、每个测试独立的临时目录与分片测试数据
+ */
+public abstract class OSSTestSupport {
+
+    static final String BUCKET = "itumate";
+
+    static final int PART_SIZE = (int) OSSTransferOptions.MIN_PART_SIZE;
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    final StubOSS stub = new StubOSS();
+
+    /** 临时目录, 测试结束后删除 */
+    Path directory;
+
+    @BeforeClass
+    public static void configureEndpoint() throws Exception {
+        StubOSS.configureEndpoint();
+    }
+
+    @Before
+    public void createDirectory() {
+        directory = temporaryFolder.getRoot().toPath();
+    }
+
+    /**
+     * 5 个分片, 最后一片不足分片大小
+     *
+     * @param seed 随机种子, 各测试类不同
+     */
+    static byte[] multipartData(long seed) {
+        byte[] data = new byte[4 * PART_SIZE + 1234];
+        new Random(seed).nextBytes(data);
+        return data;
+    }
+}
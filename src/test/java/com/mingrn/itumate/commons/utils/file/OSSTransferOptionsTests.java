@@ -0,0 +1,39 @@
+package com.mingrn.itumate.commons.utils.file;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class OSSTransferOptionsTests {
+
+    @Test
+    public void partSizeKeepsPartCountWithinLimit() {
+        OSSTransferOptions options = OSSTransferOptions.DEFAULT;
+        Assert.assertEquals(OSSTransferOptions.DEFAULT_PART_SIZE, options.partSizeFor(1024L * 1024 * 1024));
+
+        long length = 100L * 1024 * 1024 * 1024;
+        long partSize = options.partSizeFor(length);
+        Assert.assertTrue((length + partSize - 1) / partSize <= OSSTransferOptions.MAX_PART_COUNT);
+        Assert.assertEquals(0, partSize % (1024 * 1024));
+    }
+
+    @Test
+    public void toBuilderKeepsValues() {
+        OSSTransferOptions options = OSSTransferOptions.builder()
+                .partSize(OSSTransferOptions.MIN_PART_SIZE)
+                .parallelism(2)
+                .checkpointEnabled(false)
+                .verifyETag(true)
+                .build();
+        OSSTransferOptions copy = options.toBuilder().parallelism(1).build();
+        Assert.assertEquals(OSSTransferOptions.MIN_PART_SIZE, copy.getPartSize());
+        Assert.assertEquals(1, copy.getParallelism());
+        Assert.assertFalse(copy.isCheckpointEnabled());
+        Assert.assertTrue(copy.isVerifyETag());
+        Assert.assertEquals(options.getCheckpointDirectory(), copy.getCheckpointDirectory());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsSmallPartSize() {
+        OSSTransferOptions.builder().partSize(OSSTransferOptions.MIN_PART_SIZE - 1);
+    }
+}
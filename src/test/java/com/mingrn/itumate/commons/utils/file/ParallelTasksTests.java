@@ -0,0 +1,70 @@
+package com.mingrn.itumate.commons.utils.file;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public class ParallelTasksTests {
+
+    @Test
+    public void runsEveryTaskWithinParallelism() throws IOException {
+        AtomicIntegerArray runs = new AtomicIntegerArray(50);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        ParallelTasks.execute(runs.length(), 3, null, index -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(2);
+            runs.incrementAndGet(index);
+            running.decrementAndGet();
+        });
+        for (int i = 0; i < runs.length(); i++) {
+            Assert.assertEquals(1, runs.get(i));
+        }
+        Assert.assertTrue(maxRunning.get() <= 3);
+    }
+
+    @Test
+    public void stopsAfterFirstFailure() {
+        AtomicInteger runs = new AtomicInteger();
+        try {
+            ParallelTasks.execute(1000, 2, null, index -> {
+                runs.incrementAndGet();
+                if (index == 3) {
+                    throw new IOException("part " + index);
+                }
+            });
+            Assert.fail();
+        } catch (IOException e) {
+            Assert.assertEquals("part 3", e.getMessage());
+        }
+        Assert.assertTrue(runs.get() < 1000);
+    }
+
+    @Test
+    public void waitsForSubmittedTasksWhenInterrupted() {
+        Thread caller = Thread.currentThread();
+        AtomicInteger runs = new AtomicInteger();
+        AtomicInteger finished = new AtomicInteger();
+        try {
+            ParallelTasks.execute(3, 1, null, index -> {
+                runs.incrementAndGet();
+                // 调用线程在等待下一个许可时被中断
+                caller.interrupt();
+                Thread.sleep(100);
+                finished.incrementAndGet();
+            });
+            Assert.fail();
+        } catch (IOException e) {
+            Assert.assertTrue(e instanceof InterruptedIOException);
+            // 返回前已提交的任务均已结束
+            Assert.assertEquals(runs.get(), finished.get());
+            Assert.assertEquals(1, runs.get());
+        } finally {
+            Assert.assertTrue(Thread.interrupted());
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.mingrn.itumate.commons.utils.file;
+
+import com.aliyun.oss.OSS;
+import com.aliyun.oss.OSSException;
+import com.aliyun.oss.model.*;
+import com.mingrn.itumate.commons.utils.encrypt.HexCodec;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongPredicate;
+
+/**
+ * 基于 {@link Proxy} 的内存 OSS, 只实现测试用到的方法, 其余方法抛出 {@link UnsupportedOperationException}
+ * <p>
+ * ETag 与 OSS 一致: 普通上传与分片为内容 MD5, 分片合并后为 {@code MD5(各分片 MD5)-分片数}.
+ */
+final class StubOSS implements InvocationHandler {
+
+    /** 调用前回调, 抛出异常即模拟请求失败 */
+    @FunctionalInterface
+    interface Interceptor {
+
+        void before(String method, Object[] args);
+    }
+
+    /** bucket/key -> 内容 */
+    final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+
+    /** uploadId -> 分片号 -> 内容 */
+    final Map<String, Map<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+
+    /** 调用记录, 方法名 */
+    final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+
+    /** 已上传的分片号, 按完成顺序 */
+    final List<Integer> uploadedParts = Collections.synchronizedList(new ArrayList<>());
+
+    /** 批量删除请求的文件名, 按请求顺序 */
+    final List<List<String>> deleteRequests = Collections.synchronizedList(new ArrayList<>());
+
+    /** 同时进行中的数据请求(上传、下载)数的最大值 */
+    final AtomicInteger maxInFlight = new AtomicInteger();
+
+    /** getObject 请求的区间 [start, end] */
+    final List<long[]> ranges = Collections.synchronizedList(new ArrayList<>());
+
+    volatile Interceptor interceptor;
+
+    /** 起始位置满足条件的区间少返回一个字节, 模拟连接提前关闭 */
+    volatile LongPredicate shortRange = start -> false;
+
+    /** 每个数据请求的耗时(毫秒), 使并发请求重叠 */
+    volatile long latencyMillis;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger uploadIds = new AtomicInteger();
+
+    /**
+     * 设置 {@link AliyunOSSUtil#getObjectUrl(String, String)} 使用的 endpoint
+     */
+    static void configureEndpoint() throws Exception {
+        configureEndpoint("https://oss-cn-hangzhou.aliyuncs.com");
+    }
+
+    /**
+     * @param endpoint {@code null} 时清除
+     */
+    static void configureEndpoint(String endpoint) throws Exception {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("oss", endpoint == null
+                ? Collections.emptyMap() : Collections.singletonMap("aliyun.oss.endpoint", endpoint)));
+        Constructor<AliyunOSSUtil> constructor = AliyunOSSUtil.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        constructor.newInstance().setEnvironment(environment);
+    }
+
+    OSS oss() {
+        return (OSS) Proxy.newProxyInstance(OSS.class.getClassLoader(), new Class<?>[]{OSS.class}, this);
+    }
+
+    byte[] object(String bucketName, String key) {
+        return objects.get(bucketName + '/' + key);
+    }
+
+    void put(String bucketName, String key, byte[] content) {
+        objects.put(bucketName + '/' + key, content);
+    }
+
+    int count(String method) {
+        synchronized (calls) {
+            return (int) calls.stream().filter(method::equals).count();
+        }
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return method.invoke(this, args);
+        }
+        String name = method.getName();
+        calls.add(name);
+        Interceptor current = interceptor;
+        if (current != null) {
+            current.before(name, args);
+        }
+        boolean data = "putObject".equals(name) || "uploadPart".equals(name) || "getObject".equals(name);
+        if (!data) {
+            return dispatch(name, method, args);
+        }
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+            return dispatch(name, method, args);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private Object dispatch(String name, Method method, Object[] args) throws IOException {
+        switch (name) {
+            case "doesBucketExist":
+                return true;
+            case "getObjectMetadata":
+                return metadata(existing((String) args[0], (String) args[1]));
+            case "getObject":
+                return getObject((GetObjectRequest) args[0]);
+            case "putObject":
+                if (args.length == 4 && args[2] instanceof InputStream) {
+                    return putObject((String) args[0], (String) args[1], (InputStream) args[2]);
+                }
+                break;
+            case "deleteObjects":
+                return deleteObjects((DeleteObjectsRequest) args[0]);
+            case "initiateMultipartUpload":
+                return initiate((InitiateMultipartUploadRequest) args[0]);
+            case "uploadPart":
+                return uploadPart((UploadPartRequest) args[0]);
+            case "completeMultipartUpload":
+                return complete((CompleteMultipartUploadRequest) args[0]);
+            case "abortMultipartUpload":
+                uploads.remove(((AbortMultipartUploadRequest) args[0]).getUploadId());
+                return null;
+            default:
+                break;
+        }
+        throw new UnsupportedOperationException(method.toString());
+    }
+
+    private PutObjectResult putObject(String bucketName, String key, InputStream in) throws IOException {
+        byte[] content = read(in, Long.MAX_VALUE);
+        put(bucketName, key, content);
+        PutObjectResult result = new PutObjectResult();
+        result.setETag(HexCodec.encodeHexString(md5(content), true));
+        return result;
+    }
+
+    private DeleteObjectsResult deleteObjects(DeleteObjectsRequest request) {
+        List<String> keys = new ArrayList<>(request.getKeys());
+        deleteRequests.add(keys);
+        for (String key : keys) {
+            objects.remove(request.getBucketName() + '/' + key);
+        }
+        return new DeleteObjectsResult(request.isQuiet() ? Collections.emptyList() : keys);
+    }
+
+    private byte[] existing(String bucketName, String key) {
+        byte[] content = object(bucketName, key);
+        if (content == null) {
+            throw error("NoSuchKey", bucketName + '/' + key);
+        }
+        return content;
+    }
+
+    private static ObjectMetadata metadata(byte[] content) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(content.length);
+        metadata.setHeader("ETag", HexCodec.encodeHexString(md5(content), true));
+        return metadata;
+    }
+
+    private OSSObject getObject(GetObjectRequest request) {
+        byte[] content = existing(request.getBucketName(), request.getKey());
+        List<String> eTags = request.getMatchingETagConstraints();
+        if (eTags != null && !eTags.isEmpty() && !eTags.contains(HexCodec.encodeHexString(md5(content), true))) {
+            throw error("PreconditionFailed", "If-Match " + eTags);
+        }
+        long[] range = request.getRange();
+        int start = 0;
+        int end = content.length;
+        if (range != null) {
+            ranges.add(range.clone());
+            start = (int) range[0];
+            end = range[1] < 0 ? content.length : (int) Math.min(content.length, range[1] + 1);
+        }
+        if (shortRange.test(start)) {
+            end--;
+        }
+        byte[] slice = Arrays.copyOfRange(content, start, end);
+        OSSObject object = new OSSObject();
+        object.setBucketName(request.getBucketName());
+        object.setKey(request.getKey());
+        object.setObjectMetadata(metadata(slice));
+        object.setObjectContent(new ByteArrayInputStream(slice));
+        return object;
+    }
+
+    private InitiateMultipartUploadResult initiate(InitiateMultipartUploadRequest request) {
+        String uploadId = "upload-" + uploadIds.incrementAndGet();
+        uploads.put(uploadId, new ConcurrentHashMap<>());
+        InitiateMultipartUploadResult result = new InitiateMultipartUploadResult();
+        result.setBucketName(request.getBucketName());
+        result.setKey(request.getKey());
+        result.setUploadId(uploadId);
+        return result;
+    }
+
+    private UploadPartResult uploadPart(UploadPartRequest request) throws IOException {
+        Map<Integer, byte[]> parts = upload(request.getUploadId());
+        byte[] content = read(request.getInputStream(), request.getPartSize());
+        parts.put(request.getPartNumber(), content);
+        uploadedParts.add(request.getPartNumber());
+        UploadPartResult result = new UploadPartResult();
+        result.setPartNumber(request.getPartNumber());
+        result.setPartSize(content.length);
+        result.setETag(HexCodec.encodeHexString(md5(content), true));
+        return result;
+    }
+
+    private CompleteMultipartUploadResult complete(CompleteMultipartUploadRequest request) {
+        Map<Integer, byte[]> parts = upload(request.getUploadId());
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        ByteArrayOutputStream digests = new ByteArrayOutputStream();
+        for (PartETag partETag : request.getPartETags()) {
+            byte[] part = parts.get(partETag.getPartNumber());
+            String eTag = part == null ? null : HexCodec.encodeHexString(md5(part), true);
+            if (!partETag.getETag().equals(eTag)) {
+                throw error("InvalidPart", "part " + partETag.getPartNumber() + " etag " + partETag.getETag());
+            }
+            content.write(part, 0, part.length);
+            digests.write(md5(part), 0, 16);
+        }
+        uploads.remove(request.getUploadId());
+        objects.put(request.getBucketName() + '/' + request.getKey(), content.toByteArray());
+        CompleteMultipartUploadResult result = new CompleteMultipartUploadResult();
+        result.setBucketName(request.getBucketName());
+        result.setKey(request.getKey());
+        result.setETag(HexCodec.encodeHexString(md5(digests.toByteArray()), true) + '-' + request.getPartETags().size());
+        return result;
+    }
+
+    private Map<Integer, byte[]> upload(String uploadId) {
+        Map<Integer, byte[]> parts = uploads.get(uploadId);
+        if (parts == null) {
+            throw error("NoSuchUpload", "upload " + uploadId);
+        }
+        return parts;
+    }
+
+    static OSSException error(String code, String message) {
+        return new OSSException(message, code, "request-id", "host-id", null, null, null);
+    }
+
+    /**
+     * 读取至多 limit 字节, 分片上传的输入流从文件偏移处开始, 不会在分片末尾结束
+     */
+    static byte[] read(InputStream in, long limit) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int n;
+        while (out.size() < limit && (n = in.read(buffer, 0, (int) Math.min(buffer.length, limit - out.size()))) != -1) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    static byte[] md5(byte[] data) {
+        try {
+            return MessageDigest.getInstance("MD5").digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,10 +1,21 @@
 package com.mingrn.itumate.commons.utils.img;
 
+import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Random;
 
 
 public class BaseImg64UtilTest {
@@ -34,4 +45,90 @@ public class BaseImg64UtilTest {
         list.forEach(System.out::println);
         System.out.println("平均用时: " + (total / list.size()));
     }
+
+    @Test
+    public void testImgIOTransform2Base64WithoutLineBreaks() throws IOException {
+        // 57 字节的整数倍, sun.misc.BASE64Encoder 会在每行及末尾输出换行
+        byte[] data = new byte[57 * 4];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        String base64 = BaseImg64Util.imgIOTransform2Base64(new ByteArrayInputStream(data), "png");
+        String decoded = URLDecoder.decode(base64, "UTF-8");
+        Assert.assertEquals("data:image/png;base64," + Base64.getEncoder().encodeToString(data), decoded);
+        Assert.assertFalse(decoded.contains("\n"));
+    }
+
+    @Test
+    public void testWriteBase64DataUriDetectsFormat() throws IOException {
+        assertDataUri("image/png", bytes(0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A));
+        assertDataUri("image/gif", "GIF89a".getBytes(StandardCharsets.US_ASCII));
+        assertDataUri("image/jpeg", bytes(0xFF, 0xD8, 0xFF, 0xE0));
+        assertDataUri("image/bmp", "BM".getBytes(StandardCharsets.US_ASCII));
+        assertDataUri("image/webp", "RIFF\0\0\0\0WEBPVP8 ".getBytes(StandardCharsets.US_ASCII));
+        assertDataUri("image/x-icon", bytes(0, 0, 1, 0, 1, 0));
+        // 不足 12 字节的 RIFF 不是 webp
+        assertDataUri("image/jpeg", "RIFF".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testWriteBase64DataUriUnknownFormat() throws IOException {
+        // 无法识别的内容按 jpeg 处理
+        assertDataUri("image/jpeg", "<svg/>".getBytes(StandardCharsets.US_ASCII));
+        // 少于文件头长度
+        assertDataUri("image/jpeg", bytes('B'));
+        assertDataUri("image/jpeg", bytes(0xFF, 0xD8));
+        assertDataUri("image/jpeg", new byte[0]);
+    }
+
+    @Test
+    public void testWriteBase64DataUriLargeInput() throws IOException {
+        // 跨越多个缓冲区且不是 3 的整数倍
+        byte[] data = new byte[10 * 1024 + 1];
+        new Random(10).nextBytes(data);
+        data[0] = (byte) 0x89;
+        data[1] = 'P';
+        data[2] = 'N';
+        data[3] = 'G';
+        assertDataUri("image/png", data);
+    }
+
+    @Test
+    public void testWriteBase64DataUriFromDisk() throws IOException {
+        byte[] data = Arrays.copyOf("GIF87a".getBytes(StandardCharsets.US_ASCII), 100);
+        Path file = Files.createTempFile("img", ".gif");
+        try {
+            Files.write(file, data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            BaseImg64Util.writeBase64DataUriFromDisk(file.toString(), out);
+            Assert.assertEquals(dataUri("image/gif", data), new String(out.toByteArray(), StandardCharsets.US_ASCII));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * OutputStream 与 Writer 两种写入方式的结果一致
+     */
+    private static void assertDataUri(String mediaType, byte[] data) throws IOException {
+        String expected = dataUri(mediaType, data);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BaseImg64Util.writeBase64DataUri(new ByteArrayInputStream(data), out);
+        Assert.assertEquals(expected, new String(out.toByteArray(), StandardCharsets.US_ASCII));
+        StringWriter writer = new StringWriter();
+        BaseImg64Util.writeBase64DataUri(new ByteArrayInputStream(data), writer);
+        Assert.assertEquals(expected, writer.toString());
+    }
+
+    private static String dataUri(String mediaType, byte[] data) {
+        return "data:" + mediaType + ";base64," + Base64.getEncoder().encodeToString(data);
+    }
+
+    private static byte[] bytes(int... values) {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
 }
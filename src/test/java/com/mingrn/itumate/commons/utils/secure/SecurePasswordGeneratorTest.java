@@ -1,21 +1,50 @@
 package com.mingrn.itumate.commons.utils.secure;
 
 
+import org.junit.Assert;
+import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.*;
 
 public class SecurePasswordGeneratorTest {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SecurePasswordGeneratorTest.class);
 
-    private static ExecutorService service = new ThreadPoolExecutor(4, Runtime.getRuntime().availableProcessors() * 2, 0, TimeUnit.SECONDS, new LinkedBlockingDeque<>());
-
     public static void main(String[] args) {
+        ExecutorService service = new ThreadPoolExecutor(4, Math.max(4, Runtime.getRuntime().availableProcessors() * 2), 0, TimeUnit.SECONDS, new LinkedBlockingDeque<>());
         for (int i = 0; i < 100000; i++) {
             int finalI = i;
             service.execute(() -> LOGGER.info("{} ------------------- {}", SecurePasswordGenerator.INSTANCE.generate(), finalI));
         }
     }
+
+    @Test
+    public void generateContainsEveryType() {
+        for (int i = 0; i < 1000; i++) {
+            String pwd = SecurePasswordGenerator.INSTANCE.generate(8);
+            Assert.assertEquals(8, pwd.length());
+            Assert.assertTrue(pwd.chars().anyMatch(Character::isDigit));
+            Assert.assertTrue(pwd.chars().anyMatch(Character::isLowerCase));
+            Assert.assertTrue(pwd.chars().anyMatch(Character::isUpperCase));
+            Assert.assertTrue(pwd.chars().anyMatch(c -> !Character.isLetterOrDigit(c)));
+        }
+        Assert.assertTrue(SecurePasswordGenerator.INSTANCE.generate(32, 1).chars().allMatch(Character::isLetter));
+        Assert.assertEquals(64, SecurePasswordGenerator.INSTANCE.generate(100).length());
+    }
+
+    @Test
+    public void generateBatch() {
+        String[] passwords = SecurePasswordGenerator.INSTANCE.generateBatch(100, 16, 3);
+        Assert.assertEquals(100, passwords.length);
+        Set<String> distinct = new HashSet<>(Arrays.asList(passwords));
+        Assert.assertEquals(100, distinct.size());
+        for (String pwd : passwords) {
+            Assert.assertEquals(16, pwd.length());
+        }
+    }
 }
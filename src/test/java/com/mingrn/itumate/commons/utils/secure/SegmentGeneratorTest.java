@@ -0,0 +1,152 @@
+package com.mingrn.itumate.commons.utils.secure;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SegmentGeneratorTest {
+
+    @Test
+    public void uniqueAcrossThreads() throws Exception {
+        SegmentGenerator generator = new SegmentGenerator(new MemoryRangeAllocator(), "order", 100);
+        int threads = 4;
+        int perThread = 20000;
+        ExecutorService service = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                boolean batch = t % 2 == 0;
+                futures.add(service.submit(() -> {
+                    long[] ids = new long[perThread];
+                    if (batch) {
+                        for (int i = 0; i < perThread; i += 37) {
+                            generator.nextIds(ids, i, Math.min(37, perThread - i));
+                        }
+                    } else {
+                        for (int i = 0; i < perThread; i++) {
+                            ids[i] = generator.nextId();
+                        }
+                    }
+                    return ids;
+                }));
+            }
+            long[] all = new long[threads * perThread];
+            for (int t = 0; t < threads; t++) {
+                System.arraycopy(futures.get(t).get(), 0, all, t * perThread, perThread);
+            }
+            Arrays.sort(all);
+            Assert.assertTrue(all[0] >= 1);
+            for (int i = 1; i < all.length; i++) {
+                Assert.assertNotEquals(all[i - 1], all[i]);
+            }
+            Assert.assertTrue(generator.getRefillCount() >= all.length / 100);
+            Assert.assertEquals(0, generator.getRefillFailureCount());
+        } finally {
+            service.shutdownNow();
+        }
+    }
+
+    @Test
+    public void prefetchFailureFallsBackToSynchronousLoad() {
+        AtomicInteger calls = new AtomicInteger();
+        MemoryRangeAllocator delegate = new MemoryRangeAllocator();
+        RangeAllocator allocator = (tag, step) -> {
+            if (calls.incrementAndGet() == 2) {
+                throw new IOException("unavailable");
+            }
+            return delegate.allocate(tag, step);
+        };
+        SegmentGenerator generator = new SegmentGenerator(allocator, "user", 10, 0.5, Runnable::run, IdEncoding.DECIMAL);
+        long[] ids = generator.nextIds(25);
+        for (int i = 0; i < ids.length; i++) {
+            Assert.assertEquals(i + 1, ids[i]);
+        }
+        Assert.assertEquals(1, generator.getRefillFailureCount());
+        Assert.assertEquals(3, generator.getRefillCount());
+        Assert.assertEquals("26", generator.generateID());
+    }
+
+    @Test
+    public void fileAllocatorPersistsRanges() throws Exception {
+        Path directory = Files.createTempDirectory("segment");
+        try {
+            FileRangeAllocator first = new FileRangeAllocator(directory, 1000);
+            Assert.assertEquals(1000, first.allocate("order", 50));
+            Assert.assertEquals(1050, first.allocate("order", 50));
+            Assert.assertEquals(1000, first.allocate("user", 10));
+
+            FileRangeAllocator second = new FileRangeAllocator(directory, 1000);
+            Assert.assertEquals(1100, second.allocate("order", 50));
+
+            SegmentGenerator generator = new SegmentGenerator(second, "order", 50);
+            Assert.assertEquals(1150, generator.nextId());
+            Assert.assertEquals(49, generator.getRemaining());
+
+            // 原地覆盖后截断, 不残留旧内容
+            Files.write(directory.resolve("user.segment"), "99\n\n".getBytes(StandardCharsets.US_ASCII));
+            Assert.assertEquals(99, first.allocate("user", 10));
+            Assert.assertEquals("109", new String(Files.readAllBytes(directory.resolve("user.segment")), StandardCharsets.US_ASCII));
+        } finally {
+            try (java.util.stream.Stream<Path> files = Files.list(directory)) {
+                files.forEach(file -> file.toFile().delete());
+            }
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void fileAllocatorsShareDirectoryAcrossThreads() throws Exception {
+        Path directory = Files.createTempDirectory("segment");
+        // 两个实例指向同一目录, 文件锁由 JVM 持有, 需在进程内互斥
+        FileRangeAllocator[] allocators = {new FileRangeAllocator(directory), new FileRangeAllocator(directory)};
+        int threads = 4;
+        int perThread = 200;
+        ExecutorService service = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                FileRangeAllocator allocator = allocators[t % 2];
+                futures.add(service.submit(() -> {
+                    long[] starts = new long[perThread];
+                    for (int i = 0; i < perThread; i++) {
+                        starts[i] = allocator.allocate("order", 10);
+                    }
+                    return starts;
+                }));
+            }
+            long[] all = new long[threads * perThread];
+            for (int t = 0; t < threads; t++) {
+                System.arraycopy(futures.get(t).get(), 0, all, t * perThread, perThread);
+            }
+            Arrays.sort(all);
+            for (int i = 0; i < all.length; i++) {
+                Assert.assertEquals(1 + 10L * i, all[i]);
+            }
+        } finally {
+            service.shutdownNow();
+            try (java.util.stream.Stream<Path> files = Files.list(directory)) {
+                files.forEach(file -> file.toFile().delete());
+            }
+            Files.delete(directory);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fileAllocatorRejectsNegativeInitialValue() throws Exception {
+        new FileRangeAllocator(Files.createTempDirectory("segment"), -1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fileAllocatorRejectsPathTag() throws Exception {
+        new FileRangeAllocator(Files.createTempDirectory("segment")).allocate("../order", 10);
+    }
+}
@@ -0,0 +1,146 @@
+package com.mingrn.itumate.commons.utils.secure;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+
+public class SnowflakeGeneratorTest {
+
+    @Test
+    public void uniqueAndOrderedAcrossThreads() throws Exception {
+        SnowflakeGenerator generator = new SnowflakeGenerator(7);
+        int threads = 4;
+        int perThread = 50000;
+        ExecutorService service = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                futures.add(service.submit(() -> {
+                    long[] ids = new long[perThread];
+                    for (int i = 0; i < perThread; i++) {
+                        ids[i] = generator.nextId();
+                    }
+                    return ids;
+                }));
+            }
+            long[] all = new long[threads * perThread];
+            for (int t = 0; t < threads; t++) {
+                long[] ids = futures.get(t).get();
+                for (int i = 1; i < ids.length; i++) {
+                    Assert.assertTrue(ids[i] > ids[i - 1]);
+                }
+                System.arraycopy(ids, 0, all, t * perThread, perThread);
+            }
+            Arrays.sort(all);
+            for (int i = 1; i < all.length; i++) {
+                Assert.assertNotEquals(all[i - 1], all[i]);
+            }
+            Assert.assertEquals(7, SnowflakeGenerator.workerIdOf(all[0]));
+            Assert.assertTrue(Math.abs(generator.timestampOf(all[0]) - System.currentTimeMillis()) < 60000);
+            // 默认编码不区分大小写
+            Assert.assertEquals(IdEncoding.BASE36, generator.getEncoding());
+            String id = generator.generateID();
+            Assert.assertEquals(id.toLowerCase(), id);
+        } finally {
+            service.shutdownNow();
+        }
+    }
+
+    @Test
+    public void clockRollback() {
+        long[] clock = {System.currentTimeMillis()};
+        SnowflakeGenerator generator = new SnowflakeGenerator(1, SnowflakeGenerator.DEFAULT_EPOCH, 10, IdEncoding.BASE62) {
+            @Override
+            long currentTimeMillis() {
+                return clock[0];
+            }
+        };
+        long first = generator.nextId();
+        clock[0] -= 5;
+        long second = generator.nextId();
+        Assert.assertTrue(second > first);
+        Assert.assertEquals(generator.timestampOf(first), generator.timestampOf(second));
+
+        clock[0] -= 100;
+        try {
+            generator.nextId();
+            Assert.fail();
+        } catch (IllegalStateException expected) {
+            // 回拨超过阈值
+        }
+    }
+
+    @Test
+    public void sequenceOverflowBorrowsNextMillisecond() {
+        long now = System.currentTimeMillis();
+        SnowflakeGenerator generator = new SnowflakeGenerator(1, SnowflakeGenerator.DEFAULT_EPOCH, 10, IdEncoding.BASE62) {
+            @Override
+            long currentTimeMillis() {
+                return now;
+            }
+        };
+        long id = 0;
+        for (int i = 0; i <= SnowflakeGenerator.MAX_SEQUENCE; i++) {
+            id = generator.nextId();
+        }
+        Assert.assertEquals(SnowflakeGenerator.MAX_SEQUENCE, SnowflakeGenerator.sequenceOf(id));
+        long next = generator.nextId();
+        Assert.assertEquals(0, SnowflakeGenerator.sequenceOf(next));
+        Assert.assertEquals(now + 1, generator.timestampOf(next));
+    }
+
+    @Test
+    public void batchSpansMilliseconds() {
+        long now = System.currentTimeMillis();
+        SnowflakeGenerator generator = new SnowflakeGenerator(3, SnowflakeGenerator.DEFAULT_EPOCH, 10, IdEncoding.BASE36) {
+            @Override
+            long currentTimeMillis() {
+                return now;
+            }
+        };
+        long single = generator.nextId();
+        long[] ids = generator.nextIds(10000);
+        Assert.assertTrue(ids[0] > single);
+        for (int i = 1; i < ids.length; i++) {
+            Assert.assertTrue(ids[i] > ids[i - 1]);
+            Assert.assertEquals(3, SnowflakeGenerator.workerIdOf(ids[i]));
+        }
+        Assert.assertEquals(now + 2, generator.timestampOf(ids[ids.length - 1]));
+        Assert.assertTrue(generator.nextId() > ids[ids.length - 1]);
+
+        String[] encoded = new String[5];
+        generator.generateIDs(encoded, 1, 3);
+        Assert.assertNull(encoded[0]);
+        Assert.assertNull(encoded[4]);
+        Assert.assertTrue(encoded[1].compareTo(encoded[2]) < 0 && encoded[2].compareTo(encoded[3]) < 0);
+        Assert.assertEquals(IdEncoding.BASE36.getWidth(), encoded[3].length());
+    }
+
+    @Test
+    public void encodings() {
+        long[] ids = {0, 61, 62, 1234567890123L, Long.MAX_VALUE};
+        for (IdEncoding encoding : IdEncoding.values()) {
+            String previous = null;
+            for (long id : ids) {
+                String value = encoding.encode(id);
+                Assert.assertEquals(id, encoding.decode(value));
+                if (encoding != IdEncoding.DECIMAL) {
+                    Assert.assertEquals(encoding.getWidth(), value.length());
+                    Assert.assertTrue(previous == null || previous.compareTo(value) < 0);
+                }
+                previous = value;
+            }
+        }
+        Assert.assertEquals("zzzzzzzzzzz".length(), IdEncoding.BASE62.encode(Long.MAX_VALUE).length());
+        Assert.assertEquals(Long.toString(Long.MAX_VALUE, 36), IdEncoding.BASE36.encode(Long.MAX_VALUE));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decodeOverflow() {
+        IdEncoding.BASE62.decode("zzzzzzzzzzzz");
+    }
+}
@@ -0,0 +1,67 @@
+package com.mingrn.itumate.commons.utils.secure;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+public class UUIDGeneratorTest {
+
+    private static UUID parse(String compact) {
+        Assert.assertEquals(32, compact.length());
+        return UUID.fromString(compact.substring(0, 8) + '-' + compact.substring(8, 12) + '-'
+                + compact.substring(12, 16) + '-' + compact.substring(16, 20) + '-' + compact.substring(20));
+    }
+
+    @Test
+    public void randomUUID() {
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 10000; i++) {
+            String id = GeneratorIDFactory.generatorUUIDv4();
+            UUID uuid = parse(id);
+            Assert.assertEquals(4, uuid.version());
+            Assert.assertEquals(2, uuid.variant());
+            Assert.assertEquals(uuid.toString().replace("-", ""), id);
+            Assert.assertTrue(ids.add(id));
+        }
+        String standard = GeneratorIDFactory.generatorUUID();
+        Assert.assertEquals(standard, UUID.fromString(standard).toString());
+        Assert.assertEquals(32, GeneratorIDFactory.generatorUserId().length());
+    }
+
+    @Test
+    public void timeBasedUUID() {
+        long before = System.currentTimeMillis();
+        String previous = null;
+        for (int i = 0; i < 10000; i++) {
+            String id = GeneratorIDFactory.generatorUUIDv7();
+            UUID uuid = parse(id);
+            Assert.assertEquals(7, uuid.version());
+            Assert.assertEquals(2, uuid.variant());
+            Assert.assertTrue(previous == null || previous.compareTo(id) < 0);
+            previous = id;
+        }
+        long timestamp = parse(previous).getMostSignificantBits() >>> 16;
+        Assert.assertTrue(timestamp >= before && timestamp <= System.currentTimeMillis() + 10);
+    }
+
+    @Test
+    public void batch() {
+        String[] v4 = GeneratorIDFactory.generatorUserIds(1000);
+        Set<String> ids = new HashSet<>();
+        for (String id : v4) {
+            Assert.assertEquals(4, parse(id).version());
+            Assert.assertTrue(ids.add(id));
+        }
+        for (String id : GeneratorIDFactory.generatorIds(UUIDGenerator.getInstance(), 10)) {
+            Assert.assertEquals(id, UUID.fromString(id).toString());
+        }
+        String[] v7 = GeneratorIDFactory.generatorIds(TimeBasedUUIDGenerator.getInstance(), 10000);
+        for (int i = 1; i < v7.length; i++) {
+            Assert.assertEquals(7, parse(v7[i]).version());
+            Assert.assertTrue(v7[i - 1].compareTo(v7[i]) < 0);
+        }
+    }
+}
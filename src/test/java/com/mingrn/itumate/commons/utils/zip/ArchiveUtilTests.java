@@ -0,0 +1,122 @@
+package com.mingrn.itumate.commons.utils.zip;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+public class ArchiveUtilTests {
+
+    @Test
+    public void writeZip() throws IOException {
+        Path jpg = Files.createTempFile("archive", ".jpg");
+        byte[] text = "hello archive".getBytes(StandardCharsets.UTF_8);
+        try {
+            Files.write(jpg, new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 0});
+            List<ArchiveSource> sources = Arrays.asList(
+                    ArchiveSource.of("photo.jpg", jpg),
+                    ArchiveSource.of("../doc/a.txt", text.length, () -> new ByteArrayInputStream(text)),
+                    ArchiveSource.of("doc/a.txt", text.length, () -> new ByteArrayInputStream(text)));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ArchiveUtil.write(ArchiveFormat.ZIP, sources, out);
+
+            try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+                ZipEntry entry = zip.getNextEntry();
+                Assert.assertEquals("photo.jpg", entry.getName());
+                Assert.assertEquals(ZipEntry.STORED, entry.getMethod());
+                Assert.assertEquals("doc/a.txt", zip.getNextEntry().getName());
+                Assert.assertEquals("doc/a (1).txt", zip.getNextEntry().getName());
+                ByteArrayOutputStream content = new ByteArrayOutputStream();
+                byte[] buffer = new byte[64];
+                int n;
+                while ((n = zip.read(buffer)) != -1) {
+                    content.write(buffer, 0, n);
+                }
+                Assert.assertArrayEquals(text, content.toByteArray());
+                Assert.assertNull(zip.getNextEntry());
+            }
+        } finally {
+            Files.delete(jpg);
+        }
+    }
+
+    @Test
+    public void writeTarGzPaxName() throws IOException {
+        // UTF-8 编码超过 100 字节, 需要写入 PAX 扩展头
+        StringBuilder name = new StringBuilder("报表/");
+        for (int i = 0; i < 20; i++) {
+            name.append("季度汇总");
+        }
+        name.append(".txt");
+        Assert.assertTrue(name.toString().getBytes(StandardCharsets.UTF_8).length > 100);
+        byte[] text = "hello tar".getBytes(StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ArchiveUtil.write(ArchiveFormat.TAR_GZ,
+                Arrays.asList(ArchiveSource.of(name.toString(), text.length, () -> new ByteArrayInputStream(text))), out);
+
+        try (DataInputStream tar = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())))) {
+            byte[] header = new byte[512];
+            tar.readFully(header);
+            Assert.assertEquals('x', header[156]);
+            byte[] records = new byte[(int) tarSize(header)];
+            tar.readFully(records);
+            tar.skipBytes(padding(records.length));
+            String pax = new String(records, StandardCharsets.UTF_8);
+            String path = null;
+            for (String record : pax.split("\n")) {
+                String keyValue = record.substring(record.indexOf(' ') + 1);
+                if (keyValue.startsWith("path=")) {
+                    path = keyValue.substring("path=".length());
+                }
+            }
+            Assert.assertEquals(name.toString(), path);
+
+            tar.readFully(header);
+            Assert.assertEquals('0', header[156]);
+            Assert.assertEquals(text.length, tarSize(header));
+            byte[] content = new byte[text.length];
+            tar.readFully(content);
+            Assert.assertArrayEquals(text, content);
+            tar.skipBytes(padding(content.length));
+
+            // 结尾两个全零块
+            tar.readFully(header);
+            Assert.assertArrayEquals(new byte[512], header);
+        }
+    }
+
+    /** ustar 头部 124 偏移处的八进制长度 */
+    private static long tarSize(byte[] header) {
+        String octal = new String(header, 124, 12, StandardCharsets.US_ASCII).trim();
+        return Long.parseLong(octal.replace("\0", ""), 8);
+    }
+
+    private static int padding(int length) {
+        return (512 - length % 512) % 512;
+    }
+
+    @Test
+    public void entryName() {
+        Assert.assertEquals("etc/passwd", ArchiveUtil.entryName("/../etc/./passwd"));
+        Assert.assertEquals("a/b.txt", ArchiveUtil.entryName("a\\b.txt"));
+        Set<String> names = new HashSet<>();
+        Assert.assertEquals("a.tar.gz", ArchiveUtil.uniqueName("a.tar.gz", names));
+        Assert.assertEquals("a.tar (1).gz", ArchiveUtil.uniqueName("a.tar.gz", names));
+        Assert.assertEquals(".profile", ArchiveUtil.uniqueName(".profile", names));
+        Assert.assertEquals(".profile (1)", ArchiveUtil.uniqueName(".profile", names));
+    }
+}
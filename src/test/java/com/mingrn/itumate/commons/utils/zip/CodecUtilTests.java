@@ -0,0 +1,134 @@
+package com.mingrn.itumate.commons.utils.zip;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+public class CodecUtilTests {
+
+    private static final byte[] DATA = "{\"id\":1,\"name\":\"itumate\",\"tags\":[\"a\",\"b\",\"c\"]}{\"id\":2,\"name\":\"itumate\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void compressAndDetect() throws IOException {
+        for (Codec codec : CodecUtil.getCodecs()) {
+            byte[] frame = CodecUtil.compress(codec, DATA);
+            Assert.assertArrayEquals(codec.getName(), DATA, CodecUtil.decompress(frame));
+
+            ByteBuffer dst = ByteBuffer.allocateDirect(CodecUtil.maxCompressedLength(codec, DATA.length));
+            CodecUtil.compress(codec, ByteBuffer.wrap(DATA), dst);
+            dst.flip();
+            ByteBuffer original = ByteBuffer.allocate(CodecUtil.originalLength(dst));
+            CodecUtil.decompress(dst, original);
+            Assert.assertArrayEquals(codec.getName(), DATA, original.array());
+        }
+        // 兼容没有帧头的 GZip 数据
+        Assert.assertArrayEquals(DATA, CodecUtil.decompress(GZipUtil.compress(DATA)));
+    }
+
+    @Test
+    public void stream() throws IOException {
+        for (Codec codec : CodecUtil.getCodecs()) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (OutputStream out = CodecUtil.compressing(codec, compressed)) {
+                out.write(DATA);
+            }
+            try (InputStream in = CodecUtil.decompressing(new ByteArrayInputStream(compressed.toByteArray()))) {
+                Assert.assertArrayEquals(codec.getName(), DATA, readAll(in));
+            }
+        }
+    }
+
+    @Test
+    public void streamLimit() throws IOException {
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        GZipUtil.compress(new ByteArrayInputStream(DATA), gzip);
+        assertStreamLimit("gzip", gzip.toByteArray());
+        for (Codec codec : CodecUtil.getCodecs()) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (OutputStream out = CodecUtil.compressing(codec, compressed)) {
+                out.write(DATA);
+            }
+            assertStreamLimit(codec.getName(), compressed.toByteArray());
+
+            // 块帧在读取压缩数据前按帧头校验
+            byte[] frame = CodecUtil.compress(codec, DATA);
+            try {
+                CodecUtil.decompressing(new ByteArrayInputStream(frame), DATA.length - 1);
+                Assert.fail(codec.getName());
+            } catch (DecompressionLimitException e) {
+                Assert.assertEquals(DATA.length - 1, e.getLimit());
+            }
+            try (InputStream in = CodecUtil.decompressing(new ByteArrayInputStream(frame), DATA.length)) {
+                Assert.assertArrayEquals(codec.getName(), DATA, readAll(in));
+            }
+        }
+    }
+
+    @Test
+    public void forgedOriginalLength() throws IOException {
+        for (Codec codec : CodecUtil.getCodecs()) {
+            byte[] frame = CodecUtil.compress(codec, DATA);
+            // 帧头声明的原始长度远超编码最大压缩比
+            frame[4] = 0x7F;
+            try {
+                CodecUtil.decompress(frame);
+                Assert.fail(codec.getName());
+            } catch (IOException e) {
+                Assert.assertFalse(e instanceof DecompressionLimitException);
+                Assert.assertTrue(e.getMessage(), e.getMessage().contains("exceeds maximum"));
+            }
+            try {
+                CodecUtil.originalLength(ByteBuffer.wrap(frame));
+                Assert.fail(codec.getName());
+            } catch (IOException e) {
+                Assert.assertTrue(e.getMessage(), e.getMessage().contains("exceeds maximum"));
+            }
+            try {
+                CodecUtil.decompressing(new ByteArrayInputStream(frame));
+                Assert.fail(codec.getName());
+            } catch (IOException e) {
+                Assert.assertTrue(e.getMessage(), e.getMessage().contains("exceeds"));
+            }
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void unsupportedCodec() throws IOException {
+        byte[] frame = CodecUtil.compress(CodecUtil.getCodec(DeflateCodec.NAME), DATA);
+        frame[2] = (byte) 200;
+        CodecUtil.decompress(frame);
+    }
+
+    /**
+     * 流帧与 GZip 流在读取时计数, 恰好等于限制时可读完
+     */
+    private static void assertStreamLimit(String name, byte[] compressed) throws IOException {
+        try (InputStream in = CodecUtil.decompressing(new ByteArrayInputStream(compressed), DATA.length)) {
+            Assert.assertArrayEquals(name, DATA, readAll(in));
+        }
+        try (InputStream in = CodecUtil.decompressing(new ByteArrayInputStream(compressed), DATA.length - 1)) {
+            readAll(in);
+            Assert.fail(name);
+        } catch (DecompressionLimitException e) {
+            Assert.assertEquals(DATA.length - 1, e.getLimit());
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[16];
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+}
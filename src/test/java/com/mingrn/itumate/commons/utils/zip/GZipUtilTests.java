@@ -0,0 +1,109 @@
+package com.mingrn.itumate.commons.utils.zip;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+public class GZipUtilTests {
+
+    private static byte[] data(int size) {
+        byte[] data = new byte[size];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < size; i++) {
+            data[i] = i % 7 == 0 ? (byte) random.nextInt() : (byte) ('a' + i % 13);
+        }
+        return data;
+    }
+
+    @Test
+    public void compressWithOptions() throws Exception {
+        byte[] data = data(1024 * 1024 + 3);
+        GZipOptions options = GZipOptions.builder().level(Deflater.BEST_SPEED).bufferSize(4096).syncFlush(true).build();
+
+        byte[] compressed = GZipUtil.compress(data, options);
+        // 与 JDK GZIPInputStream 兼容
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StreamUtils.copy(new GZIPInputStream(new ByteArrayInputStream(compressed)), out);
+        Assert.assertArrayEquals(data, out.toByteArray());
+        out.reset();
+        GZipUtil.decompress(new ByteArrayInputStream(compressed), out);
+        Assert.assertArrayEquals(data, out.toByteArray());
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        GZipUtil.compress(new ByteArrayInputStream(data), stream, options);
+        Assert.assertArrayEquals(data, GZipUtil.decompress(stream.toByteArray(), options));
+    }
+
+    @Test
+    public void compressIntoBuffers() throws Exception {
+        byte[] data = data(70000);
+        ByteBuffer src = ByteBuffer.allocateDirect(data.length);
+        src.put(data).flip();
+        ByteBuffer compressed = ByteBuffer.allocateDirect(GZipUtil.maxCompressedLength(data.length));
+        GZipUtil.compress(src, compressed, GZipOptions.DEFAULT);
+        compressed.flip();
+
+        byte[] dst = new byte[data.length];
+        Assert.assertEquals(data.length, GZipUtil.decompress(compressed, ByteBuffer.wrap(dst)));
+        Assert.assertArrayEquals(data, dst);
+    }
+
+    @Test
+    public void compressParallel() throws Exception {
+        byte[] data = data(1024 * 1024 + 17);
+        GZipOptions options = GZipOptions.builder().level(Deflater.BEST_SPEED).blockSize(GZipOptions.MIN_BLOCK_SIZE).build();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            long n = GZipUtil.compressParallel(new ByteArrayInputStream(data), out, options, executor);
+            Assert.assertEquals(out.size(), n);
+
+            ByteArrayOutputStream decompressed = new ByteArrayOutputStream();
+            StreamUtils.copy(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())), decompressed);
+            Assert.assertArrayEquals(data, decompressed.toByteArray());
+            Assert.assertArrayEquals(data, GZipUtil.decompress(out.toByteArray(), options));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void decompressWithLimits() throws Exception {
+        byte[] bomb = GZipUtil.compress(new byte[16 * 1024 * 1024]);
+        try {
+            GZipUtil.decompress(bomb, GZipOptions.builder().maxDecompressedSize(1024 * 1024).build());
+            Assert.fail();
+        } catch (DecompressionLimitException e) {
+            Assert.assertEquals(1024 * 1024, e.getLimit());
+        }
+        try {
+            GZipUtil.decompress(new ByteArrayInputStream(bomb), GZipOptions.builder().maxCompressionRatio(100).build(),
+                    (buffer, off, len) -> {
+                    });
+            Assert.fail();
+        } catch (DecompressionLimitException e) {
+            Assert.assertEquals(100, e.getLimit());
+        }
+
+        byte[] data = data(200000);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GZipOptions limits = GZipOptions.builder().maxDecompressedSize(data.length).maxCompressionRatio(20).bufferSize(4096).build();
+        Assert.assertEquals(data.length, GZipUtil.decompress(GZipUtil.compress(data), limits, out::write));
+        Assert.assertArrayEquals(data, out.toByteArray());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decompressIntoSmallBuffer() throws Exception {
+        byte[] compressed = GZipUtil.compress(data(1000));
+        GZipUtil.decompress(compressed, 0, compressed.length, new byte[10], 0);
+    }
+}